@@ -0,0 +1,92 @@
+package io.realworld.backend.application.dto;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleVersion;
+import java.time.Instant;
+
+/**
+ * Immutable copy of what an article response shows, which may be handed to other threads and
+ * requests unlike the {@link Article} entity it was copied from. The flags of a viewer are not part
+ * of it.
+ */
+public final class ArticleSnapshot {
+  private final ArticleVersion version;
+  private final String slug;
+  private final String title;
+  private final String description;
+  private final String body;
+  private final ImmutableList<String> tagList;
+  private final Instant createdAt;
+  private final Instant updatedAt;
+  private final int favoritesCount;
+  private final ProfileSnapshot author;
+
+  private ArticleSnapshot(Article article) {
+    this.version = ArticleVersion.of(article);
+    this.slug = article.getSlug();
+    this.title = article.getTitle();
+    this.description = article.getDescription();
+    this.body = article.getBody();
+    this.tagList = article.getTagNames().asList();
+    this.createdAt = article.getCreatedAt();
+    this.updatedAt = article.getUpdatedAt();
+    this.favoritesCount = article.getFavoritesCount();
+    this.author = ProfileSnapshot.of(article.getAuthor());
+  }
+
+  public static ArticleSnapshot of(Article article) {
+    return new ArticleSnapshot(article);
+  }
+
+  public ArticleVersion getVersion() {
+    return version;
+  }
+
+  public long getId() {
+    return version.getId();
+  }
+
+  public String getSlug() {
+    return slug;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public ImmutableList<String> getTagList() {
+    return tagList;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public int getFavoritesCount() {
+    return favoritesCount;
+  }
+
+  public ProfileSnapshot getAuthor() {
+    return author;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("version", version).add("slug", slug).toString();
+  }
+}
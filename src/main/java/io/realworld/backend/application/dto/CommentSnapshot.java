@@ -0,0 +1,55 @@
+package io.realworld.backend.application.dto;
+
+import com.google.common.base.MoreObjects;
+import io.realworld.backend.domain.aggregate.comment.Comment;
+import java.time.Instant;
+
+/**
+ * Immutable copy of what a comment response shows, which may be handed to other threads and
+ * requests unlike the {@link Comment} entity it was copied from.
+ */
+public final class CommentSnapshot {
+  private final long id;
+  private final String body;
+  private final Instant createdAt;
+  private final Instant updatedAt;
+  private final ProfileSnapshot author;
+
+  private CommentSnapshot(Comment comment) {
+    this.id = comment.getId();
+    this.body = comment.getBody();
+    this.createdAt = comment.getCreatedAt();
+    this.updatedAt = comment.getUpdatedAt();
+    this.author = ProfileSnapshot.of(comment.getAuthor());
+  }
+
+  public static CommentSnapshot of(Comment comment) {
+    return new CommentSnapshot(comment);
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public ProfileSnapshot getAuthor() {
+    return author;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("id", id).add("author", author).toString();
+  }
+}
@@ -0,0 +1,86 @@
+package io.realworld.backend.application.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.google.common.base.MoreObjects;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+/**
+ * Serialised JSON object left open at its end, so that fields of a viewer can be appended to it.
+ * The bytes are kept in a direct buffer outside the GC'd heap, or in a heap buffer, and are written
+ * straight to the output stream of a UTF-8 generator.
+ *
+ * <p>A fragment is valid for one version of what it was rendered from, which callers compare
+ * before reusing it.
+ */
+public final class JsonFragment {
+  private final Instant version;
+  private final ByteBuffer json;
+
+  private JsonFragment(Instant version, ByteBuffer json) {
+    this.version = version;
+    this.json = json;
+  }
+
+  /**
+   * Creates a fragment of a serialised JSON object with at least one field.
+   *
+   * @param object the serialised object, whose closing brace is dropped
+   * @param version version of what the object was rendered from
+   * @param offHeap whether to keep the bytes in a direct buffer
+   */
+  public static JsonFragment of(byte[] object, Instant version, boolean offHeap) {
+    final var length = object.length - 1;
+    if (length < 2 || object[0] != '{' || object[length] != '}') {
+      throw new IllegalArgumentException("Not a JSON object with fields");
+    }
+    final var buffer = offHeap ? ByteBuffer.allocateDirect(length) : ByteBuffer.allocate(length);
+    buffer.put(object, 0, length).flip();
+    return new JsonFragment(version, buffer.asReadOnlyBuffer());
+  }
+
+  public boolean isVersion(Instant version) {
+    return this.version.equals(version);
+  }
+
+  /** Returns the number of bytes of the fragment. */
+  public int size() {
+    return json.capacity();
+  }
+
+  /**
+   * Writes the fragment as raw bytes. The generator is flushed into its output stream, without
+   * flushing the stream itself, and the bytes are then written to that stream straight from the
+   * buffer, so a fragment is never copied to the heap as a whole.
+   */
+  public void writeRaw(UTF8JsonGenerator gen) throws IOException {
+    final var passedToStream = gen.isEnabled(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    gen.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+    try {
+      gen.flush();
+    } finally {
+      gen.configure(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM, passedToStream);
+    }
+    final var bytes = json.duplicate();
+    final var channel = Channels.newChannel((OutputStream) gen.getOutputTarget());
+    while (bytes.hasRemaining()) {
+      channel.write(bytes);
+    }
+  }
+
+  /** Appends the fragment to a string, for generators which are not writing UTF-8 bytes. */
+  public void appendTo(StringBuilder json) {
+    json.append(StandardCharsets.UTF_8.decode(this.json.duplicate()));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("version", version).add("size", size()).toString();
+  }
+}
@@ -1,12 +1,11 @@
 package io.realworld.backend.application.dto;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableSet;
 import io.realworld.backend.domain.aggregate.article.Article;
 import io.realworld.backend.domain.aggregate.comment.Comment;
 import io.realworld.backend.domain.aggregate.user.User;
 import io.realworld.backend.rest.api.ArticleData;
 import io.realworld.backend.rest.api.CommentData;
+import io.realworld.backend.rest.api.CompletionsResponseData;
 import io.realworld.backend.rest.api.MultipleArticlesResponseData;
 import io.realworld.backend.rest.api.MultipleCommentsResponseData;
 import io.realworld.backend.rest.api.NewArticleData;
@@ -23,7 +22,6 @@ import io.realworld.backend.rest.api.UserResponseData;
 import java.time.ZoneOffset;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -73,6 +71,13 @@ public class Mappers {
     return profileResponse;
   }
 
+  /** Constructs ProfileResponseData response of a snapshot. */
+  public static ProfileResponseData toProfileResponse(ProfileSnapshot user, boolean isFollowing) {
+    final var profileResponse = new ProfileResponseData();
+    profileResponse.setProfile(toProfile(user, isFollowing));
+    return profileResponse;
+  }
+
   /** Constructs ProfileData response. */
   public static ProfileData toProfile(User user, boolean isFollowing) {
     final var profile = new ProfileData();
@@ -83,6 +88,16 @@ public class Mappers {
     return profile;
   }
 
+  /** Constructs ProfileData response of a snapshot. */
+  public static ProfileData toProfile(ProfileSnapshot user, boolean isFollowing) {
+    final var profile = new ProfileData();
+    profile.setUsername(user.getUsername());
+    user.getBio().ifPresent(profile::setBio);
+    user.getImage().ifPresent(profile::setImage);
+    profile.setFollowing(isFollowing);
+    return profile;
+  }
+
   public static class FavouriteInfo {
     private final boolean isFavorited;
     private final int favoritesCount;
@@ -110,6 +125,25 @@ public class Mappers {
     return resp;
   }
 
+  /** Constructs SingleArticleResponseData response of a snapshot. */
+  public static SingleArticleResponseData toSingleArticleResponse(
+      ArticleSnapshot article, FavouriteInfo favouriteInfo, boolean isFollowingAuthor) {
+    final var articleData = new ArticleData();
+    articleData.setSlug(article.getSlug());
+    articleData.setTitle(article.getTitle());
+    articleData.setDescription(article.getDescription());
+    articleData.setBody(article.getBody());
+    articleData.setTagList(article.getTagList());
+    articleData.setCreatedAt(article.getCreatedAt().atOffset(ZoneOffset.UTC));
+    articleData.setUpdatedAt(article.getUpdatedAt().atOffset(ZoneOffset.UTC));
+    articleData.setFavorited(favouriteInfo.isFavorited());
+    articleData.setFavoritesCount(favouriteInfo.getFavoritesCount());
+    articleData.setAuthor(toProfile(article.getAuthor(), isFollowingAuthor));
+    final var resp = new SingleArticleResponseData();
+    resp.setArticle(articleData);
+    return resp;
+  }
+
   /** Constructs Article from the request. */
   public static Article fromNewArticleData(NewArticleData newArticleData, User user) {
     final var article = new Article();
@@ -117,7 +151,6 @@ public class Mappers {
     article.setDescription(newArticleData.getDescription());
     article.setBody(newArticleData.getBody());
     article.setAuthor(user);
-    article.setTags(ImmutableSet.copyOf(newArticleData.getTagList()));
     return article;
   }
 
@@ -163,7 +196,7 @@ public class Mappers {
 
   /** Constructs MultipleCommentsResponseData response. */
   public static MultipleCommentsResponseData toMultipleCommentsResponseData(
-      Collection<Comment> comments, Set<Long> followingIds) {
+      Collection<CommentSnapshot> comments, Set<Long> followingIds) {
     final var commentsResponseData = new MultipleCommentsResponseData();
     final var commentDataList =
         comments.stream()
@@ -183,53 +216,42 @@ public class Mappers {
     return commentsResponseData;
   }
 
-  public static class MultipleFavouriteInfo {
-    private final Set<Long> favouritedArticleIds;
-    private final Map<Long, Long> favouritedCountByArticleId;
-
-    public MultipleFavouriteInfo(
-        Set<Long> favouritedArticleIds, Map<Long, Long> favouritedCountByArticleId) {
-      this.favouritedArticleIds = favouritedArticleIds;
-      this.favouritedCountByArticleId = favouritedCountByArticleId;
-    }
-
-    public Set<Long> getFavouritedArticleIds() {
-      return favouritedArticleIds;
-    }
-
-    public Map<Long, Long> getFavouritedCountByArticleId() {
-      return favouritedCountByArticleId;
-    }
-  }
-
   /** Constructs MultipleArticlesResponseData response. */
   public static MultipleArticlesResponseData toMultipleArticlesResponseData(
       Collection<Article> articles,
-      MultipleFavouriteInfo multipleFavouriteInfo,
+      Set<Long> favouritedArticleIds,
       Set<Long> followingIds,
-      int count) {
+      @Nullable Integer count) {
+    return toMultipleArticlesResponseData(
+        toArticleDataList(articles, favouritedArticleIds, followingIds), count);
+  }
+
+  /** Constructs MultipleArticlesResponseData response of already mapped articles. */
+  public static MultipleArticlesResponseData toMultipleArticlesResponseData(
+      List<ArticleData> articleDataList, @Nullable Integer count) {
     final var multipleArticlesResponseData = new MultipleArticlesResponseData();
-    final var articleDataList =
-        articles.stream()
-            .map(
-                article ->
-                    toArticleData(
-                        article,
-                        new FavouriteInfo(
-                            multipleFavouriteInfo
-                                .getFavouritedArticleIds()
-                                .contains(article.getId()),
-                            multipleFavouriteInfo
-                                .getFavouritedCountByArticleId()
-                                .getOrDefault(article.getId(), 0L)
-                                .intValue()),
-                        followingIds.contains(article.getAuthor().getId())))
-            .collect(Collectors.toList());
     multipleArticlesResponseData.setArticles(articleDataList);
-    multipleArticlesResponseData.setArticlesCount(count);
+    if (count != null) {
+      multipleArticlesResponseData.setArticlesCount(count);
+    }
     return multipleArticlesResponseData;
   }
 
+  /** Constructs ArticleData of each article. */
+  public static List<ArticleData> toArticleDataList(
+      Collection<Article> articles, Set<Long> favouritedArticleIds, Set<Long> followingIds) {
+    return articles.stream()
+        .map(
+            article ->
+                toArticleData(
+                    article,
+                    new FavouriteInfo(
+                        favouritedArticleIds.contains(article.getId()),
+                        article.getFavoritesCount()),
+                    followingIds.contains(article.getAuthor().getId())))
+        .collect(Collectors.toList());
+  }
+
   /** Constructs TagsResponseData response. */
   public static TagsResponseData toTagsResponseData(List<String> tags) {
     final var tagsResponseData = new TagsResponseData();
@@ -237,14 +259,22 @@ public class Mappers {
     return tagsResponseData;
   }
 
-  private static ArticleData toArticleData(
+  /** Constructs CompletionsResponseData response. */
+  public static CompletionsResponseData toCompletionsResponseData(List<String> completions) {
+    final var completionsResponseData = new CompletionsResponseData();
+    completionsResponseData.setCompletions(completions);
+    return completionsResponseData;
+  }
+
+  /** Constructs ArticleData. */
+  public static ArticleData toArticleData(
       Article article, FavouriteInfo favouriteInfo, boolean isFollowingAuthor) {
     final var articleData = new ArticleData();
     articleData.setSlug(article.getSlug());
     articleData.setTitle(article.getTitle());
     articleData.setDescription(article.getDescription());
     articleData.setBody(article.getBody());
-    articleData.setTagList(ImmutableList.copyOf(article.getTags()));
+    articleData.setTagList(article.getTagNames().asList());
     articleData.setCreatedAt(article.getCreatedAt().atOffset(ZoneOffset.UTC));
     articleData.setUpdatedAt(article.getUpdatedAt().atOffset(ZoneOffset.UTC));
     articleData.setFavorited(favouriteInfo.isFavorited());
@@ -0,0 +1,57 @@
+package io.realworld.backend.application.dto;
+
+import com.google.common.base.MoreObjects;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserVersion;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Immutable copy of what a profile shows of a user, which may be handed to other threads and
+ * requests unlike the {@link User} entity it was copied from.
+ */
+public final class ProfileSnapshot {
+  private final long id;
+  private final String username;
+  private final Optional<String> bio;
+  private final Optional<String> image;
+  private final Instant updatedAt;
+
+  private ProfileSnapshot(User user) {
+    this.id = user.getId();
+    this.username = user.getUsername();
+    this.bio = user.getBio();
+    this.image = user.getImage();
+    this.updatedAt = user.getUpdatedAt();
+  }
+
+  public static ProfileSnapshot of(User user) {
+    return new ProfileSnapshot(user);
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  public Optional<String> getBio() {
+    return bio;
+  }
+
+  public Optional<String> getImage() {
+    return image;
+  }
+
+  public UserVersion getVersion() {
+    return new UserVersion(id, updatedAt);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("id", id).add("username", username).toString();
+  }
+}
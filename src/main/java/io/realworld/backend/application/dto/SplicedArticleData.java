@@ -0,0 +1,105 @@
+package io.realworld.backend.application.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.realworld.backend.rest.api.ArticleData;
+import io.realworld.backend.rest.api.ProfileData;
+import java.io.IOException;
+
+/**
+ * Article of a list response serialised from cached fragments. Only the fields that depend on the
+ * viewer are set on the DTO, the rest of the article and its author are spliced in from {@link
+ * JsonFragment}s rendered once per version.
+ */
+@JsonSerialize(using = SplicedArticleData.Serializer.class)
+public class SplicedArticleData extends ArticleData {
+  private final transient JsonFragment article;
+  private final transient JsonFragment author;
+
+  /**
+   * Creates SplicedArticleData instance.
+   *
+   * @param article fragment of the article without favorited, favoritesCount and author
+   * @param author fragment of the author's profile without following
+   */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  public SplicedArticleData(
+      JsonFragment article,
+      JsonFragment author,
+      String slug,
+      String authorUsername,
+      boolean favorited,
+      int favoritesCount,
+      boolean following) {
+    super();
+    this.article = article;
+    this.author = author;
+    setSlug(slug);
+    setFavorited(favorited);
+    setFavoritesCount(favoritesCount);
+    final var profile = new ProfileData();
+    profile.setUsername(authorUsername);
+    profile.setFollowing(following);
+    setAuthor(profile);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean equals(Object o) {
+    return super.equals(o);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int hashCode() {
+    return super.hashCode();
+  }
+
+  /** Writes the fragments with the viewer's fields between and after them. */
+  public static class Serializer extends StdSerializer<SplicedArticleData> {
+    private static final long serialVersionUID = 1L;
+    private static final SerializedString FAVORITED =
+        new SerializedString(",\"favorited\":true,\"favoritesCount\":");
+    private static final SerializedString NOT_FAVORITED =
+        new SerializedString(",\"favorited\":false,\"favoritesCount\":");
+    private static final SerializedString AUTHOR = new SerializedString(",\"author\":");
+    private static final SerializedString FOLLOWING = new SerializedString(",\"following\":true}}");
+    private static final SerializedString NOT_FOLLOWING =
+        new SerializedString(",\"following\":false}}");
+
+    public Serializer() {
+      super(SplicedArticleData.class);
+    }
+
+    @Override
+    public void serialize(SplicedArticleData value, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      final var favorited = Boolean.TRUE.equals(value.getFavorited());
+      final var following = Boolean.TRUE.equals(value.getAuthor().getFollowing());
+      if (!(gen instanceof UTF8JsonGenerator)) {
+        final var json = new StringBuilder();
+        value.article.appendTo(json);
+        json.append((favorited ? FAVORITED : NOT_FAVORITED).getValue())
+            .append(value.getFavoritesCount())
+            .append(AUTHOR.getValue());
+        value.author.appendTo(json);
+        json.append((following ? FOLLOWING : NOT_FOLLOWING).getValue());
+        gen.writeRawValue(json.toString());
+        return;
+      }
+      final var utf8 = (UTF8JsonGenerator) gen;
+      // Writes nothing but the separator from a previous value.
+      utf8.writeRawValue("");
+      value.article.writeRaw(utf8);
+      utf8.writeRaw(favorited ? FAVORITED : NOT_FAVORITED);
+      utf8.writeRaw(Integer.toString(value.getFavoritesCount()));
+      utf8.writeRaw(AUTHOR);
+      value.author.writeRaw(utf8);
+      utf8.writeRaw(following ? FOLLOWING : NOT_FOLLOWING);
+    }
+  }
+}
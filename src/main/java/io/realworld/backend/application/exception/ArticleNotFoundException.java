@@ -2,7 +2,8 @@ package io.realworld.backend.application.exception;
 
 public class ArticleNotFoundException extends InvalidRequestException {
 
+  /** Crawlers and broken links ask for missing slugs often, so no stack trace is filled in. */
   public ArticleNotFoundException(String message) {
-    super(message);
+    super(message, false);
   }
 }
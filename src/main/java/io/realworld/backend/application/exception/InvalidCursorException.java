@@ -0,0 +1,8 @@
+package io.realworld.backend.application.exception;
+
+public class InvalidCursorException extends InvalidRequestException {
+
+  public InvalidCursorException(String message) {
+    super(message);
+  }
+}
@@ -4,4 +4,13 @@ public abstract class InvalidRequestException extends RuntimeException {
   public InvalidRequestException(String message) {
     super(message);
   }
+
+  /**
+   * Creates InvalidRequestException instance.
+   *
+   * @param writableStackTrace false for expected outcomes, which are cheaper without a stack trace
+   */
+  protected InvalidRequestException(String message, boolean writableStackTrace) {
+    super(message, null, false, writableStackTrace);
+  }
 }
@@ -0,0 +1,23 @@
+package io.realworld.backend.application.exception;
+
+import java.time.Duration;
+
+/** Thrown when a request is shed because the service is overloaded. */
+public class ServiceUnavailableException extends RuntimeException {
+  private final Duration retryAfter;
+
+  /**
+   * Creates ServiceUnavailableException instance. Shedding is expected under load, so the
+   * exception has no stack trace.
+   *
+   * @param retryAfter how long clients should wait before retrying
+   */
+  public ServiceUnavailableException(String message, Duration retryAfter) {
+    super(message, null, false, false);
+    this.retryAfter = retryAfter;
+  }
+
+  public Duration getRetryAfter() {
+    return retryAfter;
+  }
+}
@@ -0,0 +1,8 @@
+package io.realworld.backend.application.exception;
+
+public class UserAlreadyExistsException extends InvalidRequestException {
+
+  public UserAlreadyExistsException(String message) {
+    super(message);
+  }
+}
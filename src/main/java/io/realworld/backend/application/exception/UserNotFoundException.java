@@ -1,7 +1,8 @@
 package io.realworld.backend.application.exception;
 
 public class UserNotFoundException extends InvalidRequestException {
+  /** Crawlers and broken links ask for missing usernames often, so no stack trace is filled in. */
   public UserNotFoundException(String message) {
-    super(message);
+    super(message, false);
   }
 }
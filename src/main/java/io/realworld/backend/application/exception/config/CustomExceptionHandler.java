@@ -1,6 +1,7 @@
 package io.realworld.backend.application.exception.config;
 
 import io.realworld.backend.application.exception.InvalidRequestException;
+import io.realworld.backend.application.exception.ServiceUnavailableException;
 import io.realworld.backend.application.exception.UserNotFoundException;
 import io.realworld.backend.rest.api.GenericErrorModelData;
 import io.realworld.backend.rest.api.GenericErrorModelErrorsData;
@@ -31,7 +32,9 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
     model.setErrors(errors);
     // HACK status
     return new ResponseEntity<>(
-        model, status == HttpStatus.BAD_REQUEST ? HttpStatus.UNPROCESSABLE_ENTITY : status);
+        model,
+        headers,
+        status == HttpStatus.BAD_REQUEST ? HttpStatus.UNPROCESSABLE_ENTITY : status);
   }
 
   @ExceptionHandler(Exception.class)
@@ -52,4 +55,13 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
       UserNotFoundException ex, WebRequest request) {
     return handleExceptionInternal(ex, null, new HttpHeaders(), HttpStatus.NOT_FOUND, request);
   }
+
+  @ExceptionHandler(ServiceUnavailableException.class)
+  public ResponseEntity<Object> handleServiceUnavailableException(
+      ServiceUnavailableException ex, WebRequest request) {
+    final var headers = new HttpHeaders();
+    headers.set(
+        HttpHeaders.RETRY_AFTER, Long.toString(Math.max(ex.getRetryAfter().toSeconds(), 1)));
+    return handleExceptionInternal(ex, null, headers, HttpStatus.SERVICE_UNAVAILABLE, request);
+  }
 }
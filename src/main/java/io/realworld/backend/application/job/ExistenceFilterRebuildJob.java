@@ -0,0 +1,38 @@
+package io.realworld.backend.application.job;
+
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Rebuilds the existence filters of slugs and usernames from the database. Runs at startup, until
+ * which the filters let every lookup through, and then periodically to drop the slugs and usernames
+ * of deleted and renamed entities, which Bloom filters cannot remove.
+ */
+@Component
+public class ExistenceFilterRebuildJob {
+  private final ArticleRepository articleRepository;
+  private final UserRepository userRepository;
+
+  @Autowired
+  public ExistenceFilterRebuildJob(
+      ArticleRepository articleRepository, UserRepository userRepository) {
+    this.articleRepository = articleRepository;
+    this.userRepository = userRepository;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+      initialDelayString = "${naturalId.filter.rebuildDelayMs}",
+      fixedDelayString = "${naturalId.filter.rebuildDelayMs}")
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    articleRepository.rebuildSlugFilter();
+    userRepository.rebuildUsernameFilter();
+  }
+}
@@ -0,0 +1,49 @@
+package io.realworld.backend.application.job;
+
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repairs {@code Article.favoritesCount} values that drifted from the favourites table, e.g. after
+ * a failed request or a manual data fix. Articles are recounted in id chunks, each in its own
+ * transaction.
+ */
+@Component
+public class FavoritesCountReconciliationJob {
+  private static final Logger logger =
+      LoggerFactory.getLogger(FavoritesCountReconciliationJob.class);
+  private static final int CHUNK_SIZE = 1000;
+
+  private final ArticleRepository articleRepository;
+
+  @Autowired
+  public FavoritesCountReconciliationJob(ArticleRepository articleRepository) {
+    this.articleRepository = articleRepository;
+  }
+
+  @Scheduled(
+      initialDelayString = "${article.favoritesCount.reconciliationDelayMs}",
+      fixedDelayString = "${article.favoritesCount.reconciliationDelayMs}")
+  public void run() {
+    final var corrected = reconcile();
+    logger.info("Reconciled article favourite counts, corrected {} articles", corrected);
+  }
+
+  /**
+   * Recounts favourites of all articles.
+   *
+   * @return number of articles whose favoritesCount was corrected
+   */
+  public int reconcile() {
+    final var maxId = articleRepository.findMaxId();
+    int corrected = 0;
+    for (long fromId = 0; fromId <= maxId; fromId += CHUNK_SIZE) {
+      corrected += articleRepository.reconcileFavoritesCount(fromId, fromId + CHUNK_SIZE);
+    }
+    return corrected;
+  }
+}
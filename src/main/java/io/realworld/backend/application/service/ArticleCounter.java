@@ -0,0 +1,150 @@
+package io.realworld.backend.application.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleFilter;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.user.UserUpdatedEvent;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Predicate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Counts all articles matching a listing. In {@link Mode#CACHED} mode counts are kept per filter
+ * key and evicted when an article or favourite that could change them is created or deleted. Cache
+ * hits and misses are published as {@code cache.gets} metrics tagged {@code cache=articleCount}.
+ */
+@Service
+public class ArticleCounter {
+  /** How listings count all matching articles. */
+  public enum Mode {
+    /** Runs the count query on every request. */
+    EXACT,
+    /** Reuses counts of previous requests with the same filters until they are evicted. */
+    CACHED
+  }
+
+  private final ArticleRepository articleRepository;
+  private final Mode mode;
+  private final Cache<ArticleFilter, Integer> counts;
+
+  /** Creates ArticleCounter instance. */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  @Autowired
+  public ArticleCounter(
+      ArticleRepository articleRepository,
+      @Value("${article.count.mode}") Mode mode,
+      @Value("${article.count.cacheSize}") long cacheSize,
+      @Value("${article.count.cacheTtl}") Duration cacheTtl,
+      MeterRegistry meterRegistry) {
+    this.articleRepository = articleRepository;
+    this.mode = mode;
+    this.counts =
+        CacheBuilder.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(cacheTtl)
+            .recordStats()
+            .build();
+    GuavaCacheMetrics.monitor(meterRegistry, counts, "articleCount");
+  }
+
+  /** Counts all articles matching the filter. */
+  public int countByFilter(ArticleFilter filter) {
+    if (mode == Mode.EXACT) {
+      return articleRepository.countByFilter(filter);
+    }
+    return cached(filter, () -> articleRepository.countByFilter(filter));
+  }
+
+  /** Evicts counts that may include given article once it has been created or deleted. */
+  public void onArticleCreatedOrDeleted(Article article) {
+    final var tags = article.getTagNames();
+    final var authorUsername = article.getAuthor().getUsername();
+    evictAfterCommit(
+        filter -> {
+          // Favourites of a deleted article are not known here, so favorited filters always match.
+          return filter.getTag().map(tags::contains).orElse(true)
+              && filter.getAuthor().map(authorUsername::equals).orElse(true);
+        });
+  }
+
+  /** Evicts counts filtered by any of given tags once an article gained or lost them. */
+  public void onTagsChanged(Set<String> changedTags) {
+    if (changedTags.isEmpty()) {
+      return;
+    }
+    evictAfterCommit(filter -> filter.getTag().map(changedTags::contains).orElse(false));
+  }
+
+  /** Evicts counts of articles favourited by given user once a favourite was added or removed. */
+  public void onFavouriteChanged(String username) {
+    evictAfterCommit(filter -> filter.getFavorited().map(username::equals).orElse(false));
+  }
+
+  /**
+   * Evicts counts filtered by the previous or the new username of a renamed user. Counts are keyed
+   * on usernames, so those cached under the old name would otherwise outlive the rename, and any
+   * cached under the new name were counted before it belonged to the user. Runs after the update
+   * has been committed.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserUpdated(UserUpdatedEvent event) {
+    final var previous = event.getPreviousUsername();
+    final var current = event.getUsername();
+    if (mode == Mode.EXACT || previous.equals(current)) {
+      return;
+    }
+    final Predicate<String> renamed =
+        username -> username.equals(previous) || username.equals(current);
+    counts
+        .asMap()
+        .keySet()
+        .removeIf(
+            filter ->
+                filter.getFavorited().map(renamed::test).orElse(false)
+                    || filter.getAuthor().map(renamed::test).orElse(false));
+  }
+
+  private int cached(ArticleFilter key, CountQuery countQuery) {
+    try {
+      return counts.get(key, countQuery::count);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Failed to count articles", e);
+    }
+  }
+
+  /**
+   * Evicts matching counts after the current transaction commits. Evicting earlier would let a
+   * concurrent request cache a count that does not see the change yet.
+   */
+  private void evictAfterCommit(Predicate<ArticleFilter> affected) {
+    if (mode == Mode.EXACT) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      counts.asMap().keySet().removeIf(affected);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            counts.asMap().keySet().removeIf(affected);
+          }
+        });
+  }
+
+  private interface CountQuery {
+    int count();
+  }
+}
@@ -0,0 +1,142 @@
+package io.realworld.backend.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.realworld.backend.application.dto.JsonFragment;
+import io.realworld.backend.application.dto.Mappers;
+import io.realworld.backend.application.dto.Mappers.FavouriteInfo;
+import io.realworld.backend.application.dto.SplicedArticleData;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.rest.api.ArticleData;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serialised JSON of the articles and authors in list responses. Everything but the favourite and
+ * following flags and the favourites count is the same for every viewer, so it is rendered once per
+ * version of an article or author and spliced into responses as {@link SplicedArticleData}. A
+ * fragment is versioned by {@code updatedAt} of what it was rendered from and rendered again once
+ * that changes, so no events are needed to evict it.
+ *
+ * <p>Both caches are bounded by the bytes they hold. Fragments are kept in direct buffers unless
+ * {@code articleFragments.offHeap} is false; a direct buffer is freed once its evicted fragment is
+ * garbage collected. Hits and misses are published as {@code cache.gets} metrics tagged {@code
+ * cache=articleFragment} and {@code cache=authorFragment}.
+ */
+@Service
+public class ArticleFragmentCache {
+  private static final String FAVORITED = "favorited";
+  private static final String FAVORITES_COUNT = "favoritesCount";
+  private static final String AUTHOR = "author";
+  private static final String FOLLOWING = "following";
+
+  private final ObjectMapper objectMapper;
+  private final boolean enabled;
+  private final boolean offHeap;
+  private final Cache<Long, JsonFragment> articles;
+  private final Cache<Long, JsonFragment> authors;
+
+  /**
+   * Creates ArticleFragmentCache instance.
+   *
+   * @param enabled whether list responses are spliced from fragments at all
+   * @param offHeap whether fragments are kept in direct buffers
+   * @param maxBytes most bytes held by the fragments of articles, and again of authors
+   */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  @Autowired
+  public ArticleFragmentCache(
+      ObjectMapper objectMapper,
+      @Value("${articleFragments.enabled}") boolean enabled,
+      @Value("${articleFragments.offHeap}") boolean offHeap,
+      @Value("${articleFragments.maxBytes}") long maxBytes,
+      MeterRegistry meterRegistry) {
+    this.objectMapper = objectMapper;
+    this.enabled = enabled;
+    this.offHeap = offHeap;
+    this.articles = newCache(maxBytes);
+    this.authors = newCache(maxBytes);
+    GuavaCacheMetrics.monitor(meterRegistry, articles, "articleFragment");
+    GuavaCacheMetrics.monitor(meterRegistry, authors, "authorFragment");
+  }
+
+  /**
+   * Constructs ArticleData of each article, spliced from cached fragments unless disabled.
+   *
+   * @param favouritedArticleIds ids of articles favourited by the viewer
+   * @param followingIds ids of users followed by the viewer
+   */
+  public List<ArticleData> toArticleDataList(
+      Collection<Article> articles, Set<Long> favouritedArticleIds, Set<Long> followingIds) {
+    if (!enabled) {
+      return Mappers.toArticleDataList(articles, favouritedArticleIds, followingIds);
+    }
+    return articles.stream()
+        .map(
+            article -> {
+              final var author = article.getAuthor();
+              return new SplicedArticleData(
+                  articleFragment(article),
+                  authorFragment(author),
+                  article.getSlug(),
+                  author.getUsername(),
+                  favouritedArticleIds.contains(article.getId()),
+                  article.getFavoritesCount(),
+                  followingIds.contains(author.getId()));
+            })
+        .collect(Collectors.toList());
+  }
+
+  private JsonFragment articleFragment(Article article) {
+    final var cached = articles.getIfPresent(article.getId());
+    if (cached != null && cached.isVersion(article.getUpdatedAt())) {
+      return cached;
+    }
+    final var articleData = Mappers.toArticleData(article, new FavouriteInfo(false, 0), false);
+    final ObjectNode json = objectMapper.valueToTree(articleData);
+    json.remove(List.of(FAVORITED, FAVORITES_COUNT, AUTHOR));
+    final var fragment = JsonFragment.of(toBytes(json), article.getUpdatedAt(), offHeap);
+    articles.put(article.getId(), fragment);
+    return fragment;
+  }
+
+  private JsonFragment authorFragment(User author) {
+    final var cached = authors.getIfPresent(author.getId());
+    if (cached != null && cached.isVersion(author.getUpdatedAt())) {
+      return cached;
+    }
+    final ObjectNode json = objectMapper.valueToTree(Mappers.toProfile(author, false));
+    json.remove(FOLLOWING);
+    final var fragment = JsonFragment.of(toBytes(json), author.getUpdatedAt(), offHeap);
+    authors.put(author.getId(), fragment);
+    return fragment;
+  }
+
+  private byte[] toBytes(ObjectNode json) {
+    try {
+      return objectMapper.writeValueAsBytes(json);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static Cache<Long, JsonFragment> newCache(long maxBytes) {
+    return CacheBuilder.newBuilder()
+        .maximumWeight(maxBytes)
+        .<Long, JsonFragment>weigher((id, fragment) -> fragment.size())
+        .recordStats()
+        .build();
+  }
+}
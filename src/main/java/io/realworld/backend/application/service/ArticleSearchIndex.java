@@ -0,0 +1,369 @@
+package io.realworld.backend.application.service;
+
+import com.google.common.base.Splitter;
+import io.realworld.backend.domain.aggregate.article.ArticleText;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over the title, description and body of articles, kept in memory. Text is split
+ * into lower case words, and each word maps to the articles containing it with the number of its
+ * occurrences in every field. A query ranks the articles containing any of its words by BM25F,
+ * which weighs the fields and normalises occurrences by field length, in a single merge of the
+ * postings of its words that keeps only the best articles of the requested page.
+ *
+ * <p>Every article takes the next slot when added, and replacing an article moves it to a new slot,
+ * so postings only ever grow at their end. Once more slots are free than taken, the articles are
+ * moved down to the lowest slots in the same order, which keeps every postings list sorted.
+ */
+public class ArticleSearchIndex {
+  private static final Splitter WORDS =
+      Splitter.on(Pattern.compile("[^\\p{L}\\p{Nd}]+")).omitEmptyStrings();
+  private static final int MAX_WORD_LENGTH = 64;
+  private static final int MAX_QUERY_WORDS = 32;
+  private static final int INITIAL_SLOTS = 1024;
+
+  /** Weights of the title, description and body. */
+  private static final double[] FIELD_WEIGHTS = {3, 2, 1};
+
+  private static final int FIELDS = FIELD_WEIGHTS.length;
+  private static final int COUNT_BITS = 10;
+  private static final int MAX_COUNT = (1 << COUNT_BITS) - 1;
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Long, Document> byId = new HashMap<>();
+  private final Map<String, Postings> byWord = new HashMap<>();
+  private final long[] totalLengths = new long[FIELDS];
+  private long[] ids = new long[INITIAL_SLOTS];
+  private int[] lengths = new int[INITIAL_SLOTS * FIELDS];
+  private int slots = 0;
+
+  /** Adds an article, or replaces the text of an indexed one. */
+  public void put(ArticleText text) {
+    final var fields = List.of(text.getTitle(), text.getDescription(), text.getBody());
+    final var counts = new HashMap<String, int[]>();
+    final var fieldLengths = new int[FIELDS];
+    for (int field = 0; field < FIELDS; field++) {
+      for (final var word : words(fields.get(field))) {
+        counts.computeIfAbsent(word, w -> new int[FIELDS])[field]++;
+        fieldLengths[field]++;
+      }
+    }
+    lock.writeLock().lock();
+    try {
+      removeLocked(text.getId());
+      final var slot = append(text.getId(), fieldLengths);
+      final var postings = new Postings[counts.size()];
+      int index = 0;
+      for (final var entry : counts.entrySet()) {
+        postings[index] = byWord.computeIfAbsent(entry.getKey(), Postings::new);
+        postings[index++].add(slot, pack(entry.getValue()));
+      }
+      byId.put(text.getId(), new Document(slot, postings));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Removes an article. */
+  public void remove(long articleId) {
+    lock.writeLock().lock();
+    try {
+      removeLocked(articleId);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Returns the number of slots taken, including freed ones not reclaimed yet. */
+  public int slotCount() {
+    lock.readLock().lock();
+    try {
+      return slots;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Removes all articles and frees their slots. */
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      byId.clear();
+      byWord.clear();
+      Arrays.fill(totalLengths, 0);
+      slots = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Ranks articles containing any word of the query, best matches first. Equally good matches are
+   * ranked newest first by id.
+   *
+   * @return ids of at most {@code limit} articles following the first {@code offset} ones, and the
+   *     number of all matching articles
+   */
+  public Hits search(String query, int offset, int limit) {
+    if (offset < 0 || limit < 0) {
+      throw new IllegalArgumentException("Negative offset or limit");
+    }
+    final var words = new LinkedHashSet<>(words(query));
+    lock.readLock().lock();
+    try {
+      final var postings = new ArrayList<Postings>();
+      for (final var word : words) {
+        final var list = byWord.get(word);
+        if (list != null && postings.size() < MAX_QUERY_WORDS) {
+          postings.add(list);
+        }
+      }
+      return rank(postings, offset, limit);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Merges postings ordered by slot, scoring every article once. */
+  private Hits rank(List<Postings> postings, int offset, int limit) {
+    final Comparator<Hit> worstFirst =
+        Comparator.<Hit>comparingDouble(hit -> hit.score).thenComparingLong(hit -> ids[hit.slot]);
+    final var best = new PriorityQueue<Hit>(worstFirst);
+    final var count = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+    final var idfs = postings.stream().mapToDouble(this::idf).toArray();
+    final var averageLengths = new double[FIELDS];
+    for (int field = 0; field < FIELDS; field++) {
+      averageLengths[field] = Math.max(1.0, (double) totalLengths[field] / byId.size());
+    }
+    final var positions = new int[postings.size()];
+    int total = 0;
+    for (var slot = nextSlot(postings, positions);
+        slot < slots;
+        slot = nextSlot(postings, positions)) {
+      double score = 0;
+      for (int term = 0; term < positions.length; term++) {
+        final var list = postings.get(term);
+        if (positions[term] < list.size && list.slots[positions[term]] == slot) {
+          score += idfs[term] * saturate(list.counts[positions[term]++], slot, averageLengths);
+        }
+      }
+      total++;
+      if (count > 0) {
+        best.offer(new Hit(slot, score));
+        if (best.size() > count) {
+          best.poll();
+        }
+      }
+    }
+    final var ranked = new ArrayList<>(best);
+    ranked.sort(worstFirst.reversed());
+    final var page = new ArrayList<Long>(Math.max(ranked.size() - offset, 0));
+    for (int rank = offset; rank < ranked.size(); rank++) {
+      page.add(ids[ranked.get(rank).slot]);
+    }
+    return new Hits(page, total);
+  }
+
+  /** Returns weighted and length normalised occurrences of a word, saturated by {@code K1}. */
+  private double saturate(int packedCounts, int slot, double[] averageLengths) {
+    double occurrences = 0;
+    for (int field = 0; field < FIELDS; field++) {
+      final var fieldCount = packedCounts >>> (field * COUNT_BITS) & MAX_COUNT;
+      if (fieldCount > 0) {
+        final var relativeLength = lengths[slot * FIELDS + field] / averageLengths[field];
+        occurrences += FIELD_WEIGHTS[field] * fieldCount / (1 - B + B * relativeLength);
+      }
+    }
+    return occurrences / (K1 + occurrences);
+  }
+
+  private double idf(Postings postings) {
+    return Math.log(1 + (byId.size() - postings.size + 0.5) / (postings.size + 0.5));
+  }
+
+  /** Returns the lowest slot at the current positions of the postings, or {@code slots}. */
+  private int nextSlot(List<Postings> postings, int[] positions) {
+    var next = slots;
+    for (int term = 0; term < positions.length; term++) {
+      final var list = postings.get(term);
+      if (positions[term] < list.size) {
+        next = Math.min(next, list.slots[positions[term]]);
+      }
+    }
+    return next;
+  }
+
+  private void removeLocked(long articleId) {
+    final var document = byId.remove(articleId);
+    if (document == null) {
+      return;
+    }
+    for (final var postings : document.postings) {
+      postings.remove(document.slot);
+      if (postings.size == 0) {
+        byWord.remove(postings.word);
+      }
+    }
+    for (int field = 0; field < FIELDS; field++) {
+      totalLengths[field] -= lengths[document.slot * FIELDS + field];
+    }
+    if (slots - byId.size() > Math.max(byId.size(), INITIAL_SLOTS)) {
+      compact();
+    }
+  }
+
+  /** Moves the articles to the lowest slots in the order of their slots, freeing the rest. */
+  private void compact() {
+    final var moved = new int[slots];
+    Arrays.fill(moved, -1);
+    for (final var document : byId.values()) {
+      moved[document.slot] = 0;
+    }
+    final var capacity = Math.max(INITIAL_SLOTS, byId.size() * 2);
+    final var movedIds = new long[capacity];
+    final var movedLengths = new int[capacity * FIELDS];
+    var next = 0;
+    for (int slot = 0; slot < slots; slot++) {
+      if (moved[slot] == 0) {
+        moved[slot] = next;
+        movedIds[next] = ids[slot];
+        System.arraycopy(lengths, slot * FIELDS, movedLengths, next * FIELDS, FIELDS);
+        next++;
+      }
+    }
+    for (final var postings : byWord.values()) {
+      postings.move(moved);
+    }
+    byId.replaceAll((id, document) -> new Document(moved[document.slot], document.postings));
+    ids = movedIds;
+    lengths = movedLengths;
+    slots = next;
+  }
+
+  private int append(long articleId, int[] fieldLengths) {
+    if (slots == ids.length) {
+      ids = Arrays.copyOf(ids, slots * 2);
+      lengths = Arrays.copyOf(lengths, slots * 2 * FIELDS);
+    }
+    final var slot = slots++;
+    ids[slot] = articleId;
+    for (int field = 0; field < FIELDS; field++) {
+      lengths[slot * FIELDS + field] = fieldLengths[field];
+      totalLengths[field] += fieldLengths[field];
+    }
+    return slot;
+  }
+
+  /** Packs occurrences per field into an int, capping them as they hardly matter once saturated. */
+  private static int pack(int[] fieldCounts) {
+    int packed = 0;
+    for (int field = 0; field < FIELDS; field++) {
+      packed |= Math.min(fieldCounts[field], MAX_COUNT) << (field * COUNT_BITS);
+    }
+    return packed;
+  }
+
+  /** Splits text into lower case words of letters and digits. */
+  private static List<String> words(String text) {
+    final var words = new ArrayList<String>();
+    for (final var word : WORDS.split(text.toLowerCase(Locale.ROOT))) {
+      if (word.length() <= MAX_WORD_LENGTH) {
+        words.add(word);
+      }
+    }
+    return words;
+  }
+
+  /** Ids of a page of ranked articles and the number of all matching articles. */
+  public static class Hits {
+    private final List<Long> ids;
+    private final int total;
+
+    Hits(List<Long> ids, int total) {
+      this.ids = ids;
+      this.total = total;
+    }
+
+    public List<Long> getIds() {
+      return ids;
+    }
+
+    public int getTotal() {
+      return total;
+    }
+  }
+
+  /** Slot of an indexed article and the postings it was added to. */
+  private static class Document {
+    private final int slot;
+    private final Postings[] postings;
+
+    Document(int slot, Postings[] postings) {
+      this.slot = slot;
+      this.postings = postings;
+    }
+  }
+
+  /** Slots of the articles containing a word, ascending, with packed occurrences per field. */
+  private static class Postings {
+    private final String word;
+    private int[] slots = new int[2];
+    private int[] counts = new int[2];
+    private int size = 0;
+
+    Postings(String word) {
+      this.word = word;
+    }
+
+    void add(int slot, int packedCounts) {
+      if (size == slots.length) {
+        slots = Arrays.copyOf(slots, size * 2);
+        counts = Arrays.copyOf(counts, size * 2);
+      }
+      slots[size] = slot;
+      counts[size++] = packedCounts;
+    }
+
+    /** Renumbers the slots, in an order preserving way, and drops unused capacity. */
+    void move(int[] moved) {
+      final var capacity = Math.max(2, size);
+      slots = Arrays.copyOf(slots, capacity);
+      counts = Arrays.copyOf(counts, capacity);
+      for (int index = 0; index < size; index++) {
+        slots[index] = moved[slots[index]];
+      }
+    }
+
+    void remove(int slot) {
+      final var index = Arrays.binarySearch(slots, 0, size, slot);
+      if (index >= 0) {
+        System.arraycopy(slots, index + 1, slots, index, size - index - 1);
+        System.arraycopy(counts, index + 1, counts, index, size - index - 1);
+        size--;
+      }
+    }
+  }
+
+  private static class Hit {
+    private final int slot;
+    private final double score;
+
+    Hit(int slot, double score) {
+      this.slot = slot;
+      this.score = score;
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package io.realworld.backend.application.service;
+
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.ArticleUpdatedEvent;
+import io.realworld.backend.domain.aggregate.article.OffsetBasedPageRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Searches the text of articles with an {@link ArticleSearchIndex}. The index is rebuilt at startup
+ * and updated once article changes are committed, so a search only loads the articles of the
+ * requested page from the database.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ArticleSearchService {
+  private final ArticleRepository articleRepository;
+  private final ArticleSearchIndex index = new ArticleSearchIndex();
+  private final int maxLimit;
+
+  /** Creates ArticleSearchService instance. */
+  @Autowired
+  public ArticleSearchService(
+      ArticleRepository articleRepository, @Value("${search.maxLimit}") int maxLimit) {
+    this.articleRepository = articleRepository;
+    this.maxLimit = maxLimit;
+  }
+
+  /** Indexes all articles. Runs at startup, before the index is used. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    index.clear();
+    try (var texts = articleRepository.streamTexts()) {
+      texts.forEach(index::put);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleCreated(ArticleCreatedEvent event) {
+    index.put(event.getText());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleUpdated(ArticleUpdatedEvent event) {
+    index.put(event.getText());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleDeleted(ArticleDeletedEvent event) {
+    index.remove(event.getArticleId());
+  }
+
+  /**
+   * Finds a page of articles containing any word of the query, best matches first. A negative
+   * offset or limit is taken as zero, and a limit above {@code search.maxLimit} as that maximum.
+   *
+   * @return the page, totalling all matching articles
+   */
+  public Page<Article> search(String query, int offset, int limit) {
+    final var pageOffset = Math.max(offset, 0);
+    final var pageLimit = Math.max(Math.min(limit, maxLimit), 0);
+    final var hits = index.search(query, pageOffset, pageLimit);
+    return new PageImpl<>(
+        articleRepository.findAllInOrder(hits.getIds()),
+        OffsetBasedPageRequest.of(pageOffset, pageLimit, Sort.unsorted()),
+        hits.getTotal());
+  }
+}
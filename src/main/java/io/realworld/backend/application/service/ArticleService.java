@@ -1,20 +1,38 @@
 package io.realworld.backend.application.service;
 
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.realworld.backend.application.dto.ArticleSnapshot;
+import io.realworld.backend.application.dto.CommentSnapshot;
 import io.realworld.backend.application.dto.Mappers;
 import io.realworld.backend.application.dto.Mappers.FavouriteInfo;
-import io.realworld.backend.application.dto.Mappers.MultipleFavouriteInfo;
 import io.realworld.backend.application.exception.ArticleNotFoundException;
+import io.realworld.backend.application.exception.InvalidCursorException;
 import io.realworld.backend.application.util.BaseService;
+import io.realworld.backend.application.util.SingleFlight;
+import io.realworld.backend.application.util.Validators;
 import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleFilter;
 import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.ArticleUpdatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleVersion;
 import io.realworld.backend.domain.aggregate.article.OffsetBasedPageRequest;
+import io.realworld.backend.domain.aggregate.article.Tag;
+import io.realworld.backend.domain.aggregate.article.TagRepository;
 import io.realworld.backend.domain.aggregate.comment.CommentRepository;
-import io.realworld.backend.domain.aggregate.favourite.ArticleFavourite;
 import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteId;
 import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository;
-import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository.FavouriteCount;
+import io.realworld.backend.domain.aggregate.favourite.FavouriteChangedEvent;
 import io.realworld.backend.domain.aggregate.follow.FollowRelationId;
 import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
+import io.realworld.backend.domain.service.AuthenticatedUser;
 import io.realworld.backend.domain.service.AuthenticationService;
 import io.realworld.backend.rest.api.ArticlesApiDelegate;
 import io.realworld.backend.rest.api.MultipleArticlesResponseData;
@@ -27,13 +45,15 @@ import io.realworld.backend.rest.api.TagsApiDelegate;
 import io.realworld.backend.rest.api.TagsResponseData;
 import io.realworld.backend.rest.api.UpdateArticleRequestData;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.domain.Sort.Direction;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -43,26 +63,61 @@ import org.springframework.web.context.request.NativeWebRequest;
 @Service
 @Transactional
 public class ArticleService extends BaseService implements ArticlesApiDelegate, TagsApiDelegate {
+  private static final Splitter TAGS = Splitter.on(',').trimResults().omitEmptyStrings();
+  private static final String MATCH_ALL = "all";
+
   private final ArticleRepository articleRepository;
+  private final TagRepository tagRepository;
   private final FollowRelationRepository followRelationRepository;
   private final ArticleFavouriteRepository articleFavouriteRepository;
   private final CommentRepository commentRepository;
   private final AuthenticationService authenticationService;
+  private final ArticleCounter articleCounter;
+  private final FeedEngine feedEngine;
+  private final TagIndex tagIndex;
+  private final TagFilterService tagFilterService;
+  private final ArticleSearchService articleSearchService;
+  private final ArticleFragmentCache articleFragmentCache;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int maxLimit;
+  private final SingleFlight<String, Optional<ArticleSnapshot>> articleLoads;
+  private final SingleFlight<String, Optional<List<CommentSnapshot>>> commentLoads;
 
   /** Creates ArticleService instance. */
   @SuppressWarnings("PMD.ExcessiveParameterList")
   @Autowired
   public ArticleService(
       ArticleRepository articleRepository,
+      TagRepository tagRepository,
       FollowRelationRepository followRelationRepository,
       ArticleFavouriteRepository articleFavouriteRepository,
       CommentRepository commentRepository,
-      AuthenticationService authenticationService) {
+      AuthenticationService authenticationService,
+      ArticleCounter articleCounter,
+      FeedEngine feedEngine,
+      TagIndex tagIndex,
+      TagFilterService tagFilterService,
+      ArticleSearchService articleSearchService,
+      ArticleFragmentCache articleFragmentCache,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${article.maxLimit}") int maxLimit,
+      MeterRegistry meterRegistry) {
     this.articleRepository = articleRepository;
+    this.tagRepository = tagRepository;
     this.followRelationRepository = followRelationRepository;
     this.articleFavouriteRepository = articleFavouriteRepository;
     this.commentRepository = commentRepository;
     this.authenticationService = authenticationService;
+    this.articleCounter = articleCounter;
+    this.feedEngine = feedEngine;
+    this.tagIndex = tagIndex;
+    this.tagFilterService = tagFilterService;
+    this.articleSearchService = articleSearchService;
+    this.articleFragmentCache = articleFragmentCache;
+    this.eventPublisher = eventPublisher;
+    this.maxLimit = maxLimit;
+    this.articleLoads = new SingleFlight<>("article", meterRegistry);
+    this.commentLoads = new SingleFlight<>("articleComments", meterRegistry);
   }
 
   /** {@inheritDoc} */
@@ -78,17 +133,51 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
 
     final var newArticleData = req.getArticle();
     final var article = Mappers.fromNewArticleData(newArticleData, currentUser);
+    final var tagList = newArticleData.getTagList();
+    if (tagList != null) {
+      article.setTags(tagsNamed(tagList));
+    }
     articleRepository.save(article);
+    articleCounter.onArticleCreatedOrDeleted(article);
+    eventPublisher.publishEvent(new ArticleCreatedEvent(article));
 
     return articleResponse(article);
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>A conditional request is validated against the version of the article, so a client which
+   * already has the article gets 304 Not Modified without the article being loaded. Concurrent
+   * requests for the same slug share one load of the article.
+   */
   @Override
   public ResponseEntity<SingleArticleResponseData> getArticle(String slug) {
-    return articleRepository
-        .findBySlug(slug)
-        .map(this::articleResponse)
+    final var viewer = getAuthenticationService().getAuthenticatedUser();
+    if (Validators.isConditionalRequest()) {
+      final var version =
+          Optional.of(slug)
+              .filter(articleRepository::slugMightExist)
+              .flatMap(articleRepository::findVersionBySlug)
+              .orElseThrow(() -> new ArticleNotFoundException(slug));
+      final var isFavoured = isFavoured(viewer, version.getId());
+      final var isFollowing = isFollowing(viewer, version.getAuthorId());
+      final var validators = articleValidators(version, viewer.isEmpty(), isFavoured, isFollowing);
+      if (validators.matchCurrentRequest()) {
+        return validators.notModified();
+      }
+      return loadArticle(slug)
+          .map(article -> validatedArticleResponse(article, viewer, isFavoured, isFollowing))
+          .orElseThrow(() -> new ArticleNotFoundException(slug));
+    }
+    return loadArticle(slug)
+        .map(
+            article ->
+                validatedArticleResponse(
+                    article,
+                    viewer,
+                    isFavoured(viewer, article.getId()),
+                    isFollowing(viewer, article.getAuthor().getId())))
         .orElseThrow(() -> new ArticleNotFoundException(slug));
   }
 
@@ -100,9 +189,25 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
         .findBySlug(slug)
         .map(
             article -> {
+              final var previousTags = article.getTagNames();
               final var updateArticleData = req.getArticle();
               Mappers.updateArticle(article, updateArticleData);
+              if (!article.getSlug().equals(slug)) {
+                articleRepository.evictSlug(slug);
+              }
+              final var tagList = updateArticleData.getTagList();
+              if (tagList != null) {
+                article.setTags(tagsNamed(tagList));
+                if (!article.getTagNames().equals(previousTags)) {
+                  // Changed tags alone do not make the article itself dirty.
+                  article.onUpdate();
+                }
+              }
               articleRepository.save(article);
+              final var event = new ArticleUpdatedEvent(article, previousTags);
+              articleCounter.onTagsChanged(
+                  Sets.symmetricDifference(event.getPreviousTags(), event.getTags()));
+              eventPublisher.publishEvent(event);
               return articleResponse(article);
             })
         .orElseThrow(() -> new ArticleNotFoundException(slug));
@@ -117,28 +222,40 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
             article -> {
               commentRepository.deleteByArticleId(article.getId());
               articleRepository.delete(article);
+              articleRepository.evictSlug(slug);
+              articleCounter.onArticleCreatedOrDeleted(article);
+              eventPublisher.publishEvent(new ArticleDeletedEvent(article));
             });
     return new ResponseEntity<>(HttpStatus.OK);
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Favouriting the article again, or in concurrent requests, succeeds but is counted once: the
+   * insert is skipped or fails on the primary key, with no lookup beforehand. The user is loaded
+   * only once a favourite changed, as counts are evicted by the current username rather than the
+   * one the token was issued with.
+   */
   @Override
   public ResponseEntity<SingleArticleResponseData> createArticleFavorite(String slug) {
-    final var currentUser = currentUserOrThrow();
+    final var currentUser = authenticatedUserOrThrow();
 
     return articleRepository
         .findBySlug(slug)
         .map(
             article -> {
               final var favId = new ArticleFavouriteId(currentUser.getId(), article.getId());
-              articleFavouriteRepository
-                  .findById(favId)
-                  .orElseGet(
-                      () -> {
-                        final var fav = new ArticleFavourite(currentUser.getId(), article.getId());
-                        return articleFavouriteRepository.save(fav);
-                      });
-              return articleResponse(article);
+              var favoritesCount = article.getFavoritesCount();
+              if (articleFavouriteRepository.insertIfAbsent(favId)) {
+                articleRepository.incrementFavoritesCount(article.getId());
+                articleCounter.onFavouriteChanged(currentUserOrThrow().getUsername());
+                eventPublisher.publishEvent(
+                    new FavouriteChangedEvent(
+                        currentUser.getId(), article.getId(), article.getSlug(), true));
+                favoritesCount++;
+              }
+              return articleResponse(article, new FavouriteInfo(true, favoritesCount));
             })
         .orElseThrow(() -> new ArticleNotFoundException(slug));
   }
@@ -146,14 +263,22 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
   /** {@inheritDoc} */
   @Override
   public ResponseEntity<SingleArticleResponseData> deleteArticleFavorite(String slug) {
-    final var currentUser = currentUserOrThrow();
+    final var currentUser = authenticatedUserOrThrow();
     return articleRepository
         .findBySlug(slug)
         .map(
             article -> {
               final var favId = new ArticleFavouriteId(currentUser.getId(), article.getId());
-              articleFavouriteRepository.deleteById(favId);
-              return articleResponse(article);
+              var favoritesCount = article.getFavoritesCount();
+              if (articleFavouriteRepository.deleteIfExists(favId) > 0) {
+                articleRepository.decrementFavoritesCount(article.getId());
+                articleCounter.onFavouriteChanged(currentUserOrThrow().getUsername());
+                eventPublisher.publishEvent(
+                    new FavouriteChangedEvent(
+                        currentUser.getId(), article.getId(), article.getSlug(), false));
+                favoritesCount = Math.max(favoritesCount - 1, 0);
+              }
+              return articleResponse(article, new FavouriteInfo(false, favoritesCount));
             })
         .orElseThrow(() -> new ArticleNotFoundException(slug));
   }
@@ -184,15 +309,29 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
     return new ResponseEntity<>(HttpStatus.OK);
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Concurrent requests for the same slug share one load of the comments.
+   */
   @Override
   public ResponseEntity<MultipleCommentsResponseData> getArticleComments(String slug) {
-    return articleRepository
-        .findBySlug(slug)
+    return commentLoads
+        .load(
+            slug,
+            () ->
+                articleRepository
+                    .findBySlug(slug)
+                    .map(
+                        article ->
+                            commentRepository.findByArticleId(article.getId()).stream()
+                                .map(CommentSnapshot::of)
+                                .collect(Collectors.toList())))
         .map(
-            article -> {
-              final var comments = commentRepository.findByArticleId(article.getId());
-              return ok(Mappers.toMultipleCommentsResponseData(comments, followingIds()));
+            comments -> {
+              final var authorIds =
+                  comments.stream().map(c -> c.getAuthor().getId()).collect(Collectors.toSet());
+              return ok(Mappers.toMultipleCommentsResponseData(comments, followedAmong(authorIds)));
             })
         .orElseThrow(() -> new ArticleNotFoundException(slug));
   }
@@ -200,98 +339,321 @@ public class ArticleService extends BaseService implements ArticlesApiDelegate,
   /** {@inheritDoc} */
   @Override
   public ResponseEntity<MultipleArticlesResponseData> getArticlesFeed(
-      Integer limit, Integer offset) {
-    final var followingIds = followingIds();
-    final var articles =
-        articleRepository.findByAuthorIdIn(
-            followingIds,
-            OffsetBasedPageRequest.of(offset, limit, Sort.by(Direction.DESC, "createdAt")));
-    final var articleCount = articleRepository.countByAuthorIdIn(followingIds);
-    return articlesResponse(articles, articleCount);
+      Integer limit, Integer offset, @Nullable String cursor, Boolean skipCount) {
+    final var currentUser = authenticatedUserOrThrow();
+    final var pageLimit = pageLimit(limit);
+    final List<Article> articles;
+    if (cursor == null) {
+      articles = feedEngine.feed(currentUser.getId(), pageOffset(offset), pageLimit + 1);
+    } else {
+      articles = feedEngine.feedBefore(currentUser.getId(), decodeCursor(cursor), pageLimit + 1);
+    }
+    final var articleCount = skipCount ? null : feedEngine.count(currentUser.getId());
+    // Every author in the feed is followed, so the page itself answers "following".
+    final var authorIds =
+        articles.stream().map(a -> a.getAuthor().getId()).collect(Collectors.toSet());
+    return articlesResponse(articles, articleCount, pageLimit, authorIds);
   }
 
   /** {@inheritDoc} */
   @SuppressWarnings("PMD.ExcessiveParameterList")
   @Override
   public ResponseEntity<MultipleArticlesResponseData> getArticles(
-      String tag, String author, String favorited, Integer limit, Integer offset) {
-    final var articles =
-        articleRepository.findByFilters(
-            tag,
-            author,
-            favorited,
-            OffsetBasedPageRequest.of(offset, limit, Sort.by(Direction.DESC, "createdAt")));
-    final var articleCount = articleRepository.countByFilter(tag, author, favorited);
-    return articlesResponse(articles, articleCount);
+      @Nullable String tag,
+      String tagMatch,
+      @Nullable String author,
+      @Nullable String favorited,
+      Integer limit,
+      Integer offset,
+      @Nullable String cursor,
+      Boolean skipCount) {
+    final var tags = tag == null ? List.<String>of() : TAGS.splitToList(tag);
+    final var pageLimit = pageLimit(limit);
+    final var pageOffset = pageOffset(offset);
+    if (tags.size() > 1) {
+      return articlesTaggedWith(
+          tags,
+          new ArticleFilter(null, author, favorited),
+          pageLimit,
+          pageOffset,
+          cursor,
+          skipCount,
+          MATCH_ALL.equals(tagMatch));
+    }
+    final var filter = new ArticleFilter(tags.isEmpty() ? null : tags.get(0), author, favorited);
+    final List<Article> articles;
+    if (cursor == null) {
+      articles = articleRepository.findByFilter(filter, pageWithNext(pageOffset, pageLimit));
+    } else {
+      articles =
+          articleRepository.findByFilterBefore(
+              filter, decodeCursor(cursor), pageWithNext(0, pageLimit));
+    }
+    final var articleCount = skipCount ? null : articleCounter.countByFilter(filter);
+    final var authorIds =
+        articles.stream().map(a -> a.getAuthor().getId()).collect(Collectors.toSet());
+    return articlesResponse(articles, articleCount, pageLimit, followedAmong(authorIds));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ResponseEntity<MultipleArticlesResponseData> searchArticles(
+      String q, Integer limit, Integer offset) {
+    final var page = articleSearchService.search(q, offset, limit);
+    final var articles = page.getContent();
+    final var authorIds =
+        articles.stream().map(a -> a.getAuthor().getId()).collect(Collectors.toSet());
+    final var favouritedIds = favouritedAmong(articles);
+    final var followedIds = followedAmong(authorIds);
+    final var articleCount = (int) page.getTotalElements();
+    // Ranked pages have no cursor, the client moves on by offset.
+    final var hasMore = page.getPageable().getOffset() + articles.size() < page.getTotalElements();
+    final var validators =
+        listValidators(articles, favouritedIds, followedIds, articleCount, hasMore);
+    if (Validators.isConditionalRequest() && validators.matchCurrentRequest()) {
+      return validators.notModified();
+    }
+    final var response =
+        Mappers.toMultipleArticlesResponseData(
+            articleFragmentCache.toArticleDataList(articles, favouritedIds, followedIds),
+            articleCount);
+    response.setHasMore(hasMore);
+    return validators.ok(response);
   }
 
   /** {@inheritDoc} */
   @Override
   public ResponseEntity<TagsResponseData> tagsGet() {
-    return ok(Mappers.toTagsResponseData(articleRepository.findAllTags()));
+    return ok(Mappers.toTagsResponseData(tagIndex.popular()));
+  }
+
+  /** Lists articles with several tags from the in-memory tag index of {@link TagFilterService}. */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  private ResponseEntity<MultipleArticlesResponseData> articlesTaggedWith(
+      List<String> tags,
+      ArticleFilter filter,
+      int limit,
+      int offset,
+      @Nullable String cursor,
+      boolean skipCount,
+      boolean matchAll) {
+    final List<Article> articles;
+    if (cursor == null) {
+      articles = tagFilterService.find(tags, matchAll, filter, null, offset, limit + 1);
+    } else {
+      articles = tagFilterService.find(tags, matchAll, filter, decodeCursor(cursor), 0, limit + 1);
+    }
+    final var articleCount = skipCount ? null : tagFilterService.count(tags, matchAll, filter);
+    final var authorIds =
+        articles.stream().map(a -> a.getAuthor().getId()).collect(Collectors.toSet());
+    return articlesResponse(articles, articleCount, limit, followedAmong(authorIds));
   }
 
+  /**
+   * Builds the list response. Favourites are looked up for the articles of the page only. A
+   * conditional request whose weak entity tag still matches gets 304 Not Modified instead.
+   *
+   * @param articlesWithNext the page followed by the first article of the next page, if any
+   * @param articleCount number of all matching articles, null if the client skipped counting
+   * @param followedAuthorIds ids of followed users, must cover the authors of the page
+   */
   private ResponseEntity<MultipleArticlesResponseData> articlesResponse(
-      List<Article> articles, int articleCount) {
-    final var articleIds = articles.stream().map(Article::getId).collect(Collectors.toList());
-    final var favouritedCounts =
-        articleFavouriteRepository.countByIdArticleIds(articleIds).stream()
-            .collect(Collectors.groupingBy(FavouriteCount::getArticleId, Collectors.counting()));
-    final var favourited =
-        getAuthenticationService()
-            .getCurrentUser()
-            .map(
-                currentUser ->
-                    articleFavouriteRepository.findByIdUserId(currentUser.getId()).stream()
-                        .map(f -> f.getId().getArticleId())
-                        .collect(Collectors.toSet()))
-            .orElse(Collections.emptySet());
-    final var favouriteInfo = new MultipleFavouriteInfo(favourited, favouritedCounts);
-
-    return ok(
+      List<Article> articlesWithNext,
+      @Nullable Integer articleCount,
+      int limit,
+      Set<Long> followedAuthorIds) {
+    final var hasMore = articlesWithNext.size() > limit;
+    final var articles = hasMore ? articlesWithNext.subList(0, limit) : articlesWithNext;
+    final var favouritedIds = favouritedAmong(articles);
+    final var validators =
+        listValidators(articles, favouritedIds, followedAuthorIds, articleCount, hasMore);
+    if (Validators.isConditionalRequest() && validators.matchCurrentRequest()) {
+      return validators.notModified();
+    }
+    final var response =
         Mappers.toMultipleArticlesResponseData(
-            articles, favouriteInfo, followingIds(), articleCount));
+            articleFragmentCache.toArticleDataList(articles, favouritedIds, followedAuthorIds),
+            articleCount);
+    response.setHasMore(hasMore);
+    if (hasMore && !articles.isEmpty()) {
+      response.setNextCursor(ArticleCursor.of(articles.get(articles.size() - 1)).encode());
+    }
+    return validators.ok(response);
+  }
+
+  /**
+   * Loads a snapshot of an article, sharing the load with concurrent requests for the same slug.
+   * The entity itself never leaves the persistence context of the request that loaded it.
+   */
+  private Optional<ArticleSnapshot> loadArticle(String slug) {
+    return articleLoads.load(
+        slug, () -> articleRepository.findBySlug(slug).map(ArticleSnapshot::of));
   }
 
   private ResponseEntity<SingleArticleResponseData> articleResponse(Article article) {
-    final var isFollowingAuthor = isFollowingAuthor(article);
     final var isFavoured =
-        getAuthenticationService()
-            .getCurrentUser()
-            .map(
-                currentUser ->
-                    articleFavouriteRepository
-                        .findById(new ArticleFavouriteId(currentUser.getId(), article.getId()))
-                        .isPresent())
-            .orElse(false);
-    final var favouritesCount = articleFavouriteRepository.countByIdArticleId(article.getId());
-    final var favouriteInfo = new FavouriteInfo(isFavoured, favouritesCount);
+        isFavoured(getAuthenticationService().getAuthenticatedUser(), article.getId());
+    return articleResponse(article, new FavouriteInfo(isFavoured, article.getFavoritesCount()));
+  }
+
+  private ResponseEntity<SingleArticleResponseData> articleResponse(
+      Article article, FavouriteInfo favouriteInfo) {
+    final var isFollowingAuthor = isFollowingAuthor(article);
     return ok(Mappers.toSingleArticleResponse(article, favouriteInfo, isFollowingAuthor));
   }
 
   private boolean isFollowingAuthor(Article article) {
-    return getAuthenticationService()
-        .getCurrentUser()
+    return isFollowing(
+        getAuthenticationService().getAuthenticatedUser(), article.getAuthor().getId());
+  }
+
+  private ResponseEntity<SingleArticleResponseData> validatedArticleResponse(
+      ArticleSnapshot article,
+      Optional<AuthenticatedUser> viewer,
+      boolean isFavoured,
+      boolean isFollowingAuthor) {
+    final var validators =
+        articleValidators(article.getVersion(), viewer.isEmpty(), isFavoured, isFollowingAuthor);
+    return validators.ok(
+        Mappers.toSingleArticleResponse(
+            article,
+            new FavouriteInfo(isFavoured, article.getFavoritesCount()),
+            isFollowingAuthor));
+  }
+
+  private boolean isFavoured(Optional<AuthenticatedUser> viewer, long articleId) {
+    return viewer
         .map(
-            currentUser ->
+            v ->
+                articleFavouriteRepository
+                    .findById(new ArticleFavouriteId(v.getId(), articleId))
+                    .isPresent())
+        .orElse(false);
+  }
+
+  private boolean isFollowing(Optional<AuthenticatedUser> viewer, long userId) {
+    return viewer
+        .map(
+            v ->
                 followRelationRepository
-                    .findById(
-                        new FollowRelationId(currentUser.getId(), article.getAuthor().getId()))
+                    .findById(new FollowRelationId(v.getId(), userId))
                     .isPresent())
         .orElse(false);
   }
 
-  private Set<Long> followingIds() {
+  /**
+   * Returns validators of an article response. Last-Modified is sent to anonymous viewers only, as
+   * the flags of a viewer change without moving the modification times.
+   */
+  private static Validators articleValidators(
+      ArticleVersion version, boolean anonymous, boolean isFavoured, boolean isFollowingAuthor) {
+    final var hasher = Hashing.murmur3_128().newHasher();
+    putVersion(hasher, version);
+    hasher.putBoolean(isFavoured).putBoolean(isFollowingAuthor);
+    return Validators.strong(
+        hasher.hash().toString(), anonymous ? version.getLastModified() : null);
+  }
+
+  /** Returns weak validators of a list page, derived from its articles and the viewer's flags. */
+  private static Validators listValidators(
+      List<Article> articles,
+      Set<Long> favouritedIds,
+      Set<Long> followedAuthorIds,
+      @Nullable Integer articleCount,
+      boolean hasMore) {
+    final var hasher = Hashing.murmur3_128().newHasher();
+    for (final var article : articles) {
+      putVersion(hasher, ArticleVersion.of(article));
+      hasher
+          .putBoolean(favouritedIds.contains(article.getId()))
+          .putBoolean(followedAuthorIds.contains(article.getAuthor().getId()));
+    }
+    hasher.putInt(articleCount == null ? -1 : articleCount).putBoolean(hasMore);
+    return Validators.weak(hasher.hash().toString());
+  }
+
+  private static void putVersion(Hasher hasher, ArticleVersion version) {
+    hasher
+        .putLong(version.getId())
+        .putLong(version.getModifiedAt().getEpochSecond())
+        .putInt(version.getModifiedAt().getNano())
+        .putLong(version.getAuthorUpdatedAt().getEpochSecond())
+        .putInt(version.getAuthorUpdatedAt().getNano());
+  }
+
+  /** Returns ids of those of given articles which the current user favourited. */
+  private Set<Long> favouritedAmong(List<Article> articles) {
+    if (articles.isEmpty()) {
+      return Collections.emptySet();
+    }
+    final var articleIds = articles.stream().map(Article::getId).collect(Collectors.toList());
+    return getAuthenticationService()
+        .getAuthenticatedUser()
+        .map(
+            currentUser ->
+                articleFavouriteRepository
+                    .findByIdUserIdAndIdArticleIdIn(currentUser.getId(), articleIds)
+                    .stream()
+                    .map(f -> f.getId().getArticleId())
+                    .collect(Collectors.toSet()))
+        .orElse(Collections.emptySet());
+  }
+
+  /** Returns those of given users whom the current user follows. */
+  private Set<Long> followedAmong(Set<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return Collections.emptySet();
+    }
     return getAuthenticationService()
-        .getCurrentUser()
+        .getAuthenticatedUser()
         .map(
             currentUser ->
-                followRelationRepository.findByIdFollowerId(currentUser.getId()).stream()
+                followRelationRepository
+                    .findByIdFollowerIdAndIdFolloweeIdIn(currentUser.getId(), userIds)
+                    .stream()
                     .map(f -> f.getId().getFolloweeId())
                     .collect(Collectors.toSet()))
         .orElse(Collections.emptySet());
   }
 
+  /**
+   * Returns tags with given names, creating those which do not exist yet. Missing tags are inserted
+   * unless present and then read again, so that concurrent articles introducing the same tag share
+   * it rather than fail on its unique name.
+   */
+  private Set<Tag> tagsNamed(List<String> names) {
+    final var distinct = ImmutableSet.copyOf(names);
+    final var tags = tagRepository.findByNameIn(distinct);
+    if (tags.size() == distinct.size()) {
+      return new HashSet<>(tags);
+    }
+    final var existing = tags.stream().map(Tag::getName).collect(Collectors.toSet());
+    distinct.stream()
+        .filter(name -> !existing.contains(name))
+        .forEach(tagRepository::insertIfAbsent);
+    return new HashSet<>(tagRepository.findByNameIn(distinct));
+  }
+
+  private static ArticleCursor decodeCursor(String cursor) {
+    return ArticleCursor.decode(cursor)
+        .orElseThrow(() -> new InvalidCursorException("Invalid cursor - " + cursor));
+  }
+
+  /** Takes a negative limit as zero, and a limit above {@code article.maxLimit} as that maximum. */
+  private int pageLimit(int limit) {
+    return Math.max(Math.min(limit, maxLimit), 0);
+  }
+
+  /** Takes a negative offset as zero. */
+  private static int pageOffset(int offset) {
+    return Math.max(offset, 0);
+  }
+
+  /** Requests one article more than the page holds to learn whether another page follows. */
+  private static OffsetBasedPageRequest pageWithNext(int offset, int limit) {
+    return OffsetBasedPageRequest.of(offset, limit + 1, ArticleCursor.ORDER);
+  }
+
   /** {@inheritDoc} */
   @Override
   public AuthenticationService getAuthenticationService() {
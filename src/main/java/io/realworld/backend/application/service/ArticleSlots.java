@@ -0,0 +1,146 @@
+package io.realworld.backend.application.service;
+
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import java.time.Instant;
+import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Articles of a {@link TaggedArticleIndex} by slot, with the creation time ordering them. Slots
+ * follow creation time except for articles committed out of order, which sit above older ones.
+ * {@code newestUpTo} holds the newest slot at or below every slot, and {@code maxLag} bounds how
+ * far above its place in time an article may sit. Not thread safe.
+ */
+class ArticleSlots {
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+  static final int INITIAL_SLOTS = 1024;
+
+  private long[] ids = new long[INITIAL_SLOTS];
+  private long[] keys = new long[INITIAL_SLOTS];
+  private int[] newestUpTo = new int[INITIAL_SLOTS];
+  private int size = 0;
+  private int maxLag = 0;
+
+  /** Returns the number of slots taken. */
+  int size() {
+    return size;
+  }
+
+  /** Returns the id of the article in given slot. */
+  long id(int slot) {
+    return ids[slot];
+  }
+
+  /** Returns the newest slot at or below given one. */
+  int newestUpTo(int slot) {
+    return newestUpTo[slot];
+  }
+
+  /** Puts an article in the next slot and returns the slot. */
+  int append(long articleId, Instant createdAt) {
+    return append(articleId, key(createdAt));
+  }
+
+  /**
+   * Moves the articles of the taken slots down to the lowest slots in the same order, freeing the
+   * rest, and works out the newest slots and the lag again.
+   *
+   * @param taken whether each slot below {@link #size()} is still taken
+   * @return the new slot of each old one, -1 for freed slots
+   */
+  int[] compact(boolean[] taken) {
+    final var moved = new int[size];
+    int count = 0;
+    for (int slot = 0; slot < size; slot++) {
+      if (taken[slot]) {
+        count++;
+      }
+    }
+    final var oldIds = ids;
+    final var oldKeys = keys;
+    final var oldSize = size;
+    final var capacity = Math.max(INITIAL_SLOTS, count * 2);
+    ids = new long[capacity];
+    keys = new long[capacity];
+    newestUpTo = new int[capacity];
+    clear();
+    for (int slot = 0; slot < oldSize; slot++) {
+      moved[slot] = taken[slot] ? append(oldIds[slot], oldKeys[slot]) : -1;
+    }
+    return moved;
+  }
+
+  private int append(long articleId, long key) {
+    if (size == ids.length) {
+      ids = Arrays.copyOf(ids, size * 2);
+      keys = Arrays.copyOf(keys, size * 2);
+      newestUpTo = Arrays.copyOf(newestUpTo, size * 2);
+    }
+    final var slot = size++;
+    ids[slot] = articleId;
+    keys[slot] = key;
+    if (slot == 0 || compare(slot, newestUpTo[slot - 1]) > 0) {
+      newestUpTo[slot] = slot;
+    } else {
+      newestUpTo[slot] = newestUpTo[slot - 1];
+      maxLag = Math.max(maxLag, slot - firstNewerThan(slot));
+    }
+    return slot;
+  }
+
+  /** Frees all slots. */
+  void clear() {
+    size = 0;
+    maxLag = 0;
+  }
+
+  /** Returns the highest slot which may hold an article created before the cursor. */
+  int highestSlotBefore(@Nullable ArticleCursor before) {
+    if (before == null) {
+      return size - 1;
+    }
+    // Slots below the first one whose newest article is not before the cursor are all before it.
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final var mid = (low + high) >>> 1;
+      if (isBefore(newestUpTo[mid], before)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return Math.min(size - 1, low + maxLag);
+  }
+
+  /** Compares articles in given slots by creation time, then by id. */
+  int compare(int slot, int other) {
+    final var byKey = Long.compare(keys[slot], keys[other]);
+    return byKey != 0 ? byKey : Long.compare(ids[slot], ids[other]);
+  }
+
+  /** Tells whether the article in given slot comes before the cursor. */
+  boolean isBefore(int slot, ArticleCursor cursor) {
+    final var cursorKey = key(cursor.getCreatedAt());
+    return keys[slot] < cursorKey || keys[slot] == cursorKey && ids[slot] < cursor.getId();
+  }
+
+  /** Returns the lowest slot whose newest article is newer than the article in given slot. */
+  private int firstNewerThan(int slot) {
+    int low = 0;
+    int high = slot;
+    while (low < high) {
+      final var mid = (low + high) >>> 1;
+      if (compare(newestUpTo[mid], slot) > 0) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  private static long key(Instant createdAt) {
+    return createdAt.getEpochSecond() * NANOS_PER_SECOND + createdAt.getNano();
+  }
+}
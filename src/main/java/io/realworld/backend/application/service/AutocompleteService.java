@@ -0,0 +1,97 @@
+package io.realworld.backend.application.service;
+
+import io.realworld.backend.application.dto.Mappers;
+import io.realworld.backend.domain.aggregate.follow.FollowChangedEvent;
+import io.realworld.backend.domain.aggregate.user.UserCreatedEvent;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.aggregate.user.UserUpdatedEvent;
+import io.realworld.backend.rest.api.AutocompleteApiDelegate;
+import io.realworld.backend.rest.api.CompletionsResponseData;
+import java.util.HashMap;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.NativeWebRequest;
+
+/**
+ * Completes tags by the number of articles using them and usernames by the number of followers.
+ * Tags come from {@link TagIndex}. Usernames are kept in memory by this service, rebuilt at startup
+ * and updated once user and follow changes are committed, so completion does not touch the
+ * database.
+ */
+@Service
+public class AutocompleteService implements AutocompleteApiDelegate {
+  private final TagIndex tagIndex;
+  private final UserRepository userRepository;
+  private final int maxLimit;
+  private final CompletionIndex usernames = new CompletionIndex(0);
+
+  /** Creates AutocompleteService instance. */
+  @Autowired
+  public AutocompleteService(
+      TagIndex tagIndex,
+      UserRepository userRepository,
+      @Value("${autocomplete.maxLimit}") int maxLimit) {
+    this.tagIndex = tagIndex;
+    this.userRepository = userRepository;
+    this.maxLimit = maxLimit;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Optional<NativeWebRequest> getRequest() {
+    return Optional.empty();
+  }
+
+  /** Indexes the usernames of all users. Runs at startup, before the index is used. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    final var followersCounts = new HashMap<String, Integer>();
+    try (var counts = userRepository.streamFollowersCounts()) {
+      counts.forEach(count -> followersCounts.put(count.getUsername(), count.getFollowersCount()));
+    }
+    usernames.replaceAll(followersCounts);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserCreated(UserCreatedEvent event) {
+    usernames.put(event.getUsername(), 0);
+  }
+
+  /**
+   * Moves the followers count of a renamed user to the new username. The count is the one kept by
+   * the index, as follows committed while the update ran have already adjusted it.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserUpdated(UserUpdatedEvent event) {
+    if (!event.getUsername().equals(event.getPreviousUsername())) {
+      usernames.rename(event.getPreviousUsername(), event.getUsername());
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onFollowChanged(FollowChangedEvent event) {
+    usernames.adjust(event.getFolloweeUsername(), event.isFollowing() ? 1 : -1);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ResponseEntity<CompletionsResponseData> completeTags(String prefix, Integer limit) {
+    return ResponseEntity.ok(
+        Mappers.toCompletionsResponseData(tagIndex.complete(prefix, Math.min(limit, maxLimit))));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public ResponseEntity<CompletionsResponseData> completeUsernames(String prefix, Integer limit) {
+    return ResponseEntity.ok(
+        Mappers.toCompletionsResponseData(usernames.complete(prefix, Math.min(limit, maxLimit))));
+  }
+}
@@ -0,0 +1,265 @@
+package io.realworld.backend.application.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Scored keys completing prefixes with the best scored keys, kept in memory. Keys are held in a
+ * sorted array, so the keys with a prefix form a range, and a segment tree over the array holds the
+ * best key of every node. Completion pops nodes from the range best first, which takes O(k log n)
+ * however many keys have the prefix.
+ *
+ * <p>Scores of known keys change in place. New keys wait in a small sorted buffer that completion
+ * scans as well, and are merged into the array once the buffer fills up. Removed keys keep their
+ * place until then. Keys scored below the minimum score are removed.
+ */
+public class CompletionIndex {
+  private static final int MAX_PENDING = 1024;
+  private static final int REMOVED = -1;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final int minScore;
+  private final TreeMap<String, Integer> pending = new TreeMap<>();
+  private String[] keys = new String[0];
+  private int[] scores = new int[0];
+
+  /** Segment tree of indexes of the best keys, the leaves start at {@code leaves}. */
+  private int[] best = {REMOVED, REMOVED};
+
+  private int leaves = 1;
+  private int removed = 0;
+
+  /**
+   * Creates CompletionIndex instance.
+   *
+   * @param minScore lowest score of a key to complete, not negative
+   */
+  public CompletionIndex(int minScore) {
+    this.minScore = Math.max(minScore, 0);
+  }
+
+  /** Replaces all keys. */
+  public void replaceAll(Map<String, Integer> scored) {
+    lock.writeLock().lock();
+    try {
+      pending.clear();
+      final var sorted = new TreeMap<String, Integer>();
+      scored.forEach(
+          (key, score) -> {
+            if (score >= minScore) {
+              sorted.put(key, score);
+            }
+          });
+      rebuild(sorted);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Sets the score of a key, adding it if new. */
+  public void put(String key, int score) {
+    lock.writeLock().lock();
+    try {
+      update(key, score);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Adds to the score of a key, which starts at zero when new and does not drop below zero. */
+  public void adjust(String key, int delta) {
+    lock.writeLock().lock();
+    try {
+      update(key, Math.max(Math.max(score(key), 0) + delta, 0));
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Moves the score of a key to another key, replacing its score. A missing key moves as a score of
+   * zero.
+   */
+  public void rename(String from, String to) {
+    lock.writeLock().lock();
+    try {
+      final var score = Math.max(score(from), 0);
+      update(from, REMOVED);
+      update(to, score);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Removes a key. */
+  public void remove(String key) {
+    put(key, REMOVED);
+  }
+
+  /** Returns the number of keys. */
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return keys.length - removed + pending.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns at most {@code limit} keys starting with the prefix, best scored first, then sorted.
+   */
+  public List<String> complete(String prefix, int limit) {
+    lock.readLock().lock();
+    try {
+      final var found = Arrays.binarySearch(keys, prefix);
+      final var from = found >= 0 ? found : -found - 1;
+      final var completions = best(from, endOfPrefix(prefix, from), limit);
+      for (final var entry : pending.tailMap(prefix).entrySet()) {
+        if (!entry.getKey().startsWith(prefix)) {
+          break;
+        }
+        completions.add(entry);
+      }
+      completions.sort(
+          Map.Entry.<String, Integer>comparingByValue()
+              .reversed()
+              .thenComparing(Map.Entry.comparingByKey()));
+      final var count = Math.max(Math.min(limit, completions.size()), 0);
+      final var result = new ArrayList<String>(count);
+      for (int i = 0; i < count; i++) {
+        result.add(completions.get(i).getKey());
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns at most {@code limit} best scored keys of the array between given indexes, in order.
+   */
+  private List<Map.Entry<String, Integer>> best(int from, int to, int limit) {
+    final Comparator<Integer> bestNodeFirst =
+        Comparator.<Integer>comparingInt(node -> scores[best[node]])
+            .reversed()
+            .thenComparingInt(node -> best[node]);
+    final var nodes = new PriorityQueue<Integer>(bestNodeFirst);
+    for (int left = from + leaves, right = to + leaves; left < right; left >>= 1, right >>= 1) {
+      if ((left & 1) == 1) {
+        offer(nodes, left++);
+      }
+      if ((right & 1) == 1) {
+        offer(nodes, --right);
+      }
+    }
+    final var found = new ArrayList<Map.Entry<String, Integer>>();
+    for (var node = nodes.poll(); node != null && found.size() < limit; node = nodes.poll()) {
+      if (node >= leaves) {
+        found.add(Map.entry(keys[best[node]], scores[best[node]]));
+      } else {
+        offer(nodes, 2 * node);
+        offer(nodes, 2 * node + 1);
+      }
+    }
+    return found;
+  }
+
+  private void offer(PriorityQueue<Integer> nodes, int node) {
+    final var index = best[node];
+    if (index != REMOVED && scores[index] != REMOVED) {
+      nodes.offer(node);
+    }
+  }
+
+  /** Returns the score of a key, {@value #REMOVED} if absent. */
+  private int score(String key) {
+    final var index = Arrays.binarySearch(keys, key);
+    if (index >= 0) {
+      return scores[index];
+    }
+    return pending.getOrDefault(key, REMOVED);
+  }
+
+  private void update(String key, int score) {
+    final var newScore = score < minScore ? REMOVED : score;
+    final var index = Arrays.binarySearch(keys, key);
+    if (index >= 0) {
+      if (scores[index] == REMOVED) {
+        removed--;
+      }
+      if (newScore == REMOVED) {
+        removed++;
+      }
+      scores[index] = newScore;
+      for (var node = (index + leaves) >> 1; node > 0; node >>= 1) {
+        best[node] = better(best[2 * node], best[2 * node + 1]);
+      }
+    } else if (newScore == REMOVED) {
+      pending.remove(key);
+    } else {
+      pending.put(key, newScore);
+    }
+    if (pending.size() > MAX_PENDING || removed > keys.length / 2) {
+      merge();
+    }
+  }
+
+  /** Merges the buffer into the array and drops removed keys. */
+  private void merge() {
+    final var merged = new TreeMap<>(pending);
+    for (int i = 0; i < keys.length; i++) {
+      if (scores[i] != REMOVED) {
+        merged.put(keys[i], scores[i]);
+      }
+    }
+    pending.clear();
+    rebuild(merged);
+  }
+
+  /** Replaces the array with given keys, which must not be removed. */
+  private void rebuild(TreeMap<String, Integer> sorted) {
+    keys = sorted.keySet().toArray(new String[0]);
+    scores = sorted.values().stream().mapToInt(Integer::intValue).toArray();
+    removed = 0;
+    leaves = Integer.highestOneBit(Math.max(keys.length, 1) * 2 - 1);
+    best = new int[2 * leaves];
+    Arrays.fill(best, REMOVED);
+    for (int i = 0; i < keys.length; i++) {
+      best[leaves + i] = i;
+    }
+    for (int node = leaves - 1; node > 0; node--) {
+      best[node] = better(best[2 * node], best[2 * node + 1]);
+    }
+  }
+
+  /** Returns the index of the better scored key, the first one on ties. */
+  private int better(int index, int other) {
+    if (index == REMOVED || other != REMOVED && scores[other] > scores[index]) {
+      return other;
+    }
+    return index;
+  }
+
+  /** Returns the first index from the given one whose key does not start with the prefix. */
+  private int endOfPrefix(String prefix, int from) {
+    int low = from;
+    int high = keys.length;
+    while (low < high) {
+      final var mid = (low + high) >>> 1;
+      if (keys[mid].startsWith(prefix)) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
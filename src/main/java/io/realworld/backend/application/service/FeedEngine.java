@@ -0,0 +1,44 @@
+package io.realworld.backend.application.service;
+
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import java.util.List;
+
+/**
+ * Builds personal feeds: articles of the users someone follows, newest first. The implementation is
+ * selected by the {@code feed.engine} property.
+ */
+public interface FeedEngine {
+  /**
+   * Reads a page of the feed of given user, newest articles first.
+   *
+   * @return at most {@code limit} articles following the first {@code offset} ones
+   */
+  List<Article> feed(long userId, int offset, int limit);
+
+  /**
+   * Reads a page of the feed of given user, starting after the cursor.
+   *
+   * @return at most {@code limit} articles older than the cursor
+   */
+  List<Article> feedBefore(long userId, ArticleCursor cursor, int limit);
+
+  /** Counts all articles in the feed of given user. */
+  int count(long userId);
+
+  /**
+   * Called within the transaction which made the follower follow the followee.
+   *
+   * @param followersCount number of followers of the followee including the new one
+   */
+  void onFollowed(long followerId, long followeeId, int followersCount);
+
+  /**
+   * Called within the transaction which made the follower stop following the followee.
+   *
+   * @param previousFollowersCount number of followers of the followee before the former one left
+   * @param followersCount number of followers of the followee without the former one
+   */
+  void onUnfollowed(
+      long followerId, long followeeId, int previousFollowersCount, int followersCount);
+}
@@ -0,0 +1,111 @@
+package io.realworld.backend.application.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.realworld.backend.application.exception.ServiceUnavailableException;
+import io.realworld.backend.application.util.BoundedExecutor;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.service.AuthenticationService;
+import java.time.Duration;
+import java.util.Optional;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Hashes and checks passwords on a dedicated {@link BoundedExecutor} named {@code
+ * passwordHashing}. Each BCrypt call costs tens of milliseconds of CPU, so a storm of logins or
+ * registrations gets at most {@code passwordHashing.threads} cores and the rest of the API keeps
+ * its own. Once {@code passwordHashing.queueCapacity} calls are waiting, further ones are answered
+ * 503 Service Unavailable with a {@code Retry-After} header.
+ *
+ * <p>The request thread still waits for the hash, as the generated delegates answer with a {@code
+ * ResponseEntity} rather than a future, so at most {@code passwordHashing.threads} plus {@code
+ * passwordHashing.queueCapacity} request threads are ever held by hashing.
+ *
+ * <p>A stored hash of a lower cost than new hashes, for example from before the encoder was
+ * calibrated on this node, is replaced after a successful login. The new hash is computed in the
+ * background on a separate single-thread executor named {@code passwordRehashing}, so the login
+ * responds without waiting for it, and rehashes never take the place of logins in the queue of
+ * {@code passwordHashing}. If {@code passwordHashing.rehashQueueCapacity} rehashes are waiting
+ * already the hash is left as it is, for a later login to replace. On shutdown pending hashes get
+ * a few seconds to be written, while the repository is still open.
+ */
+@Service
+public class PasswordHashing {
+  private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(5);
+
+  private final AuthenticationService authenticationService;
+  private final UserRepository userRepository;
+  private final BoundedExecutor executor;
+  private final BoundedExecutor rehashExecutor;
+
+  /**
+   * Creates PasswordHashing instance.
+   *
+   * @param threads number of threads hashing passwords, 0 for one per processor
+   * @param queueCapacity most calls waiting for a thread
+   * @param rehashQueueCapacity most rehashes waiting for the rehashing thread
+   * @param retryAfter how long rejected clients are asked to wait before retrying
+   */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  @Autowired
+  public PasswordHashing(
+      AuthenticationService authenticationService,
+      UserRepository userRepository,
+      @Value("${passwordHashing.threads}") int threads,
+      @Value("${passwordHashing.queueCapacity}") int queueCapacity,
+      @Value("${passwordHashing.rehashQueueCapacity}") int rehashQueueCapacity,
+      @Value("${passwordHashing.retryAfter}") Duration retryAfter,
+      MeterRegistry meterRegistry) {
+    this.authenticationService = authenticationService;
+    this.userRepository = userRepository;
+    this.executor =
+        new BoundedExecutor(
+            "passwordHashing",
+            threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+            queueCapacity,
+            retryAfter,
+            meterRegistry);
+    this.rehashExecutor =
+        new BoundedExecutor(
+            "passwordRehashing", 1, rehashQueueCapacity, retryAfter, meterRegistry);
+  }
+
+  /** Shuts the hashing executors down when the application context closes. */
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown(SHUTDOWN_TIMEOUT);
+    rehashExecutor.shutdown(SHUTDOWN_TIMEOUT);
+  }
+
+  /**
+   * Checks the credentials on the hashing executor and returns the user they belong to.
+   *
+   * @throws ServiceUnavailableException if too many calls are waiting already
+   */
+  public Optional<User> authenticate(String email, String password) {
+    final var user = executor.call(() -> authenticationService.authenticate(email, password));
+    user.filter(authenticationService::needsRehash).ifPresent(u -> rehashLater(u, password));
+    return user;
+  }
+
+  /**
+   * Returns a hash of the password, computed on the hashing executor.
+   *
+   * @throws ServiceUnavailableException if too many calls are waiting already
+   */
+  public String encodePassword(String password) {
+    return executor.call(() -> authenticationService.encodePassword(password));
+  }
+
+  private void rehashLater(User user, String password) {
+    final var userId = user.getId();
+    final var oldHash = user.getPasswordHash();
+    rehashExecutor.offer(
+        () ->
+            userRepository.replacePasswordHash(
+                userId, oldHash, authenticationService.encodePassword(password)));
+  }
+}
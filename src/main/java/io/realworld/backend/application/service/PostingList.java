@@ -0,0 +1,239 @@
+package io.realworld.backend.application.service;
+
+import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Compressed bitmap of slots. Slots are split into chunks of 2^16 by their high bits, and each
+ * chunk stores its low bits either as a sorted array, while it is sparse, or as a plain bitmap of 8
+ * KiB once it holds more than {@value #MAX_ARRAY} slots. A rare tag thus takes two bytes per
+ * article and a common one a bit per slot. Not thread safe.
+ */
+public class PostingList implements SlotSet {
+  private static final int CHUNK_BITS = 16;
+  private static final int LOW_MASK = (1 << CHUNK_BITS) - 1;
+  private static final int MAX_ARRAY = 4096;
+
+  private @Nullable Container[] chunks = new Container[0];
+  private int size = 0;
+
+  /** Adds a slot. Adding a present slot has no effect. */
+  public void add(int slot) {
+    final var chunk = slot >>> CHUNK_BITS;
+    if (chunk >= chunks.length) {
+      chunks = Arrays.copyOf(chunks, Math.max(chunk + 1, chunks.length * 2));
+    }
+    final var container = chunks[chunk];
+    final var before = container == null ? 0 : container.size();
+    final var updated = (container == null ? new ArrayContainer() : container).add(slot & LOW_MASK);
+    chunks[chunk] = updated;
+    size += updated.size() - before;
+  }
+
+  /** Removes a slot. Removing an absent slot has no effect. */
+  public void remove(int slot) {
+    final var chunk = slot >>> CHUNK_BITS;
+    final var container = chunk < chunks.length ? chunks[chunk] : null;
+    if (container == null) {
+      return;
+    }
+    final var before = container.size();
+    final var updated = container.remove(slot & LOW_MASK);
+    chunks[chunk] = updated.size() == 0 ? null : updated;
+    size -= before - updated.size();
+  }
+
+  /**
+   * Replaces every slot with the one it was moved to. Moves must keep the order of the slots.
+   *
+   * @param moved the new slot of each old one
+   */
+  public void move(int[] moved) {
+    final var slots = new int[size];
+    var index = size;
+    for (var slot = floor(Integer.MAX_VALUE); slot >= 0; slot = floor(slot - 1)) {
+      slots[--index] = moved[slot];
+    }
+    chunks = new Container[0];
+    size = 0;
+    for (final var slot : slots) {
+      add(slot);
+    }
+  }
+
+  /** Tells whether the slot is present. */
+  public boolean contains(int slot) {
+    final var chunk = slot >>> CHUNK_BITS;
+    final var container = chunk < chunks.length ? chunks[chunk] : null;
+    return container != null && container.contains(slot & LOW_MASK);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int floor(int slot) {
+    if (slot < 0 || chunks.length == 0) {
+      return -1;
+    }
+    var chunk = slot >>> CHUNK_BITS;
+    var low = slot & LOW_MASK;
+    if (chunk >= chunks.length) {
+      chunk = chunks.length - 1;
+      low = LOW_MASK;
+    }
+    for (; chunk >= 0; chunk--, low = LOW_MASK) {
+      final var container = chunks[chunk];
+      if (container != null) {
+        final var found = container.floor(low);
+        if (found >= 0) {
+          return chunk << CHUNK_BITS | found;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /** Low bits of the slots of one chunk. Updates return the container to use from then on. */
+  private interface Container {
+    int size();
+
+    boolean contains(int low);
+
+    Container add(int low);
+
+    Container remove(int low);
+
+    int floor(int low);
+  }
+
+  private static class ArrayContainer implements Container {
+    private char[] values;
+    private int size = 0;
+
+    ArrayContainer() {
+      this(4);
+    }
+
+    ArrayContainer(int capacity) {
+      values = new char[capacity];
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean contains(int low) {
+      return Arrays.binarySearch(values, 0, size, (char) low) >= 0;
+    }
+
+    @Override
+    public Container add(int low) {
+      final var index = Arrays.binarySearch(values, 0, size, (char) low);
+      if (index >= 0) {
+        return this;
+      }
+      if (size == MAX_ARRAY) {
+        return toBitmap().add(low);
+      }
+      final var insertion = -index - 1;
+      if (size == values.length) {
+        values = Arrays.copyOf(values, Math.min(values.length * 2, MAX_ARRAY));
+      }
+      System.arraycopy(values, insertion, values, insertion + 1, size - insertion);
+      values[insertion] = (char) low;
+      size++;
+      return this;
+    }
+
+    @Override
+    public Container remove(int low) {
+      final var index = Arrays.binarySearch(values, 0, size, (char) low);
+      if (index >= 0) {
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+      }
+      return this;
+    }
+
+    @Override
+    public int floor(int low) {
+      final var index = Arrays.binarySearch(values, 0, size, (char) low);
+      if (index >= 0) {
+        return low;
+      }
+      final var insertion = -index - 1;
+      return insertion == 0 ? -1 : values[insertion - 1];
+    }
+
+    private BitmapContainer toBitmap() {
+      final var bitmap = new BitmapContainer();
+      for (int i = 0; i < size; i++) {
+        bitmap.add(values[i]);
+      }
+      return bitmap;
+    }
+  }
+
+  private static class BitmapContainer implements Container {
+    private final long[] words = new long[(LOW_MASK + 1) / Long.SIZE];
+    private int size = 0;
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean contains(int low) {
+      return (words[low >>> 6] & (1L << low)) != 0;
+    }
+
+    @Override
+    public Container add(int low) {
+      if (!contains(low)) {
+        words[low >>> 6] |= 1L << low;
+        size++;
+      }
+      return this;
+    }
+
+    @Override
+    public Container remove(int low) {
+      if (contains(low)) {
+        words[low >>> 6] &= ~(1L << low);
+        size--;
+      }
+      // Shrinks only well below the limit, so a chunk at the limit does not flip on every update.
+      return size < MAX_ARRAY / 2 ? toArray() : this;
+    }
+
+    @Override
+    public int floor(int low) {
+      var index = low >>> 6;
+      var word = words[index] & (-1L >>> (Long.SIZE - 1 - (low & (Long.SIZE - 1))));
+      while (word == 0) {
+        if (--index < 0) {
+          return -1;
+        }
+        word = words[index];
+      }
+      return index * Long.SIZE + Long.SIZE - 1 - Long.numberOfLeadingZeros(word);
+    }
+
+    private ArrayContainer toArray() {
+      final var array = new ArrayContainer(MAX_ARRAY);
+      for (int index = 0; index < words.length; index++) {
+        for (var word = words[index]; word != 0; word &= word - 1) {
+          array.values[array.size++] =
+              (char) (index * Long.SIZE + Long.numberOfTrailingZeros(word));
+        }
+      }
+      return array;
+    }
+  }
+}
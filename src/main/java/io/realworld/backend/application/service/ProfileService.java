@@ -2,19 +2,24 @@ package io.realworld.backend.application.service;
 
 import static io.realworld.backend.application.dto.Mappers.toProfileResponse;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.realworld.backend.application.dto.ProfileSnapshot;
 import io.realworld.backend.application.exception.UserNotFoundException;
 import io.realworld.backend.application.util.BaseService;
-import io.realworld.backend.domain.aggregate.follow.FollowRelation;
+import io.realworld.backend.application.util.SingleFlight;
+import io.realworld.backend.application.util.Validators;
+import io.realworld.backend.domain.aggregate.follow.FollowChangedEvent;
 import io.realworld.backend.domain.aggregate.follow.FollowRelationId;
 import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
-import io.realworld.backend.domain.aggregate.user.User;
 import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.aggregate.user.UserVersion;
+import io.realworld.backend.domain.service.AuthenticatedUser;
 import io.realworld.backend.domain.service.AuthenticationService;
 import io.realworld.backend.rest.api.ProfileResponseData;
 import io.realworld.backend.rest.api.ProfilesApiDelegate;
 import java.util.Optional;
-import java.util.function.Predicate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,22 +30,37 @@ public class ProfileService extends BaseService implements ProfilesApiDelegate {
   private final UserRepository userRepository;
   private final FollowRelationRepository followRelationRepository;
   private final AuthenticationService authenticationService;
+  private final FeedEngine feedEngine;
+  private final ApplicationEventPublisher eventPublisher;
+  private final SingleFlight<String, Optional<ProfileSnapshot>> profileLoads;
 
   /** Creates ProfileService instance. */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
   @Autowired
   public ProfileService(
       UserRepository userRepository,
       FollowRelationRepository followRelationRepository,
-      AuthenticationService authenticationService) {
+      AuthenticationService authenticationService,
+      FeedEngine feedEngine,
+      ApplicationEventPublisher eventPublisher,
+      MeterRegistry meterRegistry) {
     this.userRepository = userRepository;
     this.followRelationRepository = followRelationRepository;
     this.authenticationService = authenticationService;
+    this.feedEngine = feedEngine;
+    this.eventPublisher = eventPublisher;
+    this.profileLoads = new SingleFlight<>("profile", meterRegistry);
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Following the user again, or in concurrent requests, succeeds but is counted once: the
+   * insert is skipped or fails on the primary key, with no lookup beforehand.
+   */
   @Override
   public ResponseEntity<ProfileResponseData> followUserByUsername(String username) {
-    final var currentUser = currentUserOrThrow();
+    final var currentUser = authenticatedUserOrThrow();
 
     final var user =
         userRepository
@@ -48,41 +68,52 @@ public class ProfileService extends BaseService implements ProfilesApiDelegate {
             .orElseThrow(() -> new UserNotFoundException(username));
 
     final var followRelationId = new FollowRelationId(currentUser.getId(), user.getId());
-    followRelationRepository
-        .findById(followRelationId)
-        .or(
-            () -> {
-              final var followRelation = new FollowRelation(currentUser.getId(), user.getId());
-              followRelationRepository.save(followRelation);
-              return Optional.of(followRelation);
-            });
+    if (followRelationRepository.insertIfAbsent(followRelationId)) {
+      userRepository.incrementFollowersCount(user.getId());
+      feedEngine.onFollowed(currentUser.getId(), user.getId(), followersCount(user.getId()));
+      eventPublisher.publishEvent(new FollowChangedEvent(currentUser.getId(), user, true));
+    }
 
     return ok(toProfileResponse(user, true));
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>A conditional request is validated against the version of the user, so a client which
+   * already has the profile gets 304 Not Modified without the user being loaded. Concurrent
+   * requests for the same username share one load of the user, as an immutable snapshot.
+   */
   @Override
   public ResponseEntity<ProfileResponseData> getProfileByUsername(String username) {
-    final var currentUser = authenticationService.getCurrentUser();
-    Predicate<User> isFollowing =
-        (u) ->
-            currentUser
-                .map(
-                    cu ->
-                        followRelationRepository
-                            .findById(new FollowRelationId(cu.getId(), u.getId()))
-                            .isPresent())
-                .orElse(false);
-    return userRepository
-        .findByUsername(username)
-        .map(u -> ok(toProfileResponse(u, isFollowing.test(u))))
+    final var currentUser = authenticationService.getAuthenticatedUser();
+    if (Validators.isConditionalRequest()) {
+      final var version =
+          Optional.of(username)
+              .filter(userRepository::usernameMightExist)
+              .flatMap(userRepository::findVersionByUsername)
+              .orElseThrow(() -> new UserNotFoundException(username));
+      final var isFollowing = isFollowing(currentUser, version.getId());
+      final var validators = profileValidators(version, currentUser.isEmpty(), isFollowing);
+      if (validators.matchCurrentRequest()) {
+        return validators.notModified();
+      }
+    }
+    return profileLoads
+        .load(username, () -> userRepository.findByUsername(username).map(ProfileSnapshot::of))
+        .map(
+            u -> {
+              final var isFollowing = isFollowing(currentUser, u.getId());
+              return profileValidators(u.getVersion(), currentUser.isEmpty(), isFollowing)
+                  .ok(toProfileResponse(u, isFollowing));
+            })
         .orElseThrow(() -> new UserNotFoundException(username));
   }
 
   /** {@inheritDoc} */
   @Override
   public ResponseEntity<ProfileResponseData> unfollowUserByUsername(String username) {
-    final var currentUser = currentUserOrThrow();
+    final var currentUser = authenticatedUserOrThrow();
 
     final var user =
         userRepository
@@ -90,11 +121,54 @@ public class ProfileService extends BaseService implements ProfilesApiDelegate {
             .orElseThrow(() -> new UserNotFoundException(username));
 
     final var followRelationId = new FollowRelationId(currentUser.getId(), user.getId());
-    followRelationRepository.deleteById(followRelationId);
+    if (followRelationRepository.deleteIfExists(followRelationId) > 0) {
+      final var decremented = userRepository.decrementFollowersCount(user.getId());
+      final var followersCount = followersCount(user.getId());
+      feedEngine.onUnfollowed(
+          currentUser.getId(), user.getId(), followersCount + decremented, followersCount);
+      eventPublisher.publishEvent(new FollowChangedEvent(currentUser.getId(), user, false));
+    }
 
     return ok(toProfileResponse(user, false));
   }
 
+  /**
+   * Returns the followers count of a user after the update made by this transaction. The count of
+   * the loaded user was read before the update, and concurrent follows may have changed it since;
+   * the update locks the row, so the count read now is exact until the transaction ends.
+   */
+  private int followersCount(long userId) {
+    return userRepository.findFollowersCountById(userId).orElse(0);
+  }
+
+  private boolean isFollowing(Optional<AuthenticatedUser> currentUser, long userId) {
+    return currentUser
+        .map(
+            cu ->
+                followRelationRepository
+                    .findById(new FollowRelationId(cu.getId(), userId))
+                    .isPresent())
+        .orElse(false);
+  }
+
+  /**
+   * Returns validators of a profile. Last-Modified is sent to anonymous viewers only, as following
+   * changes without moving the modification time of the user.
+   */
+  private static Validators profileValidators(
+      UserVersion version, boolean anonymous, boolean isFollowing) {
+    final var updatedAt = version.getUpdatedAt();
+    return Validators.strong(
+        "u"
+            + version.getId()
+            + "-"
+            + updatedAt.getEpochSecond()
+            + "."
+            + updatedAt.getNano()
+            + (isFollowing ? "-f" : ""),
+        anonymous ? updatedAt : null);
+  }
+
   /** {@inheritDoc} */
   @Override
   public AuthenticationService getAuthenticationService() {
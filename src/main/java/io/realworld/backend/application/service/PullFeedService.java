@@ -0,0 +1,114 @@
+package io.realworld.backend.application.service;
+
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.OffsetBasedPageRequest;
+import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Personal feeds merged at read time from a {@link RecentArticlesIndex} of the newest articles of
+ * every author. The database only loads the articles of the merged page, and counts come from the
+ * index. Pages reaching past the indexed articles are read from the database instead.
+ */
+@Service
+@ConditionalOnProperty(name = "feed.engine", havingValue = "pull")
+@Transactional
+public class PullFeedService implements FeedEngine {
+  private final ArticleRepository articleRepository;
+  private final FollowRelationRepository followRelationRepository;
+  private final RecentArticlesIndex index;
+
+  /** Creates PullFeedService instance. */
+  @Autowired
+  public PullFeedService(
+      ArticleRepository articleRepository,
+      FollowRelationRepository followRelationRepository,
+      @Value("${feed.pull.articlesPerAuthor}") int articlesPerAuthor) {
+    this.articleRepository = articleRepository;
+    this.followRelationRepository = followRelationRepository;
+    this.index = new RecentArticlesIndex(articlesPerAuthor);
+  }
+
+  /** Indexes all articles. Runs at startup, before the index is used. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    index.clear();
+    try (var keys = articleRepository.streamKeys()) {
+      keys.forEach(key -> index.add(key.getAuthorId(), key.getId(), key.getCreatedAt()));
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleCreated(ArticleCreatedEvent event) {
+    index.add(event.getAuthorId(), event.getArticleId(), event.getCreatedAt());
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleDeleted(ArticleDeletedEvent event) {
+    index.remove(event.getAuthorId(), event.getArticleId());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional(readOnly = true)
+  public List<Article> feed(long userId, int offset, int limit) {
+    final var followeeIds = followeeIds(userId);
+    return index
+        .newest(followeeIds, null, offset, limit)
+        .map(articleRepository::findAllInOrder)
+        .orElseGet(
+            () ->
+                articleRepository.findByAuthorIdIn(
+                    followeeIds, OffsetBasedPageRequest.of(offset, limit, ArticleCursor.ORDER)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional(readOnly = true)
+  public List<Article> feedBefore(long userId, ArticleCursor cursor, int limit) {
+    final var followeeIds = followeeIds(userId);
+    return index
+        .newest(followeeIds, cursor, 0, limit)
+        .map(articleRepository::findAllInOrder)
+        .orElseGet(
+            () ->
+                articleRepository.findByAuthorIdInBefore(
+                    followeeIds,
+                    cursor.getCreatedAt(),
+                    cursor.getId(),
+                    OffsetBasedPageRequest.of(0, limit, ArticleCursor.ORDER)));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional(readOnly = true)
+  public int count(long userId) {
+    return index.count(followeeIds(userId));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void onFollowed(long followerId, long followeeId, int followersCount) {}
+
+  /** {@inheritDoc} */
+  @Override
+  public void onUnfollowed(
+      long followerId, long followeeId, int previousFollowersCount, int followersCount) {}
+
+  private List<Long> followeeIds(long userId) {
+    return followRelationRepository.findFolloweeIds(userId);
+  }
+}
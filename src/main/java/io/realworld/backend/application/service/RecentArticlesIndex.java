@@ -0,0 +1,264 @@
+package io.realworld.backend.application.service;
+
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Ids and creation times of the newest articles of every author, kept in memory. Each author holds
+ * at most {@code capacity} articles in two primitive arrays sorted newest first, plus the number of
+ * all its articles. The arrays are replaced, never modified, so feeds are merged without locks.
+ *
+ * <p>A feed page is a k-way merge of the arrays of all followed authors. It is exact as long as it
+ * does not reach past the oldest indexed article of an author who has more articles than the index
+ * holds; deeper pages must be read from the database.
+ */
+public class RecentArticlesIndex {
+  private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+  private final int capacity;
+  private final Map<Long, Recent> byAuthor = new ConcurrentHashMap<>();
+
+  public RecentArticlesIndex(int capacity) {
+    this.capacity = capacity;
+  }
+
+  /** Adds an article. Adding an indexed article again has no effect. */
+  public void add(long authorId, long articleId, Instant createdAt) {
+    byAuthor.compute(
+        authorId,
+        (id, recent) ->
+            (recent == null ? Recent.EMPTY : recent).with(key(createdAt), articleId, capacity));
+  }
+
+  /** Removes an article, which may be older than the indexed ones. */
+  public void remove(long authorId, long articleId) {
+    byAuthor.computeIfPresent(authorId, (id, recent) -> recent.without(articleId));
+  }
+
+  public void clear() {
+    byAuthor.clear();
+  }
+
+  /** Counts all articles of given authors, including the ones too old to be indexed. */
+  public int count(Collection<Long> authorIds) {
+    int count = 0;
+    for (final var authorId : authorIds) {
+      final var recent = byAuthor.get(authorId);
+      if (recent != null) {
+        count += recent.total;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Merges the newest articles of given authors.
+   *
+   * @param before cursor to start after, null to start with the newest article
+   * @return ids of at most {@code limit} articles following the first {@code offset} ones, empty if
+   *     the page reaches past the indexed articles
+   */
+  public Optional<List<Long>> newest(
+      Collection<Long> authorIds, @Nullable ArticleCursor before, int offset, int limit) {
+    final var merge = new Merge(authorIds.size());
+    for (final var authorId : authorIds) {
+      final var recent = byAuthor.get(authorId);
+      if (recent != null) {
+        merge.add(
+            recent,
+            before == null ? 0 : recent.olderThan(key(before.getCreatedAt()), before.getId()));
+      }
+    }
+    return merge.take(offset, limit);
+  }
+
+  private static long key(Instant createdAt) {
+    return createdAt.getEpochSecond() * NANOS_PER_SECOND + createdAt.getNano();
+  }
+
+  private static boolean newer(long key, long id, long otherKey, long otherId) {
+    return key > otherKey || key == otherKey && id > otherId;
+  }
+
+  /** Newest articles of one author, sorted by creation time and id, newest first. */
+  private static final class Recent {
+    static final Recent EMPTY = new Recent(new long[0], new long[0], 0);
+
+    final long[] keys;
+    final long[] ids;
+    /** Number of all articles of the author, at least {@code ids.length}. */
+    final int total;
+
+    Recent(long[] keys, long[] ids, int total) {
+      this.keys = keys;
+      this.ids = ids;
+      this.total = total;
+    }
+
+    /** Whether older articles of the author exist that are not indexed. */
+    boolean truncated() {
+      return ids.length < total;
+    }
+
+    /** Returns the position of the first article older than given one. */
+    int olderThan(long key, long id) {
+      int low = 0;
+      int high = ids.length;
+      while (low < high) {
+        final var mid = (low + high) >>> 1;
+        if (newer(keys[mid], ids[mid], key, id) || keys[mid] == key && ids[mid] == id) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    Recent with(long key, long id, int capacity) {
+      for (final var indexed : ids) {
+        if (indexed == id) {
+          return this;
+        }
+      }
+      final var position = olderThan(key, id);
+      if (position >= capacity) {
+        return new Recent(keys, ids, total + 1);
+      }
+      final var length = Math.min(ids.length + 1, capacity);
+      final var newKeys = new long[length];
+      final var newIds = new long[length];
+      System.arraycopy(keys, 0, newKeys, 0, position);
+      System.arraycopy(ids, 0, newIds, 0, position);
+      newKeys[position] = key;
+      newIds[position] = id;
+      System.arraycopy(keys, position, newKeys, position + 1, length - position - 1);
+      System.arraycopy(ids, position, newIds, position + 1, length - position - 1);
+      return new Recent(newKeys, newIds, total + 1);
+    }
+
+    Recent without(long id) {
+      int position = 0;
+      while (position < ids.length && ids[position] != id) {
+        position++;
+      }
+      final var newTotal = Math.max(total - 1, 0);
+      if (position == ids.length) {
+        return new Recent(keys, ids, newTotal);
+      }
+      final var length = ids.length - 1;
+      final var newKeys = new long[length];
+      final var newIds = new long[length];
+      System.arraycopy(keys, 0, newKeys, 0, position);
+      System.arraycopy(ids, 0, newIds, 0, position);
+      System.arraycopy(keys, position + 1, newKeys, position, length - position);
+      System.arraycopy(ids, position + 1, newIds, position, length - position);
+      return new Recent(newKeys, newIds, newTotal);
+    }
+  }
+
+  /** K-way merge over a binary max-heap of authors ordered by their next article. */
+  private static final class Merge {
+    final List<Recent> sources;
+    final int[] positions;
+    final int[] heap;
+    int heapSize = 0;
+    /** Oldest indexed article of the truncated author whose oldest indexed article is newest. */
+    boolean bounded = false;
+
+    long horizonKey = Long.MIN_VALUE;
+    long horizonId = Long.MIN_VALUE;
+
+    Merge(int authors) {
+      this.sources = new ArrayList<>(authors);
+      this.positions = new int[authors];
+      this.heap = new int[authors];
+    }
+
+    void add(Recent recent, int position) {
+      if (recent.truncated()) {
+        final var oldest = recent.ids.length - 1;
+        if (!bounded || newer(recent.keys[oldest], recent.ids[oldest], horizonKey, horizonId)) {
+          horizonKey = recent.keys[oldest];
+          horizonId = recent.ids[oldest];
+        }
+        bounded = true;
+      }
+      if (position < recent.ids.length) {
+        positions[sources.size()] = position;
+        heap[heapSize++] = sources.size();
+        sources.add(recent);
+      }
+    }
+
+    Optional<List<Long>> take(int offset, int limit) {
+      for (int i = heapSize / 2 - 1; i >= 0; i--) {
+        siftDown(i);
+      }
+      final var ids = new ArrayList<Long>(limit);
+      final var count = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+      for (int taken = 0; taken < count; taken++) {
+        if (heapSize == 0) {
+          // Exhausted, unless a truncated author has more articles than indexed.
+          return bounded ? Optional.empty() : Optional.of(ids);
+        }
+        final var source = heap[0];
+        final var recent = sources.get(source);
+        final var position = positions[source];
+        final var key = recent.keys[position];
+        final var id = recent.ids[position];
+        if (bounded && newer(horizonKey, horizonId, key, id)) {
+          return Optional.empty();
+        }
+        if (taken >= offset) {
+          ids.add(id);
+        }
+        positions[source]++;
+        if (positions[source] == recent.ids.length) {
+          heap[0] = heap[--heapSize];
+        }
+        siftDown(0);
+      }
+      return Optional.of(ids);
+    }
+
+    private void siftDown(int index) {
+      var i = index;
+      while (true) {
+        final var left = 2 * i + 1;
+        if (left >= heapSize) {
+          return;
+        }
+        var child = left;
+        if (left + 1 < heapSize && before(heap[left + 1], heap[left])) {
+          child = left + 1;
+        }
+        if (!before(heap[child], heap[i])) {
+          return;
+        }
+        final var swap = heap[i];
+        heap[i] = heap[child];
+        heap[child] = swap;
+        i = child;
+      }
+    }
+
+    /** Whether the next article of source a is newer than the next article of source b. */
+    private boolean before(int a, int b) {
+      final var recentA = sources.get(a);
+      final var recentB = sources.get(b);
+      return newer(
+          recentA.keys[positions[a]],
+          recentA.ids[positions[a]],
+          recentB.keys[positions[b]],
+          recentB.ids[positions[b]]);
+    }
+  }
+}
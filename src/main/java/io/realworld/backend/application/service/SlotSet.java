@@ -0,0 +1,54 @@
+package io.realworld.backend.application.service;
+
+import java.util.List;
+
+/**
+ * Set of non-negative slots which is walked from the highest slot down. Sets are combined without
+ * materialising the result: an intersection leapfrogs between its members, a union takes the
+ * highest slot any member has.
+ */
+@FunctionalInterface
+public interface SlotSet {
+  /** Returns the highest slot of the set not above given one, -1 if there is none. */
+  int floor(int slot);
+
+  /**
+   * Returns slots present in all given sets. Walking is cheapest when the sets are ordered by size,
+   * smallest first.
+   */
+  static SlotSet intersection(List<? extends SlotSet> sets) {
+    if (sets.size() == 1) {
+      return sets.get(0);
+    }
+    return slot -> {
+      var candidate = slot;
+      var agreeing = 0;
+      var i = 0;
+      while (candidate >= 0 && agreeing < sets.size()) {
+        final var floor = sets.get(i).floor(candidate);
+        if (floor == candidate) {
+          agreeing++;
+        } else {
+          candidate = floor;
+          agreeing = 1;
+        }
+        i = (i + 1) % sets.size();
+      }
+      return candidate;
+    };
+  }
+
+  /** Returns slots present in any of given sets. */
+  static SlotSet union(List<? extends SlotSet> sets) {
+    if (sets.size() == 1) {
+      return sets.get(0);
+    }
+    return slot -> {
+      var highest = -1;
+      for (final var set : sets) {
+        highest = Math.max(highest, set.floor(slot));
+      }
+      return highest;
+    };
+  }
+}
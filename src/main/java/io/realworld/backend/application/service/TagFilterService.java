@@ -0,0 +1,117 @@
+package io.realworld.backend.application.service;
+
+import com.google.common.collect.Sets;
+import io.realworld.backend.application.service.TaggedArticleIndex.Query;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleFilter;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.ArticleUpdatedEvent;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import java.util.Collection;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Lists articles carrying all or any of several tags from a {@link TaggedArticleIndex}. The index
+ * is rebuilt at startup and updated once article changes are committed, and the database only loads
+ * the articles of the requested page. Articles favourited by a user are instead listed by a keyset
+ * query joining the favourites, so a long history of favourites is never loaded for one page.
+ */
+@Service
+@Transactional(readOnly = true)
+public class TagFilterService {
+  private final ArticleRepository articleRepository;
+  private final UserRepository userRepository;
+  private final TaggedArticleIndex index = new TaggedArticleIndex();
+
+  /** Creates TagFilterService instance. */
+  @Autowired
+  public TagFilterService(ArticleRepository articleRepository, UserRepository userRepository) {
+    this.articleRepository = articleRepository;
+    this.userRepository = userRepository;
+  }
+
+  /** Indexes all articles oldest first. Runs at startup, before the index is used. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    index.clear();
+    try (var keys = articleRepository.streamKeys()) {
+      keys.forEach(key -> index.add(key.getId(), key.getAuthorId(), key.getCreatedAt(), List.of()));
+    }
+    try (var tags = articleRepository.streamTags()) {
+      tags.forEach(tag -> index.retag(tag.getArticleId(), List.of(), List.of(tag.getTag())));
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleCreated(ArticleCreatedEvent event) {
+    index.add(event.getArticleId(), event.getAuthorId(), event.getCreatedAt(), event.getTags());
+  }
+
+  /** Moves the article between the posting lists of the tags that changed. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleUpdated(ArticleUpdatedEvent event) {
+    index.retag(
+        event.getArticleId(),
+        Sets.difference(event.getPreviousTags(), event.getTags()),
+        Sets.difference(event.getTags(), event.getPreviousTags()));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleDeleted(ArticleDeletedEvent event) {
+    index.remove(event.getArticleId(), event.getAuthorId(), event.getTags());
+  }
+
+  /**
+   * Finds a page of articles carrying given tags, newest first.
+   *
+   * @param tags tags to match
+   * @param matchAll whether articles must carry all the tags rather than any of them
+   * @param filter further restrictions by author and favourites, its tag is ignored
+   * @param before cursor to start after, null to start with the newest article
+   */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  public List<Article> find(
+      Collection<String> tags,
+      boolean matchAll,
+      ArticleFilter filter,
+      @Nullable ArticleCursor before,
+      int offset,
+      int limit) {
+    if (filter.getFavorited().isPresent()) {
+      return tags.isEmpty() || limit <= 0
+          ? List.of()
+          : articleRepository.findFavouritedByTags(tags, matchAll, filter, before, offset, limit);
+    }
+    return articleRepository.findAllInOrder(
+        index.newest(query(tags, matchAll, filter), before, offset, limit));
+  }
+
+  /** Counts articles carrying all or any of given tags and matching the filter. */
+  public int count(Collection<String> tags, boolean matchAll, ArticleFilter filter) {
+    if (filter.getFavorited().isPresent()) {
+      return tags.isEmpty() ? 0 : articleRepository.countFavouritedByTags(tags, matchAll, filter);
+    }
+    return index.count(query(tags, matchAll, filter));
+  }
+
+  /** Resolves the author of the filter; an unknown user matches no articles. */
+  private Query query(Collection<String> tags, boolean matchAll, ArticleFilter filter) {
+    final var authorId =
+        filter
+            .getAuthor()
+            .map(username -> userRepository.findByUsername(username).map(User::getId).orElse(-1L))
+            .orElse(null);
+    return new Query(tags, matchAll, authorId);
+  }
+}
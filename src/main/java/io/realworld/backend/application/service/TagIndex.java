@@ -0,0 +1,100 @@
+package io.realworld.backend.application.service;
+
+import com.google.common.collect.Sets;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.ArticleUpdatedEvent;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Distinct tags with the number of articles using them, kept in memory. The index is rebuilt at
+ * startup and updated once article changes are committed, so listing the most popular tags and
+ * completing tags by prefix do not touch the database. The list of most popular tags is recomputed
+ * only after the counts changed.
+ */
+@Service
+public class TagIndex {
+  private final ArticleRepository articleRepository;
+  private final int limit;
+  private final CompletionIndex counts = new CompletionIndex(1);
+  private final AtomicLong version = new AtomicLong();
+  private volatile Popular popular = new Popular(-1, List.of());
+
+  /** Creates TagIndex instance. */
+  @Autowired
+  public TagIndex(ArticleRepository articleRepository, @Value("${tag.index.limit}") int limit) {
+    this.articleRepository = articleRepository;
+    this.limit = limit;
+  }
+
+  /** Counts the tags of all articles. Runs at startup, before the index is used. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    final var tagCounts = new HashMap<String, Integer>();
+    for (final var tagCount : articleRepository.countTags()) {
+      tagCounts.put(tagCount.getTag(), Math.toIntExact(tagCount.getArticleCount()));
+    }
+    counts.replaceAll(tagCounts);
+    version.incrementAndGet();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleCreated(ArticleCreatedEvent event) {
+    event.getTags().forEach(tag -> adjust(tag, 1));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleUpdated(ArticleUpdatedEvent event) {
+    Sets.difference(event.getPreviousTags(), event.getTags()).forEach(tag -> adjust(tag, -1));
+    Sets.difference(event.getTags(), event.getPreviousTags()).forEach(tag -> adjust(tag, 1));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleDeleted(ArticleDeletedEvent event) {
+    event.getTags().forEach(tag -> adjust(tag, -1));
+  }
+
+  /** Returns the most used tags, most used first and then by name. */
+  public List<String> popular() {
+    final var current = version.get();
+    final var cached = popular;
+    if (cached.version == current) {
+      return cached.tags;
+    }
+    // Counts changed while computing leave the version behind, so the list is computed again.
+    final var tags = List.copyOf(counts.complete("", limit));
+    popular = new Popular(current, tags);
+    return tags;
+  }
+
+  /** Returns at most {@code limit} tags starting with the prefix, most used first. */
+  public List<String> complete(String prefix, int limit) {
+    return counts.complete(prefix, limit);
+  }
+
+  private void adjust(String tag, int delta) {
+    counts.adjust(tag, delta);
+    version.incrementAndGet();
+  }
+
+  private static class Popular {
+    private final long version;
+    private final List<String> tags;
+
+    Popular(long version, List<String> tags) {
+      this.version = version;
+      this.tags = tags;
+    }
+  }
+}
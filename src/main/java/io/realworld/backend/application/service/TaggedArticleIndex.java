@@ -0,0 +1,262 @@
+package io.realworld.backend.application.service;
+
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Inverted index from tags to articles, kept in memory. Every article takes the next slot of {@link
+ * ArticleSlots} when added, and each tag and author maps to a {@link PostingList} of slots. A query
+ * intersects or unites the lists and walks the result from the highest slot down, collecting only
+ * the ids of the requested page.
+ *
+ * <p>The walk stays exact when articles are committed out of order: it stops once the newest
+ * article at or below a slot cannot make it to the page, and starts after a cursor no lower than
+ * the lag {@link ArticleSlots} allows. Once more slots are free than taken, the articles are moved
+ * down to the lowest slots in the same order, which keeps the walk and every postings list as they
+ * were.
+ */
+public class TaggedArticleIndex {
+  private static final SlotSet NONE = slot -> -1;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Map<Long, Integer> slotById = new HashMap<>();
+  private final Map<String, PostingList> byTag = new HashMap<>();
+  private final Map<Long, PostingList> byAuthor = new HashMap<>();
+  private final ArticleSlots slots = new ArticleSlots();
+
+  /** Adds an article. Adding an indexed article again only adds the tags it did not have. */
+  public void add(long articleId, long authorId, Instant createdAt, Collection<String> tags) {
+    lock.writeLock().lock();
+    try {
+      var slot = slotById.get(articleId);
+      if (slot == null) {
+        slot = slots.append(articleId, createdAt);
+        slotById.put(articleId, slot);
+        postings(byAuthor, authorId).add(slot);
+      }
+      for (final var tag : tags) {
+        postings(byTag, tag).add(slot);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Replaces removed tags of an indexed article with added ones. */
+  public void retag(long articleId, Collection<String> removed, Collection<String> added) {
+    lock.writeLock().lock();
+    try {
+      final var slot = slotById.get(articleId);
+      if (slot != null) {
+        removed.forEach(tag -> removeSlot(byTag, tag, slot));
+        added.forEach(tag -> postings(byTag, tag).add(slot));
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Removes an article with its postings. */
+  public void remove(long articleId, long authorId, Collection<String> tags) {
+    lock.writeLock().lock();
+    try {
+      final var slot = slotById.remove(articleId);
+      if (slot != null) {
+        removeSlot(byAuthor, authorId, slot);
+        tags.forEach(tag -> removeSlot(byTag, tag, slot));
+      }
+      if (slots.size() - slotById.size() > Math.max(slotById.size(), ArticleSlots.INITIAL_SLOTS)) {
+        compact();
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Returns the number of slots taken by indexed articles and not yet freed by compaction. */
+  public int slotCount() {
+    lock.readLock().lock();
+    try {
+      return slots.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Removes all articles and frees their slots. */
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      slotById.clear();
+      byTag.clear();
+      byAuthor.clear();
+      slots.clear();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Returns ids of the newest matching articles.
+   *
+   * @param before cursor to start after, null to start with the newest article
+   * @return ids of at most {@code limit} articles following the first {@code offset} ones
+   */
+  public List<Long> newest(Query query, @Nullable ArticleCursor before, int offset, int limit) {
+    final var count = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+    final List<Long> newest;
+    lock.readLock().lock();
+    try {
+      newest = walk(matching(query), before, count);
+    } finally {
+      lock.readLock().unlock();
+    }
+    return newest.subList(Math.min(offset, newest.size()), newest.size());
+  }
+
+  /** Counts matching articles. */
+  public int count(Query query) {
+    lock.readLock().lock();
+    try {
+      final var matching = matching(query);
+      if (matching instanceof PostingList) {
+        return ((PostingList) matching).size();
+      }
+      int count = 0;
+      for (var slot = matching.floor(slots.size() - 1);
+          slot >= 0;
+          slot = matching.floor(slot - 1)) {
+        count++;
+      }
+      return count;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Moves the articles to the lowest slots in the order of their slots, freeing the rest. */
+  private void compact() {
+    final var taken = new boolean[slots.size()];
+    slotById.values().forEach(slot -> taken[slot] = true);
+    final var moved = slots.compact(taken);
+    byTag.values().forEach(postings -> postings.move(moved));
+    byAuthor.values().forEach(postings -> postings.move(moved));
+    slotById.replaceAll((id, slot) -> moved[slot]);
+  }
+
+  private SlotSet matching(Query query) {
+    final var tagLists = new ArrayList<PostingList>();
+    for (final var tag : query.tags) {
+      final var list = byTag.get(tag);
+      if (list != null) {
+        tagLists.add(list);
+      } else if (query.matchAll) {
+        return NONE;
+      }
+    }
+    if (tagLists.isEmpty()) {
+      return NONE;
+    }
+    final var lists = new ArrayList<PostingList>(query.matchAll ? tagLists : List.of());
+    if (!restrict(query, lists)) {
+      return NONE;
+    }
+    // The smallest list drives the intersection, a union is walked last.
+    lists.sort(Comparator.comparingInt(PostingList::size));
+    final var sets = new ArrayList<SlotSet>(lists);
+    if (!query.matchAll) {
+      sets.add(SlotSet.union(tagLists));
+    }
+    return SlotSet.intersection(sets);
+  }
+
+  /** Adds the list of the author to given ones, false if no article can match. */
+  private boolean restrict(Query query, List<PostingList> lists) {
+    if (query.authorId != null) {
+      final var list = byAuthor.get(query.authorId);
+      if (list == null) {
+        return false;
+      }
+      lists.add(list);
+    }
+    return true;
+  }
+
+  /** Returns ids of the newest {@code count} matching articles after the cursor, newest first. */
+  private List<Long> walk(SlotSet matching, @Nullable ArticleCursor before, int count) {
+    if (count <= 0) {
+      return List.of();
+    }
+    final Comparator<Integer> order = slots::compare;
+    // The count may reach past all articles, so the queue is sized by the slots instead.
+    final var page = new PriorityQueue<Integer>(Math.max(Math.min(count, slots.size()), 1), order);
+    for (var slot = matching.floor(slots.highestSlotBefore(before));
+        slot >= 0;
+        slot = matching.floor(slot - 1)) {
+      final var oldest = page.peek();
+      if (oldest != null
+          && page.size() == count
+          && slots.compare(slots.newestUpTo(slot), oldest) < 0) {
+        break;
+      }
+      if (before == null || slots.isBefore(slot, before)) {
+        page.offer(slot);
+        if (page.size() > count) {
+          page.poll();
+        }
+      }
+    }
+    final var newestFirst = new ArrayList<>(page);
+    newestFirst.sort(order.reversed());
+    final var result = new ArrayList<Long>(newestFirst.size());
+    newestFirst.forEach(slot -> result.add(slots.id(slot)));
+    return result;
+  }
+
+  private static <K extends @NonNull Object> PostingList postings(
+      Map<K, PostingList> postings, K key) {
+    return postings.computeIfAbsent(key, k -> new PostingList());
+  }
+
+  private static <K extends @NonNull Object> void removeSlot(
+      Map<K, PostingList> postings, K key, int slot) {
+    final var list = postings.get(key);
+    if (list != null) {
+      list.remove(slot);
+      if (list.size() == 0) {
+        postings.remove(key);
+      }
+    }
+  }
+
+  /** Articles carrying all or any of some tags, optionally restricted by author. */
+  public static class Query {
+    private final Collection<String> tags;
+    private final boolean matchAll;
+    private final @Nullable Long authorId;
+
+    /**
+     * Creates Query instance.
+     *
+     * @param tags tags to match
+     * @param matchAll whether articles must carry all the tags rather than any of them
+     * @param authorId id of the author of the articles, null for any author
+     */
+    public Query(Collection<String> tags, boolean matchAll, @Nullable Long authorId) {
+      this.tags = tags;
+      this.matchAll = matchAll;
+      this.authorId = authorId;
+    }
+  }
+}
@@ -0,0 +1,205 @@
+package io.realworld.backend.application.service;
+
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.OffsetBasedPageRequest;
+import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
+import io.realworld.backend.domain.aggregate.timeline.TimelineEntryRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Personal feeds materialised as timelines. A new article is pushed to the timelines of all
+ * followers of its author after the article is committed, so reading a feed scans one index range
+ * instead of all articles of all followed authors.
+ *
+ * <p>Pushing an article of an author with more than {@code feed.fanOut.maxFollowers} followers
+ * would stall writes, so articles of such authors are not pushed. Feeds pull them at read time and
+ * merge them with the timeline instead.
+ *
+ * <p>Pushes run on the task executor in transactions of their own, so they neither delay nor roll
+ * back the request that created the article.
+ */
+@Service
+@ConditionalOnProperty(name = "feed.engine", havingValue = "timeline", matchIfMissing = true)
+@Transactional
+public class TimelineService implements FeedEngine {
+  private static final Comparator<Article> NEWEST_FIRST =
+      Comparator.comparing(Article::getCreatedAt).thenComparing(Article::getId).reversed();
+
+  private final TimelineEntryRepository timelineEntryRepository;
+  private final FollowRelationRepository followRelationRepository;
+  private final UserRepository userRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int maxFanOutFollowers;
+  private final int backfillSize;
+
+  /** Creates TimelineService instance. */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  @Autowired
+  public TimelineService(
+      TimelineEntryRepository timelineEntryRepository,
+      FollowRelationRepository followRelationRepository,
+      UserRepository userRepository,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${feed.fanOut.maxFollowers}") int maxFanOutFollowers,
+      @Value("${feed.backfillSize}") int backfillSize) {
+    this.timelineEntryRepository = timelineEntryRepository;
+    this.followRelationRepository = followRelationRepository;
+    this.userRepository = userRepository;
+    this.eventPublisher = eventPublisher;
+    this.maxFanOutFollowers = maxFanOutFollowers;
+    this.backfillSize = backfillSize;
+  }
+
+  /** Pushes a new article to the timelines of the followers of its author. */
+  @Async
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleCreated(ArticleCreatedEvent event) {
+    final var followersCount =
+        userRepository.findById(event.getAuthorId()).map(User::getFollowersCount).orElse(0);
+    if (followersCount <= maxFanOutFollowers) {
+      timelineEntryRepository.fanOut(
+          event.getArticleId(), event.getAuthorId(), event.getCreatedAt());
+    }
+  }
+
+  /** Removes a deleted article from all timelines within the deleting transaction. */
+  @EventListener
+  public void onArticleDeleted(ArticleDeletedEvent event) {
+    timelineEntryRepository.deleteByArticleId(event.getArticleId());
+  }
+
+  /**
+   * Pushes the newest articles of the followee to the timeline of a new follower, unless they are
+   * pulled anyway.
+   */
+  @Override
+  public void onFollowed(long followerId, long followeeId, int followersCount) {
+    if (followersCount <= maxFanOutFollowers) {
+      timelineEntryRepository.backfill(followerId, followeeId, backfillSize);
+    }
+  }
+
+  /**
+   * Removes articles of the followee from the timeline of a former follower, and resumes fan-out
+   * once the followers count dropped to the limit.
+   */
+  @Override
+  public void onUnfollowed(
+      long followerId, long followeeId, int previousFollowersCount, int followersCount) {
+    timelineEntryRepository.prune(followerId, followeeId);
+    if (previousFollowersCount > maxFanOutFollowers && followersCount <= maxFanOutFollowers) {
+      // The followee's articles are no longer pulled, push those written while they were.
+      eventPublisher.publishEvent(new FanOutResumedEvent(followeeId));
+    }
+  }
+
+  /** Pushes the newest articles of an author to all followers once it went back to fan-out. */
+  @Async
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onFanOutResumed(FanOutResumedEvent event) {
+    timelineEntryRepository.backfillFollowers(event.getAuthorId(), backfillSize);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional(readOnly = true)
+  public List<Article> feed(long userId, int offset, int limit) {
+    final var pulledAuthorIds = pulledAuthorIds(userId);
+    if (pulledAuthorIds.isEmpty()) {
+      return timelineEntryRepository.findArticles(
+          userId, OffsetBasedPageRequest.of(offset, limit, Sort.unsorted()));
+    }
+    // Either source may hold the whole page, so both are read from the start.
+    final var readSize = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+    final var pushed =
+        timelineEntryRepository.findArticles(
+            userId, OffsetBasedPageRequest.of(0, readSize, Sort.unsorted()));
+    final var pulled =
+        timelineEntryRepository.findPulledArticles(
+            pulledAuthorIds, userId, OffsetBasedPageRequest.of(0, readSize, ArticleCursor.ORDER));
+    return merge(pushed, pulled, offset, limit);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional(readOnly = true)
+  public List<Article> feedBefore(long userId, ArticleCursor cursor, int limit) {
+    final var pushed =
+        timelineEntryRepository.findArticlesBefore(
+            userId,
+            cursor.getCreatedAt(),
+            cursor.getId(),
+            OffsetBasedPageRequest.of(0, limit, Sort.unsorted()));
+    final var pulledAuthorIds = pulledAuthorIds(userId);
+    if (pulledAuthorIds.isEmpty()) {
+      return pushed;
+    }
+    final var pulled =
+        timelineEntryRepository.findPulledArticlesBefore(
+            pulledAuthorIds,
+            userId,
+            cursor.getCreatedAt(),
+            cursor.getId(),
+            OffsetBasedPageRequest.of(0, limit, ArticleCursor.ORDER));
+    return merge(pushed, pulled, 0, limit);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @Transactional(readOnly = true)
+  public int count(long userId) {
+    final var pulledAuthorIds = pulledAuthorIds(userId);
+    final var pushed = timelineEntryRepository.countByIdUserId(userId);
+    if (pulledAuthorIds.isEmpty()) {
+      return pushed;
+    }
+    return pushed + timelineEntryRepository.countPulledArticles(pulledAuthorIds, userId);
+  }
+
+  /** Returns followees of given user whose articles are not pushed to timelines. */
+  private List<Long> pulledAuthorIds(long userId) {
+    return followRelationRepository.findFolloweeIdsWithFollowersCountAbove(
+        userId, maxFanOutFollowers);
+  }
+
+  /** Merges two newest-first lists. Pulled articles never occur in the timeline. */
+  private static List<Article> merge(
+      List<Article> pushed, List<Article> pulled, int offset, int limit) {
+    return Stream.concat(pushed.stream(), pulled.stream())
+        .sorted(NEWEST_FIRST)
+        .skip(offset)
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  /** Published when an author's follower count dropped back to the fan-out threshold. */
+  public static class FanOutResumedEvent {
+    private final long authorId;
+
+    public FanOutResumedEvent(long authorId) {
+      this.authorId = authorId;
+    }
+
+    public long getAuthorId() {
+      return authorId;
+    }
+  }
+}
@@ -5,13 +5,17 @@ import static io.realworld.backend.application.dto.Mappers.toUserResponse;
 import io.realworld.backend.application.dto.Mappers;
 import io.realworld.backend.application.exception.EmailAlreadyUsedException;
 import io.realworld.backend.application.exception.InvalidPasswordException;
+import io.realworld.backend.application.exception.UserAlreadyExistsException;
 import io.realworld.backend.application.exception.UserNotFoundException;
 import io.realworld.backend.application.exception.UsernameAlreadyUsedException;
 import io.realworld.backend.application.util.BaseService;
 import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserCreatedEvent;
 import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.aggregate.user.UserUpdatedEvent;
 import io.realworld.backend.domain.service.AuthenticationService;
 import io.realworld.backend.domain.service.JwtService;
+import io.realworld.backend.infrastructure.persistence.ConstraintViolations;
 import io.realworld.backend.rest.api.LoginUserRequestData;
 import io.realworld.backend.rest.api.NewUserRequestData;
 import io.realworld.backend.rest.api.UpdateUserRequestData;
@@ -20,8 +24,12 @@ import io.realworld.backend.rest.api.UserResponseData;
 import io.realworld.backend.rest.api.UsersApiDelegate;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.request.NativeWebRequest;
 
@@ -31,16 +39,23 @@ public class UserService extends BaseService implements UserApiDelegate, UsersAp
   private final UserRepository userRepository;
   private final JwtService jwtService;
   private final AuthenticationService authenticationService;
+  private final PasswordHashing passwordHashing;
+  private final ApplicationEventPublisher eventPublisher;
 
   /** Creates ApiFacade instance. */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
   @Autowired
   public UserService(
       UserRepository userRepository,
       JwtService jwtService,
-      AuthenticationService authenticationService) {
+      AuthenticationService authenticationService,
+      PasswordHashing passwordHashing,
+      ApplicationEventPublisher eventPublisher) {
     this.userRepository = userRepository;
     this.jwtService = jwtService;
     this.authenticationService = authenticationService;
+    this.passwordHashing = passwordHashing;
+    this.eventPublisher = eventPublisher;
   }
 
   /** {@inheritDoc} */
@@ -49,30 +64,50 @@ public class UserService extends BaseService implements UserApiDelegate, UsersAp
     return Optional.empty();
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Runs without a transaction of its own, so no connection is held while the password waits
+   * to be hashed. The user is saved in a transaction of the repository, and a username or email
+   * already used is reported by the unique index it violates rather than looked up beforehand, so
+   * concurrent registrations cannot both succeed.
+   */
   @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public ResponseEntity<UserResponseData> createUser(NewUserRequestData req) {
     final var newUserData = req.getUser();
     String username = newUserData.getUsername();
     String email = newUserData.getEmail();
-    userRepository
-        .findByUsername(username)
-        .ifPresent(
-            u -> {
-              throw new UsernameAlreadyUsedException("Username already used - " + username);
-            });
-    userRepository
-        .findByEmail(email)
-        .ifPresent(
-            u -> {
-              throw new EmailAlreadyUsedException("Email already used - " + email);
-            });
-    final var newUser =
-        new User(email, username, authenticationService.encodePassword(newUserData.getPassword()));
-    final var user = userRepository.save(newUser);
+    final var user =
+        insertUser(email, username, passwordHashing.encodePassword(newUserData.getPassword()));
+    eventPublisher.publishEvent(new UserCreatedEvent(user));
     return ok(toUserResponse(user, jwtService.generateToken(user)));
   }
 
+  /**
+   * Saves a new user, reporting a username or email already used by the unique index it violates.
+   * An insert racing an uncommitted one with the same username or email names no index, so it is
+   * tried again once the other transaction has ended, and reported as a used username or email if
+   * that transaction outlasts the attempts.
+   */
+  private User insertUser(String email, String username, String passwordHash) {
+    try {
+      return ConstraintViolations.retryConcurrentUpdates(
+          () -> userRepository.save(new User(email, username, passwordHash)));
+    } catch (DataAccessException e) {
+      if (ConstraintViolations.violates(e, User.USERNAME_INDEX)) {
+        throw new UsernameAlreadyUsedException("Username already used - " + username);
+      }
+      if (ConstraintViolations.violates(e, User.EMAIL_INDEX)) {
+        throw new EmailAlreadyUsedException("Email already used - " + email);
+      }
+      if (e instanceof DuplicateKeyException) {
+        throw new UserAlreadyExistsException("Username or email already used - " + username);
+      }
+      throw e;
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public ResponseEntity<UserResponseData> getCurrentUser() {
@@ -109,17 +144,38 @@ public class UserService extends BaseService implements UserApiDelegate, UsersAp
                 throw new UsernameAlreadyUsedException("Username already used - " + username);
               });
     }
+    final var previousUsername = user.getUsername();
+    final var previousEmail = user.getEmail();
     Mappers.updateUser(user, update);
+    if (!user.getEmail().equals(previousEmail)) {
+      userRepository.evictEmail(previousEmail);
+    }
+    final var renamed = !user.getUsername().equals(previousUsername);
+    if (renamed) {
+      userRepository.evictUsername(previousUsername);
+    }
+    eventPublisher.publishEvent(new UserUpdatedEvent(user, previousUsername));
 
-    return ok(toUserResponse(user, authenticationService.getCurrentToken().orElse("")));
+    // Tokens carry the username, so a renamed user gets one with the new username.
+    final var token =
+        renamed
+            ? jwtService.generateToken(user)
+            : authenticationService.getCurrentToken().orElse("");
+    return ok(toUserResponse(user, token));
   }
 
-  /** {@inheritDoc} */
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Runs without a transaction, so no connection is held while the password waits to be
+   * checked.
+   */
   @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
   public ResponseEntity<UserResponseData> login(LoginUserRequestData body) {
     final var loginUserData = body.getUser();
     final var email = loginUserData.getEmail();
-    return authenticationService
+    return passwordHashing
         .authenticate(loginUserData.getEmail(), loginUserData.getPassword())
         .map(u -> ok(toUserResponse(u, jwtService.generateToken(u))))
         .orElseThrow(() -> new InvalidPasswordException("Can not authenticate - " + email));
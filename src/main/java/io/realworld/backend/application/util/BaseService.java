@@ -2,6 +2,7 @@ package io.realworld.backend.application.util;
 
 import io.realworld.backend.application.exception.UserNotFoundException;
 import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.service.AuthenticatedUser;
 import io.realworld.backend.domain.service.AuthenticationService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -25,4 +26,16 @@ public abstract class BaseService {
         .getCurrentUser()
         .orElseThrow(() -> new UserNotFoundException("Can not authenticate"));
   }
+
+  /**
+   * Returns id and username of current user, without loading it, or throws an exception.
+   *
+   * @return current authenticated user
+   * @throws UserNotFoundException if the current is anonymous
+   */
+  public AuthenticatedUser authenticatedUserOrThrow() {
+    return getAuthenticationService()
+        .getAuthenticatedUser()
+        .orElseThrow(() -> new UserNotFoundException("Can not authenticate"));
+  }
 }
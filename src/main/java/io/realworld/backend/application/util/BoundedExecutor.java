@@ -0,0 +1,132 @@
+package io.realworld.backend.application.util;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import io.realworld.backend.application.exception.ServiceUnavailableException;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Runs CPU-bound tasks on a fixed number of threads, so that however many requests ask for them
+ * they take at most that many cores from everything else. Tasks wait in a bounded queue, and once
+ * it is full further tasks are rejected at once with {@link ServiceUnavailableException} instead of
+ * piling up request threads behind it.
+ *
+ * <p>Callers of {@link #call} wait for the result on their own thread, so the executor bounds the
+ * cores taken by the tasks and the number of callers waiting for them, not the callers themselves.
+ * The owner of an executor shuts it down with {@link #shutdown} when it is destroyed.
+ *
+ * <p>Queue depth, active threads and the time tasks wait and run are published as the {@code
+ * executor.*} metrics of Micrometer tagged with the name of the executor, and rejected tasks are
+ * counted by the {@code executor.rejected} counter.
+ */
+public final class BoundedExecutor {
+  private final String name;
+  private final Duration retryAfter;
+  private final ExecutorService executor;
+  private final Counter rejected;
+
+  /**
+   * Creates BoundedExecutor instance.
+   *
+   * @param name name of the executor, the {@code name} tag of its metrics
+   * @param threads number of threads running tasks
+   * @param queueCapacity most tasks waiting for a thread
+   * @param retryAfter how long rejected callers are asked to wait before retrying
+   */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  public BoundedExecutor(
+      String name,
+      int threads,
+      int queueCapacity,
+      Duration retryAfter,
+      MeterRegistry meterRegistry) {
+    this.name = name;
+    this.retryAfter = retryAfter;
+    final var pool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new ThreadFactoryBuilder().setNameFormat(name + "-%d").setDaemon(true).build());
+    this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, name);
+    this.rejected =
+        Counter.builder("executor.rejected")
+            .description("Tasks rejected because the queue of the executor was full")
+            .tag("name", name)
+            .register(meterRegistry);
+  }
+
+  /**
+   * Queues the task without waiting for it, unless the queue is full.
+   *
+   * @return false if the task was rejected
+   */
+  public boolean offer(Runnable task) {
+    try {
+      executor.execute(task);
+      return true;
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      return false;
+    }
+  }
+
+  /**
+   * Runs the task on the executor and waits for its result.
+   *
+   * @throws ServiceUnavailableException if the queue is full
+   */
+  public <T> T call(Supplier<T> task) {
+    final Future<T> result;
+    try {
+      result = executor.submit(task::get);
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      throw new ServiceUnavailableException("Too many requests for " + name, retryAfter);
+    }
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      result.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted waiting for " + name, e);
+    } catch (ExecutionException e) {
+      final var cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new IllegalStateException(cause);
+    }
+  }
+
+  /**
+   * Rejects further tasks and waits up to the timeout for queued and running ones to finish, then
+   * interrupts those still running.
+   */
+  public void shutdown(Duration timeout) {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      executor.shutdownNow();
+      Thread.currentThread().interrupt();
+    }
+  }
+}
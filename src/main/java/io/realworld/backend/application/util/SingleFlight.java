@@ -0,0 +1,82 @@
+package io.realworld.backend.application.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Shares one in-flight load between concurrent callers asking for the same key. The first caller
+ * runs the load, callers arriving while it runs wait for its result or exception instead of running
+ * their own, and the key is released as soon as the load completes, so nothing is cached.
+ *
+ * <p>Waiting callers get the very objects the first caller loaded, on their own threads, so the
+ * loaded values must be immutable and must not be entities, which belong to the persistence context
+ * of the first caller and may still load lazy associations from it. A waiting caller may miss a
+ * change committed after the load started, as if its request had arrived a moment earlier.
+ * Coalesced loads are counted by the {@code singleFlight.coalesced} counter tagged with the name of
+ * the load.
+ *
+ * @param <K> type of keys
+ * @param <V> type of loaded values
+ */
+public final class SingleFlight<K, V> {
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final Counter coalesced;
+
+  /**
+   * Creates SingleFlight instance.
+   *
+   * @param name name of the load, the {@code load} tag of its counter
+   */
+  public SingleFlight(String name, MeterRegistry meterRegistry) {
+    this.coalesced =
+        Counter.builder("singleFlight.coalesced")
+            .description("Loads answered by a concurrent load of the same key")
+            .tag("load", name)
+            .register(meterRegistry);
+  }
+
+  /** Returns the value of a load of the key in flight, or runs the loader if there is none. */
+  public V load(K key, Supplier<V> loader) {
+    final var flight = new CompletableFuture<V>();
+    final var running = inFlight.putIfAbsent(key, flight);
+    if (running != null) {
+      coalesced.increment();
+      return join(running);
+    }
+    try {
+      final var value = loader.get();
+      flight.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  /** Returns the number of loads in flight. */
+  public int inFlight() {
+    return inFlight.size();
+  }
+
+  private static <V> V join(CompletableFuture<V> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      final var cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw e;
+    }
+  }
+}
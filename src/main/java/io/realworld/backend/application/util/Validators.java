@@ -0,0 +1,93 @@
+package io.realworld.backend.application.util;
+
+import java.time.Instant;
+import javax.servlet.http.HttpServletRequest;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.ResponseEntity.HeadersBuilder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Entity tag and optional last modification time of a response. A conditional GET whose {@code
+ * If-None-Match} or {@code If-Modified-Since} still matches is answered with 304 Not Modified
+ * before the response body is built.
+ *
+ * <p>Responses showing viewer-specific flags vary by the {@code Authorization} header, and their
+ * entity tags include the flags.
+ */
+public final class Validators {
+  private final String etag;
+  private final @Nullable Instant lastModified;
+
+  private Validators(String etag, @Nullable Instant lastModified) {
+    this.etag = etag;
+    this.lastModified = lastModified;
+  }
+
+  /** Creates validators of a response whose bytes only change when the tag does. */
+  public static Validators strong(String tag, @Nullable Instant lastModified) {
+    return new Validators("\"" + tag + "\"", lastModified);
+  }
+
+  /** Creates validators of a response whose content only changes when the tag does. */
+  public static Validators weak(String tag) {
+    return new Validators("W/\"" + tag + "\"", null);
+  }
+
+  /** Returns whether the current request is a GET with a validator of a cached response. */
+  public static boolean isConditionalRequest() {
+    final var request = currentRequest();
+    return request != null
+        && (HttpMethod.GET.matches(request.getMethod())
+            || HttpMethod.HEAD.matches(request.getMethod()))
+        && (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+            || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null);
+  }
+
+  /** Returns whether the client of the current request already has the response. */
+  public boolean matchCurrentRequest() {
+    final var request = currentRequest();
+    if (request == null) {
+      return false;
+    }
+    final var at = lastModified;
+    return new ServletWebRequest(request)
+        .checkNotModified(etag, at == null ? -1 : at.toEpochMilli());
+  }
+
+  /** Returns 304 Not Modified with the validators. */
+  public <T> ResponseEntity<T> notModified() {
+    return withHeaders(ResponseEntity.status(HttpStatus.NOT_MODIFIED)).build();
+  }
+
+  /** Returns 200 OK with the body and the validators. */
+  public <T> ResponseEntity<T> ok(T body) {
+    return withHeaders(ResponseEntity.ok()).body(body);
+  }
+
+  public String getEtag() {
+    return etag;
+  }
+
+  private <B extends HeadersBuilder<B>> B withHeaders(B builder) {
+    builder.eTag(etag).varyBy(HttpHeaders.AUTHORIZATION);
+    final var at = lastModified;
+    if (at != null) {
+      builder.lastModified(at);
+    }
+    return builder;
+  }
+
+  private static @Nullable HttpServletRequest currentRequest() {
+    final var attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes instanceof ServletRequestAttributes) {
+      return ((ServletRequestAttributes) attributes).getRequest();
+    }
+    return null;
+  }
+}
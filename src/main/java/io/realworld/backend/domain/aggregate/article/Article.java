@@ -4,24 +4,49 @@ import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableSet;
 import io.realworld.backend.domain.aggregate.user.User;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
-import javax.persistence.ElementCollection;
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
+import javax.persistence.JoinTable;
+import javax.persistence.ManyToMany;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.PreUpdate;
+import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 import org.checkerframework.framework.qual.TypeUseLocation;
+import org.hibernate.annotations.BatchSize;
 
 @Entity
+@EntityListeners(ArticleSlugListener.class)
+@NamedEntityGraph(name = Article.WITH_AUTHOR, attributeNodes = @NamedAttributeNode("author"))
+@Table(indexes = @Index(name = "article_created_at_id_idx", columnList = "createdAt DESC, id DESC"))
 @DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
 public class Article {
+  /** Entity graph loading the author together with the article in list queries. */
+  public static final @NonNull String WITH_AUTHOR = "Article.withAuthor";
+
+  /**
+   * Tags of a page of articles are loaded in batches instead of one statement per article. Pages up
+   * to this size load the tags of all their articles with a single statement.
+   */
+  public static final int TAGS_BATCH_SIZE = 100;
+
   @Id
   @GeneratedValue(strategy = GenerationType.AUTO)
   private long id = 0;
@@ -31,13 +56,33 @@ public class Article {
   private @NotNull String description = "";
   private @NotNull String body = "";
 
-  @ElementCollection(fetch = FetchType.EAGER)
-  private @NotNull Set<String> tags = ImmutableSet.of();
+  @ManyToMany(fetch = FetchType.EAGER)
+  @BatchSize(size = TAGS_BATCH_SIZE)
+  @JoinTable(
+      name = "article_tag",
+      joinColumns = @JoinColumn(name = "article_id"),
+      inverseJoinColumns = @JoinColumn(name = "tag_id"),
+      indexes = @Index(name = "article_tag_tag_id_idx", columnList = "tag_id, article_id"))
+  private @NotNull Set<Tag> tags = new HashSet<>();
 
   @ManyToOne private @NotNull User author = new User("", "", "");
   private @NotNull Instant createdAt = Instant.now();
   private @NotNull Instant updatedAt = Instant.now();
 
+  /**
+   * Number of users who favourited the article. Maintained by atomic updates of {@link
+   * ArticleRepository}, so saving an article never overwrites it.
+   */
+  @Column(updatable = false)
+  private int favoritesCount = 0;
+
+  /**
+   * Time of the last change to the article or to its favoritesCount, which also moves on the atomic
+   * updates of {@link ArticleRepository}. Validates cached responses, unlike {@code updatedAt}
+   * which only follows edits.
+   */
+  private @NotNull Instant modifiedAt = Instant.now();
+
   public long getId() {
     return id;
   }
@@ -79,12 +124,23 @@ public class Article {
     this.body = body;
   }
 
-  public Set<String> getTags() {
-    return tags;
+  public Set<Tag> getTags() {
+    return Collections.unmodifiableSet(tags);
   }
 
-  public void setTags(Set<String> tags) {
-    this.tags = ImmutableSet.copyOf(tags);
+  /** Returns names of the tags in alphabetical order. */
+  public ImmutableSet<String> getTagNames() {
+    return tags.stream().map(Tag::getName).sorted().collect(ImmutableSet.toImmutableSet());
+  }
+
+  /**
+   * Replaces the tags in place, so only the join rows of added and removed tags are written instead
+   * of the whole collection.
+   */
+  public void setTags(Collection<Tag> tags) {
+    final var newTags = ImmutableSet.copyOf(tags);
+    this.tags.retainAll(newTags);
+    this.tags.addAll(newTags);
   }
 
   public User getAuthor() {
@@ -95,6 +151,14 @@ public class Article {
     this.author = author;
   }
 
+  public int getFavoritesCount() {
+    return favoritesCount;
+  }
+
+  public void setFavoritesCount(int favoritesCount) {
+    this.favoritesCount = favoritesCount;
+  }
+
   public Instant getCreatedAt() {
     return createdAt;
   }
@@ -111,9 +175,18 @@ public class Article {
     this.updatedAt = updatedAt;
   }
 
+  public Instant getModifiedAt() {
+    return modifiedAt;
+  }
+
+  public void setModifiedAt(Instant modifiedAt) {
+    this.modifiedAt = modifiedAt;
+  }
+
   @PreUpdate
   public void onUpdate() {
     updatedAt = Instant.now();
+    modifiedAt = updatedAt;
   }
 
   /** {@inheritDoc} */
@@ -124,10 +197,12 @@ public class Article {
         .add("slug", slug)
         .add("title", title)
         .add("description", description)
-        .add("tags", tags)
+        .add("tags", getTagNames())
         .add("author", author)
         .add("createdAt", createdAt)
         .add("updatedAt", updatedAt)
+        .add("favoritesCount", favoritesCount)
+        .add("modifiedAt", modifiedAt)
         .toString();
   }
 }
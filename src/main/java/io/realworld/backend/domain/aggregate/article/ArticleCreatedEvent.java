@@ -0,0 +1,54 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+import java.time.Instant;
+
+/** Published when an article was created. Listeners may run after the article was committed. */
+public class ArticleCreatedEvent {
+  private final long articleId;
+  private final long authorId;
+  private final ImmutableSet<String> tags;
+  private final Instant createdAt;
+  private final ArticleText text;
+
+  /** Creates ArticleCreatedEvent instance. */
+  public ArticleCreatedEvent(Article article) {
+    this.articleId = article.getId();
+    this.authorId = article.getAuthor().getId();
+    this.tags = article.getTagNames();
+    this.createdAt = article.getCreatedAt();
+    this.text = ArticleText.of(article);
+  }
+
+  public long getArticleId() {
+    return articleId;
+  }
+
+  public long getAuthorId() {
+    return authorId;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public ImmutableSet<String> getTags() {
+    return tags;
+  }
+
+  public ArticleText getText() {
+    return text;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("articleId", articleId)
+        .add("authorId", authorId)
+        .add("tags", tags)
+        .add("createdAt", createdAt)
+        .toString();
+  }
+}
@@ -0,0 +1,102 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import com.google.common.base.MoreObjects;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+
+/**
+ * Position of an article in the listing order. Pages are sorted by {@code createdAt} and then by
+ * {@code id}, so a cursor pointing to the last article of a page is enough to seek to the next one.
+ */
+public class ArticleCursor {
+  /** Listing order which cursors are based on. */
+  public static final Sort ORDER = Sort.by(Direction.DESC, "createdAt", "id");
+
+  private static final String SEPARATOR = ":";
+
+  private final Instant createdAt;
+  private final long id;
+
+  public ArticleCursor(Instant createdAt, long id) {
+    this.createdAt = createdAt;
+    this.id = id;
+  }
+
+  public static ArticleCursor of(Article article) {
+    return new ArticleCursor(article.getCreatedAt(), article.getId());
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  /** Returns an opaque url-safe representation of the cursor. */
+  public String encode() {
+    final var raw =
+        createdAt.getEpochSecond()
+            + SEPARATOR
+            + createdAt.getNano()
+            + SEPARATOR
+            + Long.toString(id);
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Restores a cursor from its opaque representation.
+   *
+   * @param encoded value returned by {@link #encode()}
+   * @return decoded cursor or empty if the value is malformed
+   */
+  public static Optional<ArticleCursor> decode(String encoded) {
+    try {
+      final var raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+      final var parts = raw.split(SEPARATOR, -1);
+      if (parts.length != 3) {
+        return Optional.empty();
+      }
+      final var createdAt =
+          Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1]));
+      return Optional.of(new ArticleCursor(createdAt, Long.parseLong(parts[2])));
+    } catch (IllegalArgumentException | DateTimeException e) {
+      return Optional.empty();
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ArticleCursor that = (ArticleCursor) o;
+    return id == that.id && createdAt.equals(that.createdAt);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int hashCode() {
+    return Objects.hash(createdAt, id);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("createdAt", createdAt).add("id", id).toString();
+  }
+}
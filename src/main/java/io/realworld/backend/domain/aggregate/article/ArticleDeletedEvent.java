@@ -0,0 +1,40 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+
+/** Published when an article was deleted. */
+public class ArticleDeletedEvent {
+  private final long articleId;
+  private final long authorId;
+  private final ImmutableSet<String> tags;
+
+  /** Creates ArticleDeletedEvent instance. */
+  public ArticleDeletedEvent(Article article) {
+    this.articleId = article.getId();
+    this.authorId = article.getAuthor().getId();
+    this.tags = article.getTagNames();
+  }
+
+  public long getArticleId() {
+    return articleId;
+  }
+
+  public long getAuthorId() {
+    return authorId;
+  }
+
+  public ImmutableSet<String> getTags() {
+    return tags;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("articleId", articleId)
+        .add("authorId", authorId)
+        .add("tags", tags)
+        .toString();
+  }
+}
@@ -0,0 +1,69 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import com.google.common.base.MoreObjects;
+import java.util.Objects;
+import java.util.Optional;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/** Filters of the article listing. Every filter is optional; absent filters match any article. */
+public class ArticleFilter {
+  private final @Nullable String tag;
+  private final @Nullable String author;
+  private final @Nullable String favorited;
+
+  /**
+   * Creates ArticleFilter instance.
+   *
+   * @param tag tag the articles are marked with
+   * @param author username of the articles author
+   * @param favorited username of a user who favourited the articles
+   */
+  public ArticleFilter(@Nullable String tag, @Nullable String author, @Nullable String favorited) {
+    this.tag = tag;
+    this.author = author;
+    this.favorited = favorited;
+  }
+
+  public Optional<String> getTag() {
+    return Optional.ofNullable(tag);
+  }
+
+  public Optional<String> getAuthor() {
+    return Optional.ofNullable(author);
+  }
+
+  public Optional<String> getFavorited() {
+    return Optional.ofNullable(favorited);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ArticleFilter that = (ArticleFilter) o;
+    return Objects.equals(tag, that.tag)
+        && Objects.equals(author, that.author)
+        && Objects.equals(favorited, that.favorited);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int hashCode() {
+    return Objects.hash(tag, author, favorited);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("tag", tag)
+        .add("author", author)
+        .add("favorited", favorited)
+        .toString();
+  }
+}
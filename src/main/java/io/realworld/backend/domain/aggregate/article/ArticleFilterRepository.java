@@ -0,0 +1,36 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import java.util.Collection;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.domain.Pageable;
+
+/** Article listing queries planned by {@link ArticleQueryPlanner}. */
+public interface ArticleFilterRepository {
+  /** Returns a page of articles matching the filter. */
+  List<Article> findByFilter(ArticleFilter filter, Pageable pageable);
+
+  /** Returns a page of articles matching the filter that follow the cursor. */
+  List<Article> findByFilterBefore(ArticleFilter filter, ArticleCursor cursor, Pageable pageable);
+
+  /** Counts all articles matching the filter. */
+  int countByFilter(ArticleFilter filter);
+
+  /**
+   * Returns a page of articles carrying all or any of given tags and favourited by the user of the
+   * filter, newest first. The tag of the filter is ignored.
+   *
+   * @param cursor cursor to start after, null to start with the newest article
+   */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  List<Article> findFavouritedByTags(
+      Collection<String> tags,
+      boolean matchAll,
+      ArticleFilter filter,
+      @Nullable ArticleCursor cursor,
+      int offset,
+      int limit);
+
+  /** Counts articles carrying all or any of given tags and favourited by the user of the filter. */
+  int countFavouritedByTags(Collection<String> tags, boolean matchAll, ArticleFilter filter);
+}
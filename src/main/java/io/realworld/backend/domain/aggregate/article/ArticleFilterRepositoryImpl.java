@@ -0,0 +1,132 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import static org.checkerframework.checker.nullness.util.NullnessUtil.castNonNull;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.TypedQuery;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+public class ArticleFilterRepositoryImpl implements ArticleFilterRepository {
+  private final ArticleQueryPlanner planner = new ArticleQueryPlanner();
+
+  @PersistenceContext private @MonotonicNonNull EntityManager entityManager;
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Article> findByFilter(ArticleFilter filter, Pageable pageable) {
+    return select(filter, null, pageable);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public List<Article> findByFilterBefore(
+      ArticleFilter filter, ArticleCursor cursor, Pageable pageable) {
+    return select(filter, cursor, pageable);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int countByFilter(ArticleFilter filter) {
+    final var plan = planner.plan(filter, false);
+    final var query = getEntityManager().createQuery(plan.getCountQuery(), Long.class);
+    bind(query, filter, null);
+    return query.getSingleResult().intValue();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  public List<Article> findFavouritedByTags(
+      Collection<String> tags,
+      boolean matchAll,
+      ArticleFilter filter,
+      @Nullable ArticleCursor cursor,
+      int offset,
+      int limit) {
+    final var plan =
+        planner.planFavouritedWithTags(matchAll, filter.getAuthor().isPresent(), cursor != null);
+    final TypedQuery<Article> query =
+        getEntityManager()
+            .createQuery(
+                QueryUtils.applySorting(plan.getSelectQuery(), ArticleCursor.ORDER, "a"),
+                castNonNull(Article.class));
+    bindFavouritedByTags(query, tags, matchAll, filter, cursor);
+    query.setFirstResult(offset);
+    query.setMaxResults(limit);
+    return query.getResultList();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int countFavouritedByTags(
+      Collection<String> tags, boolean matchAll, ArticleFilter filter) {
+    final var plan =
+        planner.planFavouritedWithTags(matchAll, filter.getAuthor().isPresent(), false);
+    final var query = getEntityManager().createQuery(plan.getCountQuery(), Long.class);
+    bindFavouritedByTags(query, tags, matchAll, filter, null);
+    return query.getSingleResult().intValue();
+  }
+
+  private List<Article> select(
+      ArticleFilter filter, @Nullable ArticleCursor cursor, Pageable pageable) {
+    final var plan = planner.plan(filter, cursor != null);
+    final TypedQuery<Article> query =
+        getEntityManager()
+            .createQuery(
+                QueryUtils.applySorting(plan.getSelectQuery(), pageable.getSort(), "a"),
+                castNonNull(Article.class));
+    bind(query, filter, cursor);
+    query.setFirstResult((int) pageable.getOffset());
+    query.setMaxResults(pageable.getPageSize());
+    return query.getResultList();
+  }
+
+  private static void bind(Query query, ArticleFilter filter, @Nullable ArticleCursor cursor) {
+    filter.getTag().ifPresent(tag -> query.setParameter(ArticleQueryPlanner.TAG, tag));
+    filter.getAuthor().ifPresent(author -> query.setParameter(ArticleQueryPlanner.AUTHOR, author));
+    filter
+        .getFavorited()
+        .ifPresent(favorited -> query.setParameter(ArticleQueryPlanner.FAVORITED, favorited));
+    if (cursor != null) {
+      query.setParameter(ArticleQueryPlanner.CREATED_AT, cursor.getCreatedAt());
+      query.setParameter(ArticleQueryPlanner.ID, cursor.getId());
+    }
+  }
+
+  private static void bindFavouritedByTags(
+      Query query,
+      Collection<String> tags,
+      boolean matchAll,
+      ArticleFilter filter,
+      @Nullable ArticleCursor cursor) {
+    final var distinct = Set.copyOf(tags);
+    query.setParameter(ArticleQueryPlanner.TAGS, distinct);
+    if (matchAll) {
+      query.setParameter(ArticleQueryPlanner.TAG_COUNT, (long) distinct.size());
+    }
+    filter.getAuthor().ifPresent(author -> query.setParameter(ArticleQueryPlanner.AUTHOR, author));
+    filter
+        .getFavorited()
+        .ifPresent(favorited -> query.setParameter(ArticleQueryPlanner.FAVORITED, favorited));
+    if (cursor != null) {
+      query.setParameter(ArticleQueryPlanner.CREATED_AT, cursor.getCreatedAt());
+      query.setParameter(ArticleQueryPlanner.ID, cursor.getId());
+    }
+  }
+
+  private EntityManager getEntityManager() {
+    final var em = entityManager;
+    if (em == null) {
+      throw new IllegalStateException("EntityManager is not injected");
+    }
+    return em;
+  }
+}
@@ -0,0 +1,12 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import java.time.Instant;
+
+/** Author, id and creation time of an article, read without loading the article itself. */
+public interface ArticleKey {
+  long getAuthorId();
+
+  long getId();
+
+  Instant getCreatedAt();
+}
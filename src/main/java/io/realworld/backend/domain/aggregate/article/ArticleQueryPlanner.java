@@ -0,0 +1,155 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Chooses a dedicated query for every combination of {@link ArticleFilter} filters. Each query
+ * joins only the tables its filters need and has no optional predicates, so the database can use
+ * indexes and no DISTINCT is required: a tag occurs once per article, an article has one author and
+ * a user favourites an article at most once.
+ */
+public class ArticleQueryPlanner {
+  public static final String TAG = "tag";
+  public static final String AUTHOR = "author";
+  public static final String FAVORITED = "favorited";
+  public static final String CREATED_AT = "createdAt";
+  public static final String ID = "id";
+  public static final String TAGS = "tags";
+  public static final String TAG_COUNT = "tagCount";
+
+  /**
+   * Keeps articles strictly after the (createdAt, id) position in {@link ArticleCursor#ORDER}. The
+   * first conjunct is redundant but lets the database use a range scan on the createdAt index.
+   */
+  public static final String BEFORE_CURSOR =
+      "a.createdAt <= :"
+          + CREATED_AT
+          + " AND (a.createdAt < :"
+          + CREATED_AT
+          + " OR a.id < :"
+          + ID
+          + ")";
+
+  private static final int HAS_TAG = 1;
+  private static final int HAS_AUTHOR = 1 << 1;
+  private static final int HAS_FAVORITED = 1 << 2;
+  private static final int HAS_CURSOR = 1 << 3;
+
+  private final Plan[] plans = new Plan[HAS_CURSOR << 1];
+
+  /** Creates ArticleQueryPlanner instance with all the plans prepared upfront. */
+  public ArticleQueryPlanner() {
+    for (int key = 0; key < plans.length; key++) {
+      plans[key] = createPlan(key);
+    }
+  }
+
+  /**
+   * Returns the plan for given filters.
+   *
+   * @param filter listing filters
+   * @param withCursor whether the query continues after an {@link ArticleCursor}
+   * @return plan which parameters are named after the constants of this class
+   */
+  public Plan plan(ArticleFilter filter, boolean withCursor) {
+    int key = 0;
+    if (filter.getTag().isPresent()) {
+      key |= HAS_TAG;
+    }
+    if (filter.getAuthor().isPresent()) {
+      key |= HAS_AUTHOR;
+    }
+    if (filter.getFavorited().isPresent()) {
+      key |= HAS_FAVORITED;
+    }
+    if (withCursor) {
+      key |= HAS_CURSOR;
+    }
+    return plans[key];
+  }
+
+  /**
+   * Returns the plan for articles carrying all or any of several tags and favourited by a user.
+   * Favourites are joined, so the database walks the favourites of the user newest article first
+   * and stops at the page, and the tags are checked by a subquery per article.
+   *
+   * @param matchAll whether articles must carry all the tags rather than any of them
+   * @param hasAuthor whether articles are restricted to an author as well
+   * @param withCursor whether the query continues after an {@link ArticleCursor}
+   * @return plan which parameters are {@link #TAGS}, {@link #FAVORITED} and, as needed, {@link
+   *     #TAG_COUNT}, {@link #AUTHOR} and the cursor ones
+   */
+  public Plan planFavouritedWithTags(boolean matchAll, boolean hasAuthor, boolean withCursor) {
+    final List<String> where = new ArrayList<>();
+    where.add("fu.username = :" + FAVORITED);
+    final var tagged = " FROM Article ta JOIN ta.tags t WHERE ta = a AND t.name IN :" + TAGS;
+    where.add(
+        matchAll
+            ? "(SELECT COUNT(t)" + tagged + ") = :" + TAG_COUNT
+            : "EXISTS (SELECT t.id" + tagged + ")");
+    if (hasAuthor) {
+      where.add("p.username = :" + AUTHOR);
+    }
+    if (withCursor) {
+      where.add(BEFORE_CURSOR);
+    }
+    final var joins =
+        " JOIN ArticleFavourite f ON f.id.articleId = a.id JOIN User fu ON fu.id = f.id.userId"
+            + " WHERE "
+            + String.join(" AND ", where);
+    return new Plan(
+        "SELECT a FROM Article a JOIN FETCH a.author p" + joins,
+        "SELECT COUNT(a) FROM Article a JOIN a.author p" + joins);
+  }
+
+  private static Plan createPlan(int key) {
+    final var joins = new StringBuilder();
+    final List<String> where = new ArrayList<>();
+    if ((key & HAS_TAG) != 0) {
+      joins.append(" JOIN a.tags t");
+      where.add("t.name = :" + TAG);
+    }
+    if ((key & HAS_AUTHOR) != 0) {
+      where.add("p.username = :" + AUTHOR);
+    }
+    if ((key & HAS_FAVORITED) != 0) {
+      joins
+          .append(" JOIN ArticleFavourite f ON f.id.articleId = a.id")
+          .append(" JOIN User fu ON fu.id = f.id.userId");
+      where.add("fu.username = :" + FAVORITED);
+    }
+    if ((key & HAS_CURSOR) != 0) {
+      where.add(BEFORE_CURSOR);
+    }
+    final var conditions = where.isEmpty() ? "" : " WHERE " + String.join(" AND ", where);
+    final var alias = (key & HAS_AUTHOR) != 0 ? " p" : "";
+    // The author is fetched with an inner join: an outer one would pin the join order to start
+    // from article, so a rare tag could not be looked up first through its index.
+    return new Plan(
+        "SELECT a FROM Article a JOIN FETCH a.author" + alias + joins + conditions,
+        "SELECT COUNT(a) FROM Article a"
+            + (alias.isEmpty() ? "" : " JOIN a.author p")
+            + joins
+            + conditions);
+  }
+
+  /** Queries selecting a page of articles and counting all of them for one filter combination. */
+  public static class Plan {
+    private final String selectQuery;
+    private final String countQuery;
+
+    Plan(String selectQuery, String countQuery) {
+      this.selectQuery = selectQuery;
+      this.countQuery = countQuery;
+    }
+
+    public String getSelectQuery() {
+      return selectQuery;
+    }
+
+    public String getCountQuery() {
+      return countQuery;
+    }
+  }
+}
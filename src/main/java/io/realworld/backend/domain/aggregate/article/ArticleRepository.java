@@ -1,45 +1,110 @@
 package io.realworld.backend.domain.aggregate.article;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
-import org.checkerframework.checker.nullness.qual.Nullable;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface ArticleRepository extends PagingAndSortingRepository<Article, Long> {
-  Optional<Article> findBySlug(String slug);
+public interface ArticleRepository
+    extends PagingAndSortingRepository<Article, Long>,
+        ArticleFilterRepository,
+        ArticleSlugRepository {
+  @EntityGraph(value = Article.WITH_AUTHOR, type = EntityGraphType.LOAD)
+  @Query("SELECT a FROM Article a WHERE a.id IN :ids")
+  List<Article> findByIdIn(Collection<Long> ids);
 
+  /** Loads articles with given ids in the order of the ids, skipping deleted ones. */
+  default List<Article> findAllInOrder(List<Long> ids) {
+    if (ids.isEmpty()) {
+      return List.of();
+    }
+    final var byId =
+        findByIdIn(ids).stream().collect(Collectors.toMap(Article::getId, Function.identity()));
+    final var articles = new ArrayList<Article>(ids.size());
+    for (final var id : ids) {
+      final var article = byId.get(id);
+      if (article != null) {
+        articles.add(article);
+      }
+    }
+    return articles;
+  }
+
+  /** Streams keys of all articles, oldest first. */
+  @Query(
+      "SELECT a.author.id AS authorId, a.id AS id, a.createdAt AS createdAt FROM Article a "
+          + "ORDER BY a.createdAt, a.id")
+  Stream<ArticleKey> streamKeys();
+
+  @Query("SELECT a.id AS articleId, t.name AS tag FROM Article a JOIN a.tags t")
+  Stream<ArticleTag> streamTags();
+
+  @Query(
+      "SELECT new io.realworld.backend.domain.aggregate.article.ArticleText("
+          + "a.id, a.title, a.description, a.body) FROM Article a")
+  Stream<ArticleText> streamTexts();
+
+  /** Reads the version of an article, which validates a cached response without loading it. */
+  @Query(
+      "SELECT new io.realworld.backend.domain.aggregate.article.ArticleVersion("
+          + "a.id, a.author.id, a.modifiedAt, a.author.updatedAt) FROM Article a "
+          + "WHERE a.slug = :slug")
+  Optional<ArticleVersion> findVersionBySlug(String slug);
+
+  @EntityGraph(value = Article.WITH_AUTHOR, type = EntityGraphType.LOAD)
   List<Article> findByAuthorIdIn(Collection<Long> authorIds, Pageable pageable);
 
+  @EntityGraph(value = Article.WITH_AUTHOR, type = EntityGraphType.LOAD)
   @Query(
-      "SELECT DISTINCT a FROM Article a "
-          + "LEFT JOIN a.tags t "
-          + "LEFT JOIN a.author p "
-          + "LEFT JOIN ArticleFavourite f ON a.id = f.id.articleId "
-          + "LEFT JOIN User fu ON fu.id = f.id.userId "
-          + "WHERE "
-          + "(:tag IS NULL OR :tag IN t) AND "
-          + "(:author IS NULL OR p.username = :author) AND "
-          + "(:favorited IS NULL OR fu.username = :favorited)")
-  List<Article> findByFilters(
-      @Nullable String tag, @Nullable String author, @Nullable String favorited, Pageable pageable);
-
-  @Query(
-      "SELECT COUNT(DISTINCT a.id) FROM Article a "
-          + "LEFT JOIN a.tags t "
-          + "LEFT JOIN a.author p "
-          + "LEFT JOIN ArticleFavourite f ON a.id = f.id.articleId "
-          + "LEFT JOIN User fu ON fu.id = f.id.userId "
-          + "WHERE "
-          + "(:tag IS NULL OR :tag IN t) AND "
-          + "(:author IS NULL OR p.username = :author) AND "
-          + "(:favorited IS NULL OR fu.username = :favorited)")
-  int countByFilter(@Nullable String tag, @Nullable String author, @Nullable String favorited);
+      "SELECT a FROM Article a WHERE a.author.id IN :authorIds AND "
+          + ArticleQueryPlanner.BEFORE_CURSOR)
+  List<Article> findByAuthorIdInBefore(
+      Collection<Long> authorIds, Instant createdAt, long id, Pageable pageable);
 
   int countByAuthorIdIn(Collection<Long> authorIds);
 
-  @Query("SELECT t from Article a LEFT JOIN a.tags t")
-  List<String> findAllTags();
+  @Modifying
+  @Query(
+      "UPDATE Article a SET a.favoritesCount = a.favoritesCount + 1, "
+          + "a.modifiedAt = CURRENT_TIMESTAMP WHERE a.id = :id")
+  int incrementFavoritesCount(long id);
+
+  @Modifying
+  @Query(
+      "UPDATE Article a SET a.favoritesCount = a.favoritesCount - 1, "
+          + "a.modifiedAt = CURRENT_TIMESTAMP WHERE a.id = :id AND a.favoritesCount > 0")
+  int decrementFavoritesCount(long id);
+
+  @Query("SELECT COALESCE(MAX(a.id), 0) FROM Article a")
+  long findMaxId();
+
+  /**
+   * Recounts favourites of articles with ids in [fromId, toId) and fixes the ones that drifted.
+   * Each call commits on its own, so a chunk holds its row locks only briefly.
+   *
+   * @return number of corrected articles
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE Article a SET a.modifiedAt = CURRENT_TIMESTAMP, a.favoritesCount = "
+          + "(SELECT COUNT(f) FROM ArticleFavourite f WHERE f.id.articleId = a.id) "
+          + "WHERE a.id >= :fromId AND a.id < :toId AND a.favoritesCount <> "
+          + "(SELECT COUNT(f) FROM ArticleFavourite f WHERE f.id.articleId = a.id)")
+  int reconcileFavoritesCount(long fromId, long toId);
+
+  @Query(
+      "SELECT t.name AS tag, COUNT(a) AS articleCount FROM Article a JOIN a.tags t GROUP BY t.name")
+  List<TagCount> countTags();
 }
@@ -0,0 +1,23 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Registers the slugs of persisted and renamed articles with {@link ArticleSlugRepository}, so its
+ * existence filter knows them before their transaction commits, whichever way they were saved.
+ */
+public class ArticleSlugListener {
+  private final ObjectProvider<ArticleRepository> articleRepository;
+
+  public ArticleSlugListener(ObjectProvider<ArticleRepository> articleRepository) {
+    this.articleRepository = articleRepository;
+  }
+
+  @PrePersist
+  @PreUpdate
+  public void registerSlug(Article article) {
+    articleRepository.ifAvailable(repository -> repository.registerSlug(article.getSlug()));
+  }
+}
@@ -0,0 +1,25 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import java.util.Optional;
+
+/**
+ * Finds articles by slug through a {@link io.realworld.backend.domain.service.NaturalIdCache}.
+ * Slugs which do not exist are answered without a query by an {@link
+ * io.realworld.backend.domain.service.ExistenceFilter}.
+ */
+public interface ArticleSlugRepository {
+  /** Finds an article by slug. */
+  Optional<Article> findBySlug(String slug);
+
+  /** Returns false if no article has the slug, without a query. */
+  boolean slugMightExist(String slug);
+
+  /** Adds the slug of a new or renamed article to the existence filter. */
+  void registerSlug(String slug);
+
+  /** Rebuilds the existence filter from the slugs of all articles. */
+  void rebuildSlugFilter();
+
+  /** Evicts a slug that an article no longer has, or of a deleted article. */
+  void evictSlug(String slug);
+}
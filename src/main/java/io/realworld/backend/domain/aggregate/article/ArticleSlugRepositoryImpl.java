@@ -0,0 +1,90 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import static org.checkerframework.checker.nullness.util.NullnessUtil.castNonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.realworld.backend.domain.service.ExistenceFilter;
+import io.realworld.backend.domain.service.NaturalIdCache;
+import java.time.Duration;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+
+public class ArticleSlugRepositoryImpl implements ArticleSlugRepository {
+  private final NaturalIdCache<Article> slugs;
+  private final ExistenceFilter slugFilter;
+
+  @PersistenceContext private @MonotonicNonNull EntityManager entityManager;
+
+  /** Creates ArticleSlugRepositoryImpl instance. */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  public ArticleSlugRepositoryImpl(
+      @Value("${naturalId.cacheSize}") long cacheSize,
+      @Value("${naturalId.cacheTtl}") Duration cacheTtl,
+      @Value("${naturalId.filter.expectedSize}") long filterSize,
+      @Value("${naturalId.filter.fpp}") double filterFpp,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.slugs =
+        new NaturalIdCache<>(
+            "articleSlug", cacheSize, cacheTtl, meterRegistry, Article::getId, Article::getSlug);
+    this.slugFilter = new ExistenceFilter("articleSlug", filterSize, filterFpp, meterRegistry);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Optional<Article> findBySlug(String slug) {
+    if (!slugFilter.mightExist(slug)) {
+      return Optional.empty();
+    }
+    return slugs.find(
+        slug,
+        id -> Optional.ofNullable(getEntityManager().find(castNonNull(Article.class), id)),
+        s ->
+            getEntityManager()
+                .createQuery(
+                    "SELECT a FROM Article a WHERE a.slug = :slug", castNonNull(Article.class))
+                .setParameter("slug", s)
+                .getResultStream()
+                .findFirst());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean slugMightExist(String slug) {
+    return slugFilter.mightExist(slug);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void registerSlug(String slug) {
+    slugFilter.add(slug);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void rebuildSlugFilter() {
+    try (var slugs =
+        getEntityManager()
+            .createQuery("SELECT a.slug FROM Article a", castNonNull(String.class))
+            .getResultStream()) {
+      slugFilter.rebuild(slugs);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void evictSlug(String slug) {
+    slugs.evict(slug);
+  }
+
+  private EntityManager getEntityManager() {
+    final var em = entityManager;
+    if (em == null) {
+      throw new IllegalStateException("EntityManager is not injected");
+    }
+    return em;
+  }
+}
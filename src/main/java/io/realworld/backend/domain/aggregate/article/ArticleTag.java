@@ -0,0 +1,8 @@
+package io.realworld.backend.domain.aggregate.article;
+
+/** Tag of an article, read without loading the article itself. */
+public interface ArticleTag {
+  long getArticleId();
+
+  String getTag();
+}
@@ -0,0 +1,46 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import com.google.common.base.MoreObjects;
+
+/** Id and searchable text of an article, read without loading the article itself. */
+public class ArticleText {
+  private final long id;
+  private final String title;
+  private final String description;
+  private final String body;
+
+  /** Creates ArticleText instance. */
+  public ArticleText(long id, String title, String description, String body) {
+    this.id = id;
+    this.title = title;
+    this.description = description;
+    this.body = body;
+  }
+
+  public static ArticleText of(Article article) {
+    return new ArticleText(
+        article.getId(), article.getTitle(), article.getDescription(), article.getBody());
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public String getDescription() {
+    return description;
+  }
+
+  public String getBody() {
+    return body;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("id", id).add("title", title).toString();
+  }
+}
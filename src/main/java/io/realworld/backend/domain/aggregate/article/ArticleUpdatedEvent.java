@@ -0,0 +1,51 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+
+/** Published when an article was updated. */
+public class ArticleUpdatedEvent {
+  private final long articleId;
+  private final ImmutableSet<String> previousTags;
+  private final ImmutableSet<String> tags;
+  private final ArticleText text;
+
+  /**
+   * Creates ArticleUpdatedEvent instance.
+   *
+   * @param article the updated article
+   * @param previousTags tags of the article before the update
+   */
+  public ArticleUpdatedEvent(Article article, ImmutableSet<String> previousTags) {
+    this.articleId = article.getId();
+    this.previousTags = previousTags;
+    this.tags = article.getTagNames();
+    this.text = ArticleText.of(article);
+  }
+
+  public long getArticleId() {
+    return articleId;
+  }
+
+  public ImmutableSet<String> getPreviousTags() {
+    return previousTags;
+  }
+
+  public ImmutableSet<String> getTags() {
+    return tags;
+  }
+
+  public ArticleText getText() {
+    return text;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("articleId", articleId)
+        .add("previousTags", previousTags)
+        .add("tags", tags)
+        .toString();
+  }
+}
@@ -0,0 +1,63 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import com.google.common.base.MoreObjects;
+import java.time.Instant;
+
+/**
+ * Id, author and modification times of an article and its author, read without loading the article
+ * itself. Anything an article response shows changes one of the two times.
+ */
+public class ArticleVersion {
+  private final long id;
+  private final long authorId;
+  private final Instant modifiedAt;
+  private final Instant authorUpdatedAt;
+
+  /** Creates ArticleVersion instance. */
+  public ArticleVersion(long id, long authorId, Instant modifiedAt, Instant authorUpdatedAt) {
+    this.id = id;
+    this.authorId = authorId;
+    this.modifiedAt = modifiedAt;
+    this.authorUpdatedAt = authorUpdatedAt;
+  }
+
+  public static ArticleVersion of(Article article) {
+    return new ArticleVersion(
+        article.getId(),
+        article.getAuthor().getId(),
+        article.getModifiedAt(),
+        article.getAuthor().getUpdatedAt());
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public long getAuthorId() {
+    return authorId;
+  }
+
+  public Instant getModifiedAt() {
+    return modifiedAt;
+  }
+
+  public Instant getAuthorUpdatedAt() {
+    return authorUpdatedAt;
+  }
+
+  /** Returns the later of the two modification times. */
+  public Instant getLastModified() {
+    return modifiedAt.isAfter(authorUpdatedAt) ? modifiedAt : authorUpdatedAt;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("id", id)
+        .add("authorId", authorId)
+        .add("modifiedAt", modifiedAt)
+        .add("authorUpdatedAt", authorUpdatedAt)
+        .toString();
+  }
+}
@@ -1,3 +1,78 @@
 package io.realworld.backend.domain.aggregate.article;
 
-public class Tag {}
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.validation.constraints.NotNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+
+/**
+ * Tag shared by all articles carrying it. Articles reference tags by id through the {@code
+ * article_tag} join table, and the names of loaded tags are interned, so every persistence context
+ * holds one canonical string per tag name.
+ */
+@Entity
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+public class Tag {
+  private static final @NonNull Interner<String> NAMES = Interners.newWeakInterner();
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.AUTO)
+  private long id = 0;
+
+  @Column(unique = true, updatable = false)
+  private @NotNull String name = "";
+
+  protected Tag() {}
+
+  /** Creates Tag instance. */
+  public Tag(String name) {
+    this.name = NAMES.intern(name);
+  }
+
+  @PostLoad
+  void onLoad() {
+    name = NAMES.intern(name);
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** Tags are equal by name, which is their natural key. */
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Tag)) {
+      return false;
+    }
+    return name.equals(((Tag) o).getName());
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int hashCode() {
+    return name.hashCode();
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("id", id).add("name", name).toString();
+  }
+}
@@ -0,0 +1,8 @@
+package io.realworld.backend.domain.aggregate.article;
+
+/** Tag and the number of articles using it. */
+public interface TagCount {
+  String getTag();
+
+  long getArticleCount();
+}
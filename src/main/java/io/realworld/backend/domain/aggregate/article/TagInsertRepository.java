@@ -0,0 +1,16 @@
+package io.realworld.backend.domain.aggregate.article;
+
+/**
+ * Inserts tags in a single statement, relying on the unique index on the name rather than a lookup
+ * to keep them unique.
+ */
+public interface TagInsertRepository {
+  /**
+   * Inserts a tag of a given name unless one exists. A tag inserted concurrently by another
+   * transaction counts as existing once that transaction commits, and the current one may still
+   * commit.
+   *
+   * @return true if the tag was inserted, false if it existed
+   */
+  boolean insertIfAbsent(String name);
+}
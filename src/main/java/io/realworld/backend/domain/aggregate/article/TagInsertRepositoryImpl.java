@@ -0,0 +1,38 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import io.realworld.backend.infrastructure.persistence.ConstraintViolations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class TagInsertRepositoryImpl implements TagInsertRepository {
+  /** Takes the id from the sequence Hibernate draws ids of tags from, one value at a time. */
+  private static final String INSERT_IF_ABSENT =
+      "INSERT INTO tag (id, name) SELECT NEXT VALUE FOR hibernate_sequence, ? FROM DUAL "
+          + "WHERE NOT EXISTS (SELECT 1 FROM tag WHERE name = ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Creates TagInsertRepositoryImpl instance. */
+  public TagInsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The statement runs through JDBC on the connection of the current transaction, so that a
+   * duplicate raised by a concurrent insert does not mark the JPA transaction rollback-only. An
+   * insert conflicting with an uncommitted one is tried again until the other transaction ends.
+   */
+  @Override
+  public boolean insertIfAbsent(String name) {
+    try {
+      final int inserted =
+          ConstraintViolations.retryConcurrentUpdates(
+              () -> jdbcTemplate.update(INSERT_IF_ABSENT, name, name));
+      return inserted > 0;
+    } catch (DuplicateKeyException e) {
+      return false;
+    }
+  }
+}
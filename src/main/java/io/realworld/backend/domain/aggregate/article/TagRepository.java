@@ -0,0 +1,11 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+public interface TagRepository extends CrudRepository<Tag, Long>, TagInsertRepository {
+  @Query("SELECT t FROM Tag t WHERE t.name IN :names")
+  List<Tag> findByNameIn(Collection<String> names);
+}
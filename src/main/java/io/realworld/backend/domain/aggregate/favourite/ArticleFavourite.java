@@ -3,12 +3,15 @@ package io.realworld.backend.domain.aggregate.favourite;
 import com.google.common.base.MoreObjects;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 import org.checkerframework.framework.qual.TypeUseLocation;
 
 @Entity
+@Table(indexes = @Index(name = "article_favourite_user_id_idx", columnList = "userId"))
 @DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
 public class ArticleFavourite {
   @EmbeddedId @NonNull private ArticleFavouriteId id = new ArticleFavouriteId(0, 0);
@@ -0,0 +1,16 @@
+package io.realworld.backend.domain.aggregate.favourite;
+
+/**
+ * Inserts favourites in a single statement, relying on the primary key rather than a lookup to
+ * keep them unique.
+ */
+public interface ArticleFavouriteInsertRepository {
+  /**
+   * Inserts the favourite unless it exists. A favourite inserted concurrently by another
+   * transaction counts as existing once that transaction commits, and the current one may still
+   * commit.
+   *
+   * @return true if the favourite was inserted, false if it existed
+   */
+  boolean insertIfAbsent(ArticleFavouriteId id);
+}
@@ -0,0 +1,40 @@
+package io.realworld.backend.domain.aggregate.favourite;
+
+import io.realworld.backend.infrastructure.persistence.ConstraintViolations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class ArticleFavouriteInsertRepositoryImpl implements ArticleFavouriteInsertRepository {
+  private static final String INSERT_IF_ABSENT =
+      "INSERT INTO article_favourite (user_id, article_id) SELECT ?, ? FROM DUAL "
+          + "WHERE NOT EXISTS "
+          + "(SELECT 1 FROM article_favourite WHERE user_id = ? AND article_id = ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Creates ArticleFavouriteInsertRepositoryImpl instance. */
+  public ArticleFavouriteInsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The statement runs through JDBC on the connection of the current transaction, so that a
+   * duplicate raised by a concurrent insert does not mark the JPA transaction rollback-only. An
+   * insert conflicting with an uncommitted one is tried again until the other transaction ends,
+   * so that the row is not reported as existing by a transaction which then rolls back.
+   */
+  @Override
+  public boolean insertIfAbsent(ArticleFavouriteId id) {
+    final var userId = id.getUserId();
+    final var articleId = id.getArticleId();
+    try {
+      return ConstraintViolations.retryConcurrentUpdates(
+              () -> jdbcTemplate.update(INSERT_IF_ABSENT, userId, articleId, userId, articleId))
+          > 0;
+    } catch (DuplicateKeyException e) {
+      return false;
+    }
+  }
+}
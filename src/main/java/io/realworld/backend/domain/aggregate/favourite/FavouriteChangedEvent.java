@@ -0,0 +1,53 @@
+package io.realworld.backend.domain.aggregate.favourite;
+
+import com.google.common.base.MoreObjects;
+
+/** Published when a user favourited or unfavourited an article. */
+public class FavouriteChangedEvent {
+  private final long userId;
+  private final long articleId;
+  private final String slug;
+  private final boolean favourited;
+
+  /**
+   * Creates FavouriteChangedEvent instance.
+   *
+   * @param userId id of the user
+   * @param articleId id of the article
+   * @param slug slug of the article
+   * @param favourited whether the user favourited rather than unfavourited the article
+   */
+  public FavouriteChangedEvent(long userId, long articleId, String slug, boolean favourited) {
+    this.userId = userId;
+    this.articleId = articleId;
+    this.slug = slug;
+    this.favourited = favourited;
+  }
+
+  public long getUserId() {
+    return userId;
+  }
+
+  public long getArticleId() {
+    return articleId;
+  }
+
+  public String getSlug() {
+    return slug;
+  }
+
+  public boolean isFavourited() {
+    return favourited;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("userId", userId)
+        .add("articleId", articleId)
+        .add("slug", slug)
+        .add("favourited", favourited)
+        .toString();
+  }
+}
@@ -0,0 +1,53 @@
+package io.realworld.backend.domain.aggregate.follow;
+
+import com.google.common.base.MoreObjects;
+import io.realworld.backend.domain.aggregate.user.User;
+
+/** Published when a user started or stopped following another one. */
+public class FollowChangedEvent {
+  private final long followerId;
+  private final long followeeId;
+  private final String followeeUsername;
+  private final boolean following;
+
+  /**
+   * Creates FollowChangedEvent instance.
+   *
+   * @param followerId id of the following user
+   * @param followee the followed user
+   * @param following whether the follower started rather than stopped following
+   */
+  public FollowChangedEvent(long followerId, User followee, boolean following) {
+    this.followerId = followerId;
+    this.followeeId = followee.getId();
+    this.followeeUsername = followee.getUsername();
+    this.following = following;
+  }
+
+  public long getFollowerId() {
+    return followerId;
+  }
+
+  public long getFolloweeId() {
+    return followeeId;
+  }
+
+  public String getFolloweeUsername() {
+    return followeeUsername;
+  }
+
+  public boolean isFollowing() {
+    return following;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("followerId", followerId)
+        .add("followeeId", followeeId)
+        .add("followeeUsername", followeeUsername)
+        .add("following", following)
+        .toString();
+  }
+}
@@ -3,12 +3,15 @@ package io.realworld.backend.domain.aggregate.follow;
 import com.google.common.base.MoreObjects;
 import javax.persistence.EmbeddedId;
 import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 import org.checkerframework.framework.qual.TypeUseLocation;
 
 @Entity
+@Table(indexes = @Index(name = "follow_relation_follower_id_idx", columnList = "followerId"))
 @DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
 public class FollowRelation {
   @EmbeddedId @NonNull private FollowRelationId id = new FollowRelationId(0, 0);
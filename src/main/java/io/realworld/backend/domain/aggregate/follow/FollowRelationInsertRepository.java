@@ -0,0 +1,16 @@
+package io.realworld.backend.domain.aggregate.follow;
+
+/**
+ * Inserts follow relations in a single statement, relying on the primary key rather than a lookup
+ * to keep them unique.
+ */
+public interface FollowRelationInsertRepository {
+  /**
+   * Inserts the follow relation unless it exists. A relation inserted concurrently by another
+   * transaction counts as existing once that transaction commits, and the current one may still
+   * commit.
+   *
+   * @return true if the relation was inserted, false if it existed
+   */
+  boolean insertIfAbsent(FollowRelationId id);
+}
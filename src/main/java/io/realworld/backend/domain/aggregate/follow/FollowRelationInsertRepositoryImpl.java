@@ -0,0 +1,43 @@
+package io.realworld.backend.domain.aggregate.follow;
+
+import io.realworld.backend.infrastructure.persistence.ConstraintViolations;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+public class FollowRelationInsertRepositoryImpl implements FollowRelationInsertRepository {
+  private static final String INSERT_IF_ABSENT =
+      "INSERT INTO follow_relation (follower_id, followee_id) SELECT ?, ? FROM DUAL "
+          + "WHERE NOT EXISTS "
+          + "(SELECT 1 FROM follow_relation WHERE follower_id = ? AND followee_id = ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Creates FollowRelationInsertRepositoryImpl instance. */
+  public FollowRelationInsertRepositoryImpl(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The statement runs through JDBC on the connection of the current transaction, so that a
+   * duplicate raised by a concurrent insert does not mark the JPA transaction rollback-only. An
+   * insert conflicting with an uncommitted one is tried again until the other transaction ends,
+   * so that the row is not reported as existing by a transaction which then rolls back.
+   */
+  @Override
+  public boolean insertIfAbsent(FollowRelationId id) {
+    final var followerId = id.getFollowerId();
+    final var followeeId = id.getFolloweeId();
+    try {
+      final int inserted =
+          ConstraintViolations.retryConcurrentUpdates(
+              () ->
+                  jdbcTemplate.update(
+                      INSERT_IF_ABSENT, followerId, followeeId, followerId, followeeId));
+      return inserted > 0;
+    } catch (DuplicateKeyException e) {
+      return false;
+    }
+  }
+}
@@ -1,8 +1,29 @@
 package io.realworld.backend.domain.aggregate.follow;
 
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 
-public interface FollowRelationRepository extends CrudRepository<FollowRelation, FollowRelationId> {
+public interface FollowRelationRepository
+    extends CrudRepository<FollowRelation, FollowRelationId>, FollowRelationInsertRepository {
   List<FollowRelation> findByIdFollowerId(long followerId);
+
+  @Query("SELECT f.id.followeeId FROM FollowRelation f WHERE f.id.followerId = :followerId")
+  List<Long> findFolloweeIds(long followerId);
+
+  List<FollowRelation> findByIdFollowerIdAndIdFolloweeIdIn(
+      long followerId, Collection<Long> followeeIds);
+
+  /** Returns ids of users followed by given user who have more than given number of followers. */
+  @Query(
+      "SELECT f.id.followeeId FROM FollowRelation f, User u WHERE u.id = f.id.followeeId "
+          + "AND f.id.followerId = :followerId AND u.followersCount > :followersCount")
+  List<Long> findFolloweeIdsWithFollowersCountAbove(long followerId, int followersCount);
+
+  /** Deletes the follow relation if it exists and returns the number of deleted rows. */
+  @Modifying
+  @Query("DELETE FROM FollowRelation f WHERE f.id = :id")
+  int deleteIfExists(FollowRelationId id);
 }
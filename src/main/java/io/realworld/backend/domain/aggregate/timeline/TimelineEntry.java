@@ -0,0 +1,76 @@
+package io.realworld.backend.domain.aggregate.timeline;
+
+import com.google.common.base.MoreObjects;
+import java.time.Instant;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.checkerframework.framework.qual.DefaultQualifier;
+import org.checkerframework.framework.qual.TypeUseLocation;
+
+/**
+ * Article pushed to the personal feed of a user who follows its author. The author id and the
+ * creation time are copied from the article, so a page of the feed is read from one range of the
+ * {@code timeline_entry_user_id_created_at_idx} index.
+ */
+@Entity
+@Table(
+    indexes = {
+      @Index(
+          name = "timeline_entry_user_id_created_at_idx",
+          columnList = "userId, createdAt DESC, articleId DESC"),
+      @Index(name = "timeline_entry_user_id_author_id_idx", columnList = "userId, authorId")
+    })
+@DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
+public class TimelineEntry {
+  @EmbeddedId @NonNull private TimelineEntryId id = new TimelineEntryId(0, 0);
+  private long authorId = 0;
+  private @NotNull Instant createdAt = Instant.now();
+
+  protected TimelineEntry() {}
+
+  /** Creates TimelineEntry instance. */
+  public TimelineEntry(long userId, long articleId, long authorId, Instant createdAt) {
+    this.id = new TimelineEntryId(userId, articleId);
+    this.authorId = authorId;
+    this.createdAt = createdAt;
+  }
+
+  public TimelineEntryId getId() {
+    return id;
+  }
+
+  public void setId(TimelineEntryId id) {
+    this.id = id;
+  }
+
+  public long getAuthorId() {
+    return authorId;
+  }
+
+  public void setAuthorId(long authorId) {
+    this.authorId = authorId;
+  }
+
+  public Instant getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(Instant createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("id", id)
+        .add("authorId", authorId)
+        .add("createdAt", createdAt)
+        .toString();
+  }
+}
@@ -0,0 +1,64 @@
+package io.realworld.backend.domain.aggregate.timeline;
+
+import com.google.common.base.MoreObjects;
+import java.io.Serializable;
+import java.util.Objects;
+import javax.persistence.Embeddable;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+@Embeddable
+public class TimelineEntryId implements Serializable {
+  private long userId = 0;
+  private long articleId = 0;
+
+  protected TimelineEntryId() {}
+
+  public TimelineEntryId(long userId, long articleId) {
+    this.userId = userId;
+    this.articleId = articleId;
+  }
+
+  public long getArticleId() {
+    return articleId;
+  }
+
+  public void setArticleId(long articleId) {
+    this.articleId = articleId;
+  }
+
+  public long getUserId() {
+    return userId;
+  }
+
+  public void setUserId(long userId) {
+    this.userId = userId;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    TimelineEntryId that = (TimelineEntryId) o;
+    return articleId == that.articleId && userId == that.userId;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int hashCode() {
+    return Objects.hash(articleId, userId);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("articleId", articleId)
+        .add("userId", userId)
+        .toString();
+  }
+}
@@ -0,0 +1,110 @@
+package io.realworld.backend.domain.aggregate.timeline;
+
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleQueryPlanner;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+
+public interface TimelineEntryRepository extends CrudRepository<TimelineEntry, TimelineEntryId> {
+  /** Articles of a timeline, newest first. Pages must be unsorted, the order is fixed. */
+  String TIMELINE =
+      "SELECT a FROM TimelineEntry e JOIN Article a ON a.id = e.id.articleId "
+          + "JOIN FETCH a.author WHERE e.id.userId = :userId ";
+
+  String TIMELINE_ORDER = " ORDER BY e.createdAt DESC, e.id.articleId DESC";
+
+  /** Articles of given authors which are not in the timeline. */
+  String PULLED =
+      "FROM Article a WHERE a.author.id IN :authorIds AND NOT EXISTS "
+          + "(SELECT e FROM TimelineEntry e WHERE e.id.userId = :userId AND e.id.articleId = a.id)";
+
+  /**
+   * Pushes an article to the timelines of all followers of its author in one statement. Followers
+   * who already got the article through a backfill are skipped.
+   *
+   * @return number of timelines the article was pushed to
+   */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO timeline_entry (user_id, article_id, author_id, created_at) "
+              + "SELECT f.follower_id, :articleId, :authorId, :createdAt FROM follow_relation f "
+              + "WHERE f.followee_id = :authorId AND NOT EXISTS (SELECT 1 FROM timeline_entry e "
+              + "WHERE e.user_id = f.follower_id AND e.article_id = :articleId)")
+  int fanOut(long articleId, long authorId, Instant createdAt);
+
+  /**
+   * Pushes the newest articles of an author to the timeline of a new follower.
+   *
+   * @return number of pushed articles
+   */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO timeline_entry (user_id, article_id, author_id, created_at) "
+              + "SELECT :userId, a.id, a.author_id, a.created_at FROM article a "
+              + "WHERE a.author_id = :authorId AND NOT EXISTS (SELECT 1 FROM timeline_entry e "
+              + "WHERE e.user_id = :userId AND e.article_id = a.id) "
+              + "ORDER BY a.created_at DESC, a.id DESC LIMIT :limit")
+  int backfill(long userId, long authorId, int limit);
+
+  /**
+   * Pushes the newest articles of an author to the timelines of all its followers.
+   *
+   * @return number of pushed entries
+   */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO timeline_entry (user_id, article_id, author_id, created_at) "
+              + "SELECT f.follower_id, a.id, a.author_id, a.created_at FROM follow_relation f "
+              + "JOIN (SELECT * FROM article WHERE author_id = :authorId "
+              + "ORDER BY created_at DESC, id DESC LIMIT :limit) a ON a.author_id = f.followee_id "
+              + "WHERE f.followee_id = :authorId AND NOT EXISTS (SELECT 1 FROM timeline_entry e "
+              + "WHERE e.user_id = f.follower_id AND e.article_id = a.id)")
+  int backfillFollowers(long authorId, int limit);
+
+  /** Removes articles of an author from a timeline and returns the number of removed entries. */
+  @Modifying
+  @Query("DELETE FROM TimelineEntry e WHERE e.id.userId = :userId AND e.authorId = :authorId")
+  int prune(long userId, long authorId);
+
+  @Modifying
+  @Query("DELETE FROM TimelineEntry e WHERE e.id.articleId = :articleId")
+  int deleteByArticleId(long articleId);
+
+  @Query(TIMELINE + TIMELINE_ORDER)
+  List<Article> findArticles(long userId, Pageable pageable);
+
+  @Query(
+      TIMELINE
+          + "AND e.createdAt <= :createdAt AND (e.createdAt < :createdAt OR e.id.articleId < :id)"
+          + TIMELINE_ORDER)
+  List<Article> findArticlesBefore(long userId, Instant createdAt, long id, Pageable pageable);
+
+  int countByIdUserId(long userId);
+
+  /** Articles of given authors which are not pushed to the timeline, read at request time. */
+  @EntityGraph(value = Article.WITH_AUTHOR, type = EntityGraphType.LOAD)
+  @Query("SELECT a " + PULLED)
+  List<Article> findPulledArticles(Collection<Long> authorIds, long userId, Pageable pageable);
+
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  @EntityGraph(value = Article.WITH_AUTHOR, type = EntityGraphType.LOAD)
+  @Query("SELECT a " + PULLED + " AND " + ArticleQueryPlanner.BEFORE_CURSOR)
+  List<Article> findPulledArticlesBefore(
+      Collection<Long> authorIds, long userId, Instant createdAt, long id, Pageable pageable);
+
+  @Query("SELECT COUNT(a) " + PULLED)
+  int countPulledArticles(Collection<Long> authorIds, long userId);
+}
@@ -1,19 +1,36 @@
 package io.realworld.backend.domain.aggregate.user;
 
 import com.google.common.base.MoreObjects;
+import java.time.Instant;
 import java.util.Optional;
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PreUpdate;
+import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.checkerframework.framework.qual.DefaultQualifier;
 import org.checkerframework.framework.qual.TypeUseLocation;
 
 @Entity
+@EntityListeners(UsernameListener.class)
+@Table(
+    indexes = {
+      @Index(name = User.USERNAME_INDEX, columnList = "username", unique = true),
+      @Index(name = User.EMAIL_INDEX, columnList = "email", unique = true)
+    })
 @DefaultQualifier(value = Nullable.class, locations = TypeUseLocation.FIELD)
 public class User {
+  /** Name of the unique index on username, found in messages of violations. */
+  public static final String USERNAME_INDEX = "user_username_idx";
+  /** Name of the unique index on email, found in messages of violations. */
+  public static final String EMAIL_INDEX = "user_email_idx";
+
   @Id
   @GeneratedValue(strategy = GenerationType.AUTO)
   private long id = 0;
@@ -25,6 +42,16 @@ public class User {
   private String bio = null;
   private String image = null;
 
+  /**
+   * Number of users following this user. Maintained by atomic updates of {@link UserRepository}, so
+   * saving a user never overwrites it.
+   */
+  @Column(updatable = false)
+  private int followersCount = 0;
+
+  /** Time of the last change to the user, followersCount excluded. */
+  private @NotNull Instant updatedAt = Instant.now();
+
   protected User() {}
 
   /** Creates User instance. */
@@ -82,6 +109,27 @@ public class User {
     this.image = image;
   }
 
+  public int getFollowersCount() {
+    return followersCount;
+  }
+
+  public void setFollowersCount(int followersCount) {
+    this.followersCount = followersCount;
+  }
+
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(Instant updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  @PreUpdate
+  public void onUpdate() {
+    updatedAt = Instant.now();
+  }
+
   /** {@inheritDoc} */
   @Override
   public String toString() {
@@ -92,6 +140,8 @@ public class User {
         .add("passwordHash", passwordHash)
         .add("bio", bio)
         .add("image", image)
+        .add("followersCount", followersCount)
+        .add("updatedAt", updatedAt)
         .toString();
   }
 }
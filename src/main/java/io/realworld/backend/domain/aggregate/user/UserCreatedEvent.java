@@ -0,0 +1,32 @@
+package io.realworld.backend.domain.aggregate.user;
+
+import com.google.common.base.MoreObjects;
+
+/** Published when a user registered. */
+public class UserCreatedEvent {
+  private final long userId;
+  private final String username;
+
+  /** Creates UserCreatedEvent instance. */
+  public UserCreatedEvent(User user) {
+    this.userId = user.getId();
+    this.username = user.getUsername();
+  }
+
+  public long getUserId() {
+    return userId;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("userId", userId)
+        .add("username", username)
+        .toString();
+  }
+}
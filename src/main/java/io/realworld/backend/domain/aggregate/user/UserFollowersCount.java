@@ -0,0 +1,8 @@
+package io.realworld.backend.domain.aggregate.user;
+
+/** Username and number of followers of a user, read without loading the user itself. */
+public interface UserFollowersCount {
+  String getUsername();
+
+  int getFollowersCount();
+}
@@ -0,0 +1,31 @@
+package io.realworld.backend.domain.aggregate.user;
+
+import java.util.Optional;
+
+/**
+ * Finds users by email and username through a {@link
+ * io.realworld.backend.domain.service.NaturalIdCache}. Usernames which do not exist are answered
+ * without a query by an {@link io.realworld.backend.domain.service.ExistenceFilter}.
+ */
+public interface UserNaturalIdRepository {
+  /** Finds a user by email. */
+  Optional<User> findByEmail(String email);
+
+  /** Finds a user by username. */
+  Optional<User> findByUsername(String username);
+
+  /** Returns false if no user has the username, without a query. */
+  boolean usernameMightExist(String username);
+
+  /** Adds the username of a new or renamed user to the existence filter. */
+  void registerUsername(String username);
+
+  /** Rebuilds the existence filter from the usernames of all users. */
+  void rebuildUsernameFilter();
+
+  /** Evicts an email that a user no longer has. */
+  void evictEmail(String email);
+
+  /** Evicts a username that a user no longer has. */
+  void evictUsername(String username);
+}
@@ -0,0 +1,111 @@
+package io.realworld.backend.domain.aggregate.user;
+
+import static org.checkerframework.checker.nullness.util.NullnessUtil.castNonNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.realworld.backend.domain.service.ExistenceFilter;
+import io.realworld.backend.domain.service.NaturalIdCache;
+import java.time.Duration;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+
+public class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+  private final NaturalIdCache<User> emails;
+  private final NaturalIdCache<User> usernames;
+  private final ExistenceFilter usernameFilter;
+
+  @PersistenceContext private @MonotonicNonNull EntityManager entityManager;
+
+  /** Creates UserNaturalIdRepositoryImpl instance. */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  public UserNaturalIdRepositoryImpl(
+      @Value("${naturalId.cacheSize}") long cacheSize,
+      @Value("${naturalId.cacheTtl}") Duration cacheTtl,
+      @Value("${naturalId.filter.expectedSize}") long filterSize,
+      @Value("${naturalId.filter.fpp}") double filterFpp,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.emails =
+        new NaturalIdCache<>(
+            "userEmail", cacheSize, cacheTtl, meterRegistry, User::getId, User::getEmail);
+    this.usernames =
+        new NaturalIdCache<>(
+            "userUsername", cacheSize, cacheTtl, meterRegistry, User::getId, User::getUsername);
+    this.usernameFilter =
+        new ExistenceFilter("userUsername", filterSize, filterFpp, meterRegistry);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Optional<User> findByEmail(String email) {
+    return emails.find(email, this::findById, e -> findBy("email", e));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public Optional<User> findByUsername(String username) {
+    if (!usernameFilter.mightExist(username)) {
+      return Optional.empty();
+    }
+    return usernames.find(username, this::findById, u -> findBy("username", u));
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean usernameMightExist(String username) {
+    return usernameFilter.mightExist(username);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void registerUsername(String username) {
+    usernameFilter.add(username);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void rebuildUsernameFilter() {
+    try (var usernames =
+        getEntityManager()
+            .createQuery("SELECT u.username FROM User u", castNonNull(String.class))
+            .getResultStream()) {
+      usernameFilter.rebuild(usernames);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void evictEmail(String email) {
+    emails.evict(email);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void evictUsername(String username) {
+    usernames.evict(username);
+  }
+
+  private Optional<User> findById(long id) {
+    return Optional.ofNullable(getEntityManager().find(castNonNull(User.class), id));
+  }
+
+  private Optional<User> findBy(String attribute, String value) {
+    return getEntityManager()
+        .createQuery(
+            "SELECT u FROM User u WHERE u." + attribute + " = :value", castNonNull(User.class))
+        .setParameter("value", value)
+        .getResultStream()
+        .findFirst();
+  }
+
+  private EntityManager getEntityManager() {
+    final var em = entityManager;
+    if (em == null) {
+      throw new IllegalStateException("EntityManager is not injected");
+    }
+    return em;
+  }
+}
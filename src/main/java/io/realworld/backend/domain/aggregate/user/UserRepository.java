@@ -1,10 +1,49 @@
 package io.realworld.backend.domain.aggregate.user;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface UserRepository extends CrudRepository<User, Long> {
-  Optional<User> findByEmail(String username);
+public interface UserRepository extends CrudRepository<User, Long>, UserNaturalIdRepository {
+  @Modifying
+  @Query("UPDATE User u SET u.followersCount = u.followersCount + 1 WHERE u.id = :id")
+  int incrementFollowersCount(long id);
 
-  Optional<User> findByUsername(String username);
+  @Modifying
+  @Query(
+      "UPDATE User u SET u.followersCount = u.followersCount - 1 "
+          + "WHERE u.id = :id AND u.followersCount > 0")
+  int decrementFollowersCount(long id);
+
+  /**
+   * Returns the followers count of a user as stored, rather than as held by a loaded entity, so
+   * that it includes the increments and decrements made by the current transaction.
+   */
+  @Query("SELECT u.followersCount FROM User u WHERE u.id = :id")
+  Optional<Integer> findFollowersCountById(long id);
+
+  /**
+   * Replaces the password hash of a user unless it changed since it was read. Commits on its own,
+   * as it runs after the login which read the hash has completed.
+   *
+   * @return 1 if the hash was replaced, 0 otherwise
+   */
+  @Transactional
+  @Modifying
+  @Query(
+      "UPDATE User u SET u.passwordHash = :newHash "
+          + "WHERE u.id = :id AND u.passwordHash = :oldHash")
+  int replacePasswordHash(long id, String oldHash, String newHash);
+
+  /** Reads the version of a user, which validates a cached profile without loading the user. */
+  @Query(
+      "SELECT new io.realworld.backend.domain.aggregate.user.UserVersion(u.id, u.updatedAt) "
+          + "FROM User u WHERE u.username = :username")
+  Optional<UserVersion> findVersionByUsername(String username);
+
+  @Query("SELECT u.username AS username, u.followersCount AS followersCount FROM User u")
+  Stream<UserFollowersCount> streamFollowersCounts();
 }
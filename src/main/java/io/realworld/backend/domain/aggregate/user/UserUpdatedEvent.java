@@ -0,0 +1,44 @@
+package io.realworld.backend.domain.aggregate.user;
+
+import com.google.common.base.MoreObjects;
+
+/** Published when a user updated their profile. */
+public class UserUpdatedEvent {
+  private final long userId;
+  private final String previousUsername;
+  private final String username;
+
+  /**
+   * Creates UserUpdatedEvent instance.
+   *
+   * @param user the updated user
+   * @param previousUsername username of the user before the update
+   */
+  public UserUpdatedEvent(User user, String previousUsername) {
+    this.userId = user.getId();
+    this.previousUsername = previousUsername;
+    this.username = user.getUsername();
+  }
+
+  public long getUserId() {
+    return userId;
+  }
+
+  public String getPreviousUsername() {
+    return previousUsername;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("userId", userId)
+        .add("previousUsername", previousUsername)
+        .add("username", username)
+        .toString();
+  }
+}
@@ -0,0 +1,34 @@
+package io.realworld.backend.domain.aggregate.user;
+
+import com.google.common.base.MoreObjects;
+import java.time.Instant;
+
+/** Id and modification time of a user, read without loading the user itself. */
+public class UserVersion {
+  private final long id;
+  private final Instant updatedAt;
+
+  /** Creates UserVersion instance. */
+  public UserVersion(long id, Instant updatedAt) {
+    this.id = id;
+    this.updatedAt = updatedAt;
+  }
+
+  public static UserVersion of(User user) {
+    return new UserVersion(user.getId(), user.getUpdatedAt());
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public Instant getUpdatedAt() {
+    return updatedAt;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("id", id).add("updatedAt", updatedAt).toString();
+  }
+}
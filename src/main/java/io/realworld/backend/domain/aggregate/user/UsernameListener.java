@@ -0,0 +1,23 @@
+package io.realworld.backend.domain.aggregate.user;
+
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Registers the usernames of persisted and renamed users with {@link UserNaturalIdRepository}, so
+ * its existence filter knows them before their transaction commits, whichever way they were saved.
+ */
+public class UsernameListener {
+  private final ObjectProvider<UserRepository> userRepository;
+
+  public UsernameListener(ObjectProvider<UserRepository> userRepository) {
+    this.userRepository = userRepository;
+  }
+
+  @PrePersist
+  @PreUpdate
+  public void registerUsername(User user) {
+    userRepository.ifAvailable(repository -> repository.registerUsername(user.getUsername()));
+  }
+}
@@ -0,0 +1,59 @@
+package io.realworld.backend.domain.service;
+
+import com.google.common.base.MoreObjects;
+import io.realworld.backend.domain.aggregate.user.User;
+import java.util.Objects;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Id and username of the authenticated user, taken from the claims of a verified token without
+ * loading the user. The username is the one the token was issued with, so handlers which need
+ * current or mutable user state load the {@link User} instead.
+ */
+public final class AuthenticatedUser {
+  private final long id;
+  private final String username;
+
+  /** Creates AuthenticatedUser instance. */
+  public AuthenticatedUser(long id, String username) {
+    this.id = id;
+    this.username = username;
+  }
+
+  public static AuthenticatedUser of(User user) {
+    return new AuthenticatedUser(user.getId(), user.getUsername());
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  public String getUsername() {
+    return username;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean equals(@Nullable Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof AuthenticatedUser)) {
+      return false;
+    }
+    final var that = (AuthenticatedUser) o;
+    return id == that.id && username.equals(that.username);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public int hashCode() {
+    return Objects.hash(id, username);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this).add("id", id).add("username", username).toString();
+  }
+}
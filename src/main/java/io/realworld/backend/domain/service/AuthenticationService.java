@@ -4,7 +4,10 @@ import io.realworld.backend.domain.aggregate.user.User;
 import java.util.Optional;
 
 public interface AuthenticationService {
-  /** Returns current authenticated user. */
+  /** Returns id and username of current authenticated user, without loading the user. */
+  Optional<AuthenticatedUser> getAuthenticatedUser();
+
+  /** Returns current authenticated user, loading it from the database. */
   Optional<User> getCurrentUser();
 
   /** Returns a JWT token used to authenticate current user. */
@@ -15,4 +18,7 @@ public interface AuthenticationService {
 
   /** Returns a hash of the password. */
   String encodePassword(String password);
+
+  /** Returns whether the password hash of the user should be computed again, at a higher cost. */
+  boolean needsRehash(User user);
 }
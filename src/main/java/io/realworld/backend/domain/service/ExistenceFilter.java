@@ -0,0 +1,105 @@
+package io.realworld.backend.domain.service;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Bloom filter of all natural ids of an entity, such as slugs or usernames, which answers that a
+ * natural id does not exist without querying the database. It may wrongly answer that a natural id
+ * exists, which costs the query it would have cost anyway, but never the opposite.
+ *
+ * <p>Natural ids are added when an entity is persisted or renamed, before its transaction commits.
+ * Bloom filters cannot remove, so natural ids of deleted or renamed entities linger until the
+ * filter is rebuilt from the database. Until the first rebuild every natural id might exist.
+ * Lookups answered without a query are counted by the {@code existenceFilter.shortCircuited}
+ * counter tagged with the name of the filter.
+ */
+public class ExistenceFilter {
+  private final long expectedNaturalIds;
+  private final double falsePositiveRate;
+  private final @Nullable Counter shortCircuited;
+  private final AtomicReference<@Nullable BloomFilter<String>> filter = new AtomicReference<>();
+  /** Natural ids added since the previous rebuild started, which its scan may have missed. */
+  private volatile Set<String> recent = ConcurrentHashMap.newKeySet();
+
+  /**
+   * Creates ExistenceFilter instance.
+   *
+   * @param expectedNaturalIds number of natural ids the filter is sized for
+   * @param falsePositiveRate rate of absent natural ids said to exist, at the expected size
+   */
+  public ExistenceFilter(
+      String name,
+      long expectedNaturalIds,
+      double falsePositiveRate,
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    this.expectedNaturalIds = expectedNaturalIds;
+    this.falsePositiveRate = falsePositiveRate;
+    final var registry = meterRegistry.getIfAvailable();
+    final var tags = Tags.of("filter", name);
+    this.shortCircuited =
+        registry == null ? null : registry.counter("existenceFilter.shortCircuited", tags);
+    if (registry != null) {
+      registry.gauge("existenceFilter.expectedFpp", tags, filter, ExistenceFilter::expectedFpp);
+    }
+  }
+
+  /** Returns false if the natural id certainly does not exist. */
+  public boolean mightExist(String naturalId) {
+    final var current = filter.get();
+    if (current == null || current.mightContain(naturalId)) {
+      return true;
+    }
+    final var counter = shortCircuited;
+    if (counter != null) {
+      counter.increment();
+    }
+    return false;
+  }
+
+  /** Adds the natural id of a new or renamed entity. */
+  public void add(String naturalId) {
+    // Recorded before the filter is read, so a concurrent rebuild sees it in one or the other.
+    recent.add(naturalId);
+    final var current = filter.get();
+    if (current != null) {
+      current.put(naturalId);
+    }
+  }
+
+  /**
+   * Replaces the filter by one of the given natural ids, which drops those of deleted and renamed
+   * entities. Natural ids added while the scan runs are carried over into the new filter.
+   *
+   * @param naturalIds all natural ids in the database
+   */
+  public synchronized void rebuild(Stream<String> naturalIds) {
+    final var carried = recent;
+    recent = ConcurrentHashMap.newKeySet();
+    final var next =
+        BloomFilter.create(
+            Funnels.stringFunnel(StandardCharsets.UTF_8), expectedNaturalIds, falsePositiveRate);
+    naturalIds.forEach(next::put);
+    carried.forEach(next::put);
+    recent.forEach(next::put);
+    filter.set(next);
+    // Catches additions which read the previous filter just before it was replaced.
+    carried.forEach(next::put);
+    recent.forEach(next::put);
+  }
+
+  private static double expectedFpp(AtomicReference<@Nullable BloomFilter<String>> filter) {
+    final var current = filter.get();
+    return current == null ? Double.NaN : current.expectedFpp();
+  }
+}
@@ -7,6 +7,6 @@ public interface JwtService {
   /** Generates JWT token for a given user. */
   String generateToken(User user);
 
-  /** Finds a user that given token was generated for. */
-  Optional<User> getUser(String token);
+  /** Verifies a token and returns the user it was generated for, from its claims. */
+  Optional<AuthenticatedUser> getAuthenticatedUser(String token);
 }
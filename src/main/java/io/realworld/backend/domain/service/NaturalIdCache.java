@@ -0,0 +1,72 @@
+package io.realworld.backend.domain.service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Maps a natural id, such as a slug or a username, to the primary key of its entity, which is then
+ * loaded by primary key. Loading by primary key is served by the persistence context when the
+ * entity is already loaded, and is the cheapest lookup otherwise.
+ *
+ * <p>A cached id is only trusted when the loaded entity still has the natural id, so a stale entry
+ * costs one extra lookup but never returns the wrong entity. Entries are still evicted when their
+ * natural id changes, to keep that rare. Hits and misses are published as {@code cache.gets}
+ * metrics tagged with the name of the cache.
+ *
+ * @param <E> entity type
+ */
+public class NaturalIdCache<E> {
+  private final Cache<String, Long> ids;
+  private final ToLongFunction<E> idOf;
+  private final Function<E, String> naturalIdOf;
+
+  /** Creates NaturalIdCache instance. */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  public NaturalIdCache(
+      String name,
+      long size,
+      Duration ttl,
+      ObjectProvider<MeterRegistry> meterRegistry,
+      ToLongFunction<E> idOf,
+      Function<E, String> naturalIdOf) {
+    this.ids =
+        CacheBuilder.newBuilder().maximumSize(size).expireAfterWrite(ttl).recordStats().build();
+    this.idOf = idOf;
+    this.naturalIdOf = naturalIdOf;
+    meterRegistry.ifAvailable(registry -> GuavaCacheMetrics.monitor(registry, ids, name));
+  }
+
+  /**
+   * Finds an entity by natural id.
+   *
+   * @param byId loads an entity by primary key
+   * @param byNaturalId queries an entity by natural id, used on misses and stale entries
+   */
+  public Optional<E> find(
+      String naturalId, LongFunction<Optional<E>> byId, Function<String, Optional<E>> byNaturalId) {
+    final var id = ids.getIfPresent(naturalId);
+    if (id != null) {
+      final var cached = byId.apply(id);
+      if (cached.isPresent() && naturalIdOf.apply(cached.get()).equals(naturalId)) {
+        return cached;
+      }
+      ids.invalidate(naturalId);
+    }
+    final var entity = byNaturalId.apply(naturalId);
+    entity.ifPresent(e -> ids.put(naturalId, idOf.applyAsLong(e)));
+    return entity;
+  }
+
+  /** Evicts the id of a natural id that changed or whose entity was deleted. */
+  public void evict(String naturalId) {
+    ids.invalidate(naturalId);
+  }
+}
@@ -0,0 +1,58 @@
+package io.realworld.backend.infrastructure.config;
+
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+
+/**
+ * Translates failed statements of JDBC and of JPA alike by the error codes of the database, so
+ * that a duplicate is a {@code DuplicateKeyException} and a conflict with a row of another
+ * transaction which has not committed yet is a {@link CannotAcquireLockException}, whichever way
+ * the statement was run.
+ */
+@Configuration
+public class PersistenceConfiguration {
+  /** Error code of H2 for a row of another transaction which has not committed yet. */
+  private static final int H2_CONCURRENT_UPDATE = 90131;
+
+  /** Sets the translator on the JDBC template and on the JPA dialect once they are created. */
+  @Bean
+  public static BeanPostProcessor exceptionTranslation(ObjectProvider<DataSource> dataSource) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof JdbcTemplate) {
+          ((JdbcTemplate) bean).setExceptionTranslator(translator(dataSource.getObject()));
+        } else if (bean instanceof HibernateJpaVendorAdapter) {
+          ((HibernateJpaVendorAdapter) bean)
+              .getJpaDialect()
+              .setJdbcExceptionTranslator(translator(dataSource.getObject()));
+        }
+        return bean;
+      }
+    };
+  }
+
+  private static SQLExceptionTranslator translator(DataSource dataSource) {
+    return new SQLErrorCodeSQLExceptionTranslator(dataSource) {
+      @Override
+      protected @Nullable DataAccessException customTranslate(
+          String task, @Nullable String sql, SQLException sqlEx) {
+        if (sqlEx.getErrorCode() == H2_CONCURRENT_UPDATE) {
+          return new CannotAcquireLockException(task + "; " + sqlEx.getMessage(), sqlEx);
+        }
+        return null;
+      }
+    };
+  }
+}
@@ -1,8 +1,11 @@
 package io.realworld.backend.infrastructure.config;
 
+import io.realworld.backend.infrastructure.security.CalibratedPasswordEncoder;
 import io.realworld.backend.infrastructure.security.JwtTokenFilter;
+import java.time.Duration;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -11,7 +14,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.HttpStatusEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -27,9 +29,15 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
     this.jwtTokenFilter = jwtTokenFilter;
   }
 
+  /**
+   * Returns BCrypt encoder of the strength whose checks take about {@code
+   * passwordHashing.targetTime} on this node.
+   */
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(
+      @Value("${passwordHashing.targetTime}") Duration targetTime,
+      @Value("${passwordHashing.minStrength}") int minStrength) {
+    return CalibratedPasswordEncoder.calibrate(targetTime, minStrength);
   }
 
   @Override
@@ -66,7 +74,12 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
         // Our public endpoints
         .antMatchers(HttpMethod.POST, "/api/users", "/api/users/login")
         .permitAll()
-        .antMatchers(HttpMethod.GET, "/api/articles/**", "/api/profiles/**", "/api/tags")
+        .antMatchers(
+            HttpMethod.GET,
+            "/api/articles/**",
+            "/api/profiles/**",
+            "/api/tags",
+            "/api/autocomplete/**")
         .permitAll()
         // Our private endpoints
         .anyRequest()
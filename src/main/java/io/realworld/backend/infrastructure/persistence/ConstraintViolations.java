@@ -0,0 +1,76 @@
+package io.realworld.backend.infrastructure.persistence;
+
+import static org.checkerframework.checker.nullness.util.NullnessUtil.castNonNull;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+
+/**
+ * Tells apart the ways an insert fails on a unique index, so that writes can rely on the index
+ * rather than look up the row first.
+ *
+ * <p>A row whose key was committed by another transaction violates the index and is translated to
+ * a {@link DuplicateKeyException}; the database names the index in its message. While the other
+ * transaction has not committed, the insert may instead fail at once as a {@link
+ * ConcurrencyFailureException}, which says nothing of whether the row will exist; such inserts
+ * are tried again by {@link #retryConcurrentUpdates} until the other transaction has ended. Only
+ * reading the name of the index from the message depends on the database, which is H2.
+ */
+public final class ConstraintViolations {
+  /**
+   * Name of the violated index at the start of a message of H2, such as {@code
+   * "PUBLIC.USER_EMAIL_IDX ON ...} or, for a constraint, {@code "PUBLIC.USER_EMAIL_IDX_INDEX_2 ON}.
+   */
+  private static final Pattern H2_INDEX_NAME =
+      Pattern.compile("\\A[^\"]*\"(?:\\w+\\.)?(\\w+?)(?:_INDEX_\\w+)? ON ");
+
+  private static final int ATTEMPTS = 5;
+  private static final long BACKOFF_MS = 10;
+
+  private ConstraintViolations() {}
+
+  /** Returns whether the exception is a violation of the unique index of a given name. */
+  public static boolean violates(DataAccessException e, String indexName) {
+    return violatedIndex(e).filter(indexName::equalsIgnoreCase).isPresent();
+  }
+
+  /** Returns the name of the unique index the exception is a violation of, if it names one. */
+  public static Optional<String> violatedIndex(DataAccessException e) {
+    if (!(e instanceof DuplicateKeyException)) {
+      return Optional.empty();
+    }
+    final var message = String.valueOf(e.getMostSpecificCause().getMessage());
+    final var matcher = H2_INDEX_NAME.matcher(message);
+    return matcher.find() ? Optional.of(castNonNull(matcher.group(1))) : Optional.empty();
+  }
+
+  /**
+   * Runs an insert, and runs it again with a growing delay while it conflicts with a row which
+   * another transaction has not committed, so that it fails as a duplicate only once that row
+   * exists, and succeeds if the other transaction rolls back. A conflict outlasting the attempts
+   * is thrown as a duplicate naming no index, as the row is most likely about to be committed.
+   * Other failures are thrown as they are.
+   */
+  public static <T> T retryConcurrentUpdates(Supplier<T> insert) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return insert.get();
+      } catch (ConcurrencyFailureException e) {
+        if (attempt == ATTEMPTS) {
+          throw new DuplicateKeyException("Conflicting row was not committed in time", e);
+        }
+        try {
+          TimeUnit.MILLISECONDS.sleep(attempt * BACKOFF_MS);
+        } catch (InterruptedException ie) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+      }
+    }
+  }
+}
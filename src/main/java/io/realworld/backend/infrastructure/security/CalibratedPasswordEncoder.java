@@ -0,0 +1,73 @@
+package io.realworld.backend.infrastructure.security;
+
+import static org.checkerframework.checker.nullness.util.NullnessUtil.castNonNull;
+
+import java.time.Duration;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder whose strength is calibrated to the hardware it runs on, so that checking a
+ * password takes about the same time on every node. Weaker hashes are reported by {@link
+ * #upgradeEncoding} so that they can be replaced after a login; stronger ones, such as those written
+ * by a faster node, are kept, as replacing them would only weaken them.
+ */
+public class CalibratedPasswordEncoder extends BCryptPasswordEncoder {
+  private static final Logger logger = LoggerFactory.getLogger(CalibratedPasswordEncoder.class);
+  private static final Pattern BCRYPT = Pattern.compile("\\A\\$2[abyx]?\\$(\\d\\d)\\$.{53}\\z");
+  private static final int MAX_STRENGTH = 31;
+  private static final int PROBE_STRENGTH = 8;
+  private static final int PROBES = 5;
+  private static final String PROBE_PASSWORD = "calibration";
+
+  private final int strength;
+
+  /** Creates CalibratedPasswordEncoder instance of a given strength. */
+  public CalibratedPasswordEncoder(int strength) {
+    super(strength);
+    this.strength = strength;
+  }
+
+  /**
+   * Creates an encoder of the highest strength whose checks take no longer than the target time
+   * here, but no weaker than the minimum strength.
+   *
+   * @param targetTime time a password check should take
+   * @param minStrength lowest strength used however slow the hardware is
+   */
+  public static CalibratedPasswordEncoder calibrate(Duration targetTime, int minStrength) {
+    final var probe = new BCryptPasswordEncoder(PROBE_STRENGTH);
+    final var hash = probe.encode(PROBE_PASSWORD);
+    var fastest = Long.MAX_VALUE;
+    // The fastest of several probes, so that the first ones may warm up the JIT.
+    for (int i = 0; i < PROBES; i++) {
+      final var start = System.nanoTime();
+      probe.matches(PROBE_PASSWORD, hash);
+      fastest = Math.min(fastest, System.nanoTime() - start);
+    }
+    // Each step of strength doubles the work.
+    final var doublings =
+        (int) Math.floor(Math.log((double) targetTime.toNanos() / fastest) / Math.log(2));
+    final var strength = Math.max(minStrength, Math.min(MAX_STRENGTH, PROBE_STRENGTH + doublings));
+    logger.info(
+        "Calibrated BCrypt strength {} for checks of {} ms, strength {} took {} us",
+        strength,
+        targetTime.toMillis(),
+        PROBE_STRENGTH,
+        fastest / 1000);
+    return new CalibratedPasswordEncoder(strength);
+  }
+
+  public int getStrength() {
+    return strength;
+  }
+
+  /** Returns whether the hash is a BCrypt hash weaker than new hashes are. */
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    final var matcher = BCRYPT.matcher(encodedPassword);
+    return matcher.matches() && Integer.parseInt(castNonNull(matcher.group(1))) < strength;
+  }
+}
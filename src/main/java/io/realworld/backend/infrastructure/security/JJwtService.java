@@ -1,37 +1,74 @@
 package io.realworld.backend.infrastructure.security;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import io.realworld.backend.domain.aggregate.user.User;
 import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.service.AuthenticatedUser;
 import io.realworld.backend.domain.service.JwtService;
+import java.nio.charset.StandardCharsets;
 import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * Issues tokens whose subject is the id of the user, with the username as a further claim, so a
+ * verified token names its user without a lookup. Tokens issued without the username claim are
+ * resolved through the database until they expire.
+ *
+ * <p>Clients send the same token with every request for hours, so verified tokens are cached by
+ * their SHA-256 digest until they expire, and only the first request pays for the HS512 check.
+ * Strings which are not three base64url segments are rejected before any parsing. Hits and misses
+ * are published as {@code cache.gets} metrics tagged {@code cache=verifiedJwt}.
+ */
 @Component
 public class JJwtService implements JwtService {
+  private static final String USERNAME = "username";
+  /** Longest token accepted; ours are well under 300 characters. */
+  private static final int MAX_TOKEN_LENGTH = 4096;
+
   private final String secret;
   private final int sessionTime;
   private final UserRepository userRepository;
+  private final Cache<HashCode, VerifiedToken> verified;
 
   /**
    * Creates DefaultJwtService instance.
    *
    * @param secret jwt secret
    * @param sessionTime jwt session time in seconds
+   * @param cacheSize most verified tokens cached, 0 to verify every token
    * @param userRepository user repository
    */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
   @Autowired
   public JJwtService(
       @Value("${jwt.secret}") String secret,
       @Value("${jwt.sessionTime}") int sessionTime,
-      UserRepository userRepository) {
+      @Value("${jwt.cacheSize}") long cacheSize,
+      UserRepository userRepository,
+      MeterRegistry meterRegistry) {
     this.secret = secret;
     this.sessionTime = sessionTime;
     this.userRepository = userRepository;
+    // No token outlives the session time, the expiry of each one is checked on a hit.
+    this.verified =
+        CacheBuilder.newBuilder()
+            .maximumSize(cacheSize)
+            .expireAfterWrite(sessionTime, TimeUnit.SECONDS)
+            .recordStats()
+            .build();
+    GuavaCacheMetrics.monitor(meterRegistry, verified, "verifiedJwt");
   }
 
   /** {@inheritDoc} */
@@ -39,6 +76,7 @@ public class JJwtService implements JwtService {
   public String generateToken(User user) {
     return Jwts.builder()
         .setSubject(Long.toString(user.getId()))
+        .claim(USERNAME, user.getUsername())
         .setExpiration(new Date(System.currentTimeMillis() + sessionTime * 1000))
         .signWith(SignatureAlgorithm.HS512, secret)
         .compact();
@@ -46,14 +84,84 @@ public class JJwtService implements JwtService {
 
   /** {@inheritDoc} */
   @Override
-  public Optional<User> getUser(String token) {
+  public Optional<AuthenticatedUser> getAuthenticatedUser(String token) {
+    if (!isWellFormed(token)) {
+      return Optional.empty();
+    }
+    final var digest = Hashing.sha256().hashString(token, StandardCharsets.US_ASCII);
+    final var cached = verified.getIfPresent(digest);
+    if (cached != null) {
+      if (cached.expiresAt > System.currentTimeMillis()) {
+        return Optional.of(cached.user);
+      }
+      verified.invalidate(digest);
+      return Optional.empty();
+    }
+    return verify(token)
+        .map(
+            verifiedToken -> {
+              verified.put(digest, verifiedToken);
+              return verifiedToken.user;
+            });
+  }
+
+  /** Checks the signature and expiry of the token and resolves its user. */
+  private Optional<VerifiedToken> verify(String token) {
     try {
-      final var subject =
-          Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody().getSubject();
-      final var userId = Long.parseLong(subject);
-      return userRepository.findById(userId);
-    } catch (Exception e) {
+      final var claims = Jwts.parser().setSigningKey(secret).parseClaimsJws(token).getBody();
+      final var expiration = claims.getExpiration();
+      if (expiration == null) {
+        return Optional.empty();
+      }
+      final var userId = Long.parseLong(claims.getSubject());
+      final var username = claims.get(USERNAME, String.class);
+      final var user =
+          username == null
+              ? userRepository.findById(userId).map(AuthenticatedUser::of)
+              : Optional.of(new AuthenticatedUser(userId, username));
+      return user.map(u -> new VerifiedToken(u, expiration.getTime()));
+    } catch (JwtException | IllegalArgumentException e) {
+      // Bad signature, expired, wrong claim types or a subject which is not a number.
       return Optional.empty();
     }
   }
+
+  /** Returns whether the token is three non-empty base64url segments, as a signed JWT is. */
+  private static boolean isWellFormed(String token) {
+    final var length = token.length();
+    if (length > MAX_TOKEN_LENGTH) {
+      return false;
+    }
+    var dots = 0;
+    var segmentLength = 0;
+    for (int i = 0; i < length; i++) {
+      final var c = token.charAt(i);
+      if (c == '.') {
+        if (segmentLength == 0 || ++dots > 2) {
+          return false;
+        }
+        segmentLength = 0;
+      } else if ((c >= 'A' && c <= 'Z')
+          || (c >= 'a' && c <= 'z')
+          || (c >= '0' && c <= '9')
+          || c == '-'
+          || c == '_') {
+        segmentLength++;
+      } else {
+        return false;
+      }
+    }
+    return dots == 2 && segmentLength > 0;
+  }
+
+  /** User of a verified token and the time the token expires, in epoch milliseconds. */
+  private static final class VerifiedToken {
+    private final AuthenticatedUser user;
+    private final long expiresAt;
+
+    VerifiedToken(AuthenticatedUser user, long expiresAt) {
+      this.user = user;
+      this.expiresAt = expiresAt;
+    }
+  }
 }
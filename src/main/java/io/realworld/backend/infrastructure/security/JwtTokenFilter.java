@@ -1,6 +1,6 @@
 package io.realworld.backend.infrastructure.security;
 
-import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.service.AuthenticatedUser;
 import io.realworld.backend.domain.service.JwtService;
 import java.io.IOException;
 import java.util.Collections;
@@ -12,7 +12,6 @@ import javax.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -38,21 +37,12 @@ public class JwtTokenFilter extends OncePerRequestFilter {
         .ifPresent(
             (String token) -> {
               jwtService
-                  .getUser(token)
+                  .getAuthenticatedUser(token)
                   .ifPresent(
-                      (User user) -> {
-                        UserDetails ud =
-                            org.springframework.security.core.userdetails.User.withUsername(
-                                    user.getEmail())
-                                .password(user.getPasswordHash())
-                                .authorities(Collections.emptyList())
-                                .accountExpired(false)
-                                .accountLocked(false)
-                                .credentialsExpired(false)
-                                .disabled(false)
-                                .build();
+                      (AuthenticatedUser user) -> {
                         UsernamePasswordAuthenticationToken authenticationToken =
-                            new UsernamePasswordAuthenticationToken(ud, token, ud.getAuthorities());
+                            new UsernamePasswordAuthenticationToken(
+                                user, token, Collections.emptyList());
                         authenticationToken.setDetails(
                             new WebAuthenticationDetailsSource().buildDetails(httpServletRequest));
                         SecurityContextHolder.getContext().setAuthentication(authenticationToken);
@@ -2,16 +2,21 @@ package io.realworld.backend.infrastructure.security;
 
 import io.realworld.backend.domain.aggregate.user.User;
 import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.service.AuthenticatedUser;
 import io.realworld.backend.domain.service.AuthenticationService;
 import java.util.Optional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Service
 public class SpringAuthenticationService implements AuthenticationService {
+  private static final String CURRENT_USER =
+      SpringAuthenticationService.class.getName() + ".currentUser";
+
   private final UserRepository userRepository;
   private final PasswordEncoder passwordEncoder;
 
@@ -24,16 +29,44 @@ public class SpringAuthenticationService implements AuthenticationService {
 
   /** {@inheritDoc} */
   @Override
-  public Optional<User> getCurrentUser() {
+  public Optional<AuthenticatedUser> getAuthenticatedUser() {
     final var authentication = SecurityContextHolder.getContext().getAuthentication();
     if (authentication == null) {
       return Optional.empty();
     }
-    if (authentication.getPrincipal().equals("anonymousUser")) {
+    final var principal = authentication.getPrincipal();
+    if (!(principal instanceof AuthenticatedUser)) {
+      // Anonymous requests carry the "anonymousUser" string.
       return Optional.empty();
     }
-    final var ud = (UserDetails) authentication.getPrincipal();
-    return userRepository.findByEmail(ud.getUsername());
+    return Optional.of((AuthenticatedUser) principal);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Within a web request the user is loaded at most once, and later calls return the same
+   * instance. It stays managed, as the persistence context is open for the whole request.
+   */
+  @Override
+  public Optional<User> getCurrentUser() {
+    final var authenticated = getAuthenticatedUser();
+    if (authenticated.isEmpty()) {
+      return Optional.empty();
+    }
+    final var principal = authenticated.get();
+    final var attributes = RequestContextHolder.getRequestAttributes();
+    if (attributes == null) {
+      return userRepository.findById(principal.getId());
+    }
+    final var loaded = attributes.getAttribute(CURRENT_USER, RequestAttributes.SCOPE_REQUEST);
+    if (loaded instanceof CurrentUser && ((CurrentUser) loaded).principal.equals(principal)) {
+      return ((CurrentUser) loaded).user;
+    }
+    final var user = userRepository.findById(principal.getId());
+    attributes.setAttribute(
+        CURRENT_USER, new CurrentUser(principal, user), RequestAttributes.SCOPE_REQUEST);
+    return user;
   }
 
   /** {@inheritDoc} */
@@ -63,4 +96,21 @@ public class SpringAuthenticationService implements AuthenticationService {
   public String encodePassword(String password) {
     return passwordEncoder.encode(password);
   }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean needsRehash(User user) {
+    return passwordEncoder.upgradeEncoding(user.getPasswordHash());
+  }
+
+  /** User loaded for a principal, memoised as an attribute of the request. */
+  private static final class CurrentUser {
+    private final AuthenticatedUser principal;
+    private final Optional<User> user;
+
+    CurrentUser(AuthenticatedUser principal, Optional<User> user) {
+      this.principal = principal;
+      this.user = user;
+    }
+  }
 }
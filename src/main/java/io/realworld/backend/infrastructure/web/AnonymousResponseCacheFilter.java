@@ -0,0 +1,149 @@
+package io.realworld.backend.infrastructure.web;
+
+import com.google.common.base.Splitter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Serves anonymous article listings and tags from {@link ResponseCache}. A hit writes the stored
+ * bytes, gzipped if the client accepts it, without reaching the services or Jackson. A miss runs
+ * the request and stores its body if it succeeded. Requests with an {@code Authorization} header
+ * are never cached, as their responses carry viewer-specific flags.
+ */
+@Component
+public class AnonymousResponseCacheFilter extends OncePerRequestFilter {
+  private static final Set<String> CACHED_PATHS = Set.of("/api/articles", "/api/tags");
+  private static final String GZIP = "gzip";
+  private static final String X_GZIP = "x-gzip";
+  private static final String ANY = "*";
+  private static final Splitter CODINGS = Splitter.on(',').trimResults().omitEmptyStrings();
+  private static final Splitter PARAMETERS = Splitter.on(';').trimResults();
+  private static final Splitter VALUE = Splitter.on('=').trimResults().limit(2);
+  private static final String VARY =
+      HttpHeaders.AUTHORIZATION + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+  private final ResponseCache responseCache;
+
+  @Autowired
+  public AnonymousResponseCacheFilter(ResponseCache responseCache) {
+    this.responseCache = responseCache;
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    return !HttpMethod.GET.matches(request.getMethod())
+        || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+        || !CACHED_PATHS.contains(pathOf(request));
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    final var key = ResponseCache.keyOf(pathOf(request), request.getParameterMap());
+    final var cached = responseCache.get(key);
+    if (cached.isPresent()) {
+      writeCached(request, response, cached.get());
+      return;
+    }
+    final var generation = responseCache.generation();
+    final var wrapper = new ContentCachingResponseWrapper(response);
+    wrapper.setHeader(HttpHeaders.VARY, VARY);
+    filterChain.doFilter(request, wrapper);
+    final var contentType = wrapper.getContentType();
+    if (wrapper.getStatus() == HttpServletResponse.SC_OK
+        && contentType != null
+        && isJson(contentType)) {
+      responseCache.put(
+          key,
+          generation,
+          wrapper.getContentAsByteArray(),
+          contentType,
+          wrapper.getHeader(HttpHeaders.ETAG));
+    }
+    wrapper.copyBodyToResponse();
+  }
+
+  private static void writeCached(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      ResponseCache.CachedResponse cached)
+      throws IOException {
+    response.setHeader(HttpHeaders.VARY, VARY);
+    final var etag = cached.getEtag();
+    if (etag.isPresent()
+        && new ServletWebRequest(request, response).checkNotModified(etag.get())) {
+      return;
+    }
+    final var gzipped =
+        cached.isGzipped() && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(cached.getContentType());
+    etag.ifPresent(tag -> response.setHeader(HttpHeaders.ETAG, tag));
+    if (gzipped) {
+      response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+    }
+    response.setContentLength(cached.length(gzipped));
+    cached.writeTo(response.getOutputStream(), gzipped);
+  }
+
+  /**
+   * Returns whether Accept-Encoding gives gzip a quality above zero, by name or, if it is not
+   * named, through {@code *}.
+   */
+  private static boolean acceptsGzip(@Nullable String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    double gzip = -1;
+    double any = -1;
+    for (final var coding : CODINGS.split(acceptEncoding)) {
+      final var parts = PARAMETERS.splitToList(coding);
+      final var name = parts.get(0).toLowerCase(Locale.ROOT);
+      if (GZIP.equals(name) || X_GZIP.equals(name)) {
+        gzip = Math.max(gzip, quality(parts));
+      } else if (ANY.equals(name)) {
+        any = quality(parts);
+      }
+    }
+    return (gzip >= 0 ? gzip : any) > 0;
+  }
+
+  /** Returns the q parameter of a coding, 1 if it has none and 0 if it is malformed. */
+  private static double quality(List<String> parts) {
+    for (final var parameter : parts.subList(1, parts.size())) {
+      final var nameAndValue = VALUE.splitToList(parameter);
+      if (nameAndValue.size() == 2 && "q".equalsIgnoreCase(nameAndValue.get(0))) {
+        try {
+          return Double.parseDouble(nameAndValue.get(1));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+
+  private static String pathOf(HttpServletRequest request) {
+    return request.getRequestURI().substring(request.getContextPath().length());
+  }
+
+  private static boolean isJson(String contentType) {
+    return MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+  }
+}
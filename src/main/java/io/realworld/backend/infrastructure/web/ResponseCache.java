@@ -0,0 +1,310 @@
+package io.realworld.backend.infrastructure.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleUpdatedEvent;
+import io.realworld.backend.domain.aggregate.favourite.FavouriteChangedEvent;
+import io.realworld.backend.domain.aggregate.user.UserUpdatedEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.zip.GZIPOutputStream;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Serialised responses to anonymous requests, shared by all anonymous clients. The cache is bounded
+ * by the bytes it holds and evicts the least recently used responses first. Entries also expire
+ * after a TTL, which bounds staleness from changes that publish no event, such as the favourites
+ * count reconciliation.
+ *
+ * <p>Each entry records the slugs of the articles and the usernames it shows, so that a committed
+ * change drops only the entries it affects. A favourite drops the entries showing the article and
+ * the listings filtered by {@code favorited}. A profile change drops the entries showing the user
+ * under either name and the listings filtered by either name, and leaves the tags alone. A new
+ * article shifts every page of a listing and may change the popular tags, so it drops everything
+ * but the listings filtered by {@code favorited}, which nobody has favourited it into yet, while an
+ * updated or deleted article, whose slug or tags may be gone from the cached bodies, drops all
+ * entries. Every drop starts a new generation, and a response computed in an older generation is
+ * not stored, so a response that raced a change is never cached. Following changes nothing an
+ * anonymous client sees, so follows do not drop entries. Hits and misses are published as {@code
+ * cache.gets} metrics tagged {@code cache=anonymousResponse}.
+ */
+@Component
+public class ResponseCache {
+  private static final JsonFactory JSON = new JsonFactory();
+  private static final String SLUG = "slug";
+  private static final String USERNAME = "username";
+  private static final String AUTHOR = "author";
+  private static final String FAVORITED = "favorited";
+
+  private final Cache<String, CachedResponse> responses;
+  private final AtomicLong generation = new AtomicLong();
+  private final int gzipMinBytes;
+
+  /**
+   * Creates ResponseCache instance.
+   *
+   * @param maxBytes most bytes held by all cached responses
+   * @param ttl time after which a response is dropped even if nothing changed
+   * @param gzipMinBytes responses of at least this size are also kept gzipped, negative disables
+   */
+  @Autowired
+  public ResponseCache(
+      @Value("${responseCache.maxBytes}") long maxBytes,
+      @Value("${responseCache.ttl}") Duration ttl,
+      @Value("${responseCache.gzipMinBytes}") int gzipMinBytes,
+      MeterRegistry meterRegistry) {
+    this.responses =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxBytes)
+            .<String, CachedResponse>weigher((key, response) -> key.length() + response.size())
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    this.gzipMinBytes = gzipMinBytes;
+    meterRegistry.gauge("responseCache.bytes", responses, ResponseCache::bytes);
+    GuavaCacheMetrics.monitor(meterRegistry, responses, "anonymousResponse");
+  }
+
+  /**
+   * Returns the key of a request of a path with given query parameters, whose order does not
+   * matter.
+   */
+  public static String keyOf(String path, Map<String, String[]> parameters) {
+    final var key = new StringBuilder(path).append('?');
+    new TreeMap<>(parameters)
+        .forEach(
+            (name, values) -> {
+              for (final var value : values) {
+                key.append(encode(name)).append('=').append(encode(value)).append('&');
+              }
+            });
+    return key.toString();
+  }
+
+  /** Returns the cached response to a request. */
+  public Optional<CachedResponse> get(String key) {
+    return Optional.ofNullable(responses.getIfPresent(key));
+  }
+
+  /** Returns the current generation, to be passed to {@link #put} once the response is built. */
+  public long generation() {
+    return generation.get();
+  }
+
+  /**
+   * Caches a response unless entries were dropped since {@code generation} was read.
+   *
+   * @param generation generation read before the response was built
+   */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  public void put(
+      String key, long generation, byte[] body, String contentType, @Nullable String etag) {
+    if (this.generation.get() != generation) {
+      return;
+    }
+    final var slugs = ImmutableSet.<String>builder();
+    final var usernames = ImmutableSet.<String>builder();
+    try {
+      collectShown(body, slugs, usernames);
+    } catch (IOException e) {
+      // Not JSON after all, so nothing would know when to drop it.
+      return;
+    }
+    final var gzipped = gzipMinBytes >= 0 && body.length >= gzipMinBytes ? gzip(body) : null;
+    responses.put(
+        key,
+        new CachedResponse(
+            body, gzipped, contentType, etag, slugs.build(), usernames.build()));
+    // A drop between the check and the put would otherwise miss this entry.
+    if (this.generation.get() != generation) {
+      responses.invalidate(key);
+    }
+  }
+
+  /** Drops all responses. */
+  public void invalidateAll() {
+    generation.incrementAndGet();
+    responses.invalidateAll();
+  }
+
+  /** Drops the responses matching the predicate. */
+  public void invalidateIf(BiPredicate<String, CachedResponse> affected) {
+    generation.incrementAndGet();
+    responses.asMap().entrySet().removeIf(entry -> affected.test(entry.getKey(), entry.getValue()));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleCreated(ArticleCreatedEvent event) {
+    invalidateIf((key, response) -> !hasParameter(key, FAVORITED));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleUpdated(ArticleUpdatedEvent event) {
+    invalidateAll();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onArticleDeleted(ArticleDeletedEvent event) {
+    invalidateAll();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onFavouriteChanged(FavouriteChangedEvent event) {
+    invalidateIf(
+        (key, response) ->
+            response.slugs.contains(event.getSlug()) || hasParameter(key, FAVORITED));
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserUpdated(UserUpdatedEvent event) {
+    final var names = ImmutableSet.of(event.getPreviousUsername(), event.getUsername());
+    invalidateIf(
+        (key, response) ->
+            names.stream()
+                .anyMatch(
+                    name ->
+                        response.usernames.contains(name)
+                            || hasParameter(key, AUTHOR, name)
+                            || hasParameter(key, FAVORITED, name)));
+  }
+
+  /** Returns whether the key has a parameter of the name, whatever its value. */
+  private static boolean hasParameter(String key, String name) {
+    final var parameter = encode(name) + '=';
+    return key.contains('?' + parameter) || key.contains('&' + parameter);
+  }
+
+  /** Returns whether the key has a parameter of the name and value. */
+  private static boolean hasParameter(String key, String name, String value) {
+    final var parameter = encode(name) + '=' + encode(value) + '&';
+    return key.contains('?' + parameter) || key.contains('&' + parameter);
+  }
+
+  private static String encode(String text) {
+    return URLEncoder.encode(text, StandardCharsets.UTF_8);
+  }
+
+  /** Collects the values of the slug and username fields anywhere in a JSON body. */
+  private static void collectShown(
+      byte[] body, ImmutableSet.Builder<String> slugs, ImmutableSet.Builder<String> usernames)
+      throws IOException {
+    try (var parser = JSON.createParser(body)) {
+      for (var token = parser.nextToken(); token != null; token = parser.nextToken()) {
+        if (token == JsonToken.FIELD_NAME) {
+          final var field = parser.getCurrentName();
+          if (parser.nextToken() == JsonToken.VALUE_STRING) {
+            if (SLUG.equals(field)) {
+              slugs.add(parser.getText());
+            } else if (USERNAME.equals(field)) {
+              usernames.add(parser.getText());
+            }
+          }
+        }
+      }
+    }
+  }
+
+  private static double bytes(Cache<String, CachedResponse> responses) {
+    return responses.asMap().values().stream().mapToLong(CachedResponse::size).sum();
+  }
+
+  private static byte[] gzip(byte[] body) {
+    final var out = new ByteArrayOutputStream(body.length / 4 + 64);
+    try (var gzip = new GZIPOutputStream(out)) {
+      gzip.write(body);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Serialised body of a response, optionally also gzipped, with its content type, ETag and the
+   * articles and users it shows.
+   */
+  public static final class CachedResponse {
+    private final byte[] body;
+    private final byte @Nullable [] gzipped;
+    private final String contentType;
+    private final @Nullable String etag;
+    private final ImmutableSet<String> slugs;
+    private final ImmutableSet<String> usernames;
+
+    @SuppressWarnings("PMD.ExcessiveParameterList")
+    CachedResponse(
+        byte[] body,
+        byte @Nullable [] gzipped,
+        String contentType,
+        @Nullable String etag,
+        ImmutableSet<String> slugs,
+        ImmutableSet<String> usernames) {
+      this.body = body;
+      this.gzipped = gzipped;
+      this.contentType = contentType;
+      this.etag = etag;
+      this.slugs = slugs;
+      this.usernames = usernames;
+    }
+
+    public boolean isGzipped() {
+      return gzipped != null;
+    }
+
+    /** Returns the length of the body, or of the gzipped body if asked for and present. */
+    public int length(boolean preferGzipped) {
+      final var zipped = gzipped;
+      return preferGzipped && zipped != null ? zipped.length : body.length;
+    }
+
+    /** Writes the body, or the gzipped body if asked for and present. */
+    public void writeTo(OutputStream out, boolean preferGzipped) throws IOException {
+      final var zipped = gzipped;
+      out.write(preferGzipped && zipped != null ? zipped : body);
+    }
+
+    public String getContentType() {
+      return contentType;
+    }
+
+    public Optional<String> getEtag() {
+      return Optional.ofNullable(etag);
+    }
+
+    int size() {
+      final var zipped = gzipped;
+      return body.length + (zipped == null ? 0 : zipped.length);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public String toString() {
+      return MoreObjects.toStringHelper(this)
+          .add("size", size())
+          .add("contentType", contentType)
+          .add("etag", etag)
+          .toString();
+    }
+  }
+}
@@ -0,0 +1,45 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.application.service.ArticleCounter;
+import io.realworld.backend.application.service.ArticleCounter.Mode;
+import io.realworld.backend.domain.aggregate.article.ArticleFilter;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserUpdatedEvent;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+public class ArticleCounterTest {
+  private final ArticleRepository articleRepository = mock(ArticleRepository.class);
+  private final ArticleCounter articleCounter =
+      new ArticleCounter(
+          articleRepository, Mode.CACHED, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+  @Test
+  public void testRenameEvictsCountsFilteredByEitherUsername() {
+    final var favouritedByOld = new ArticleFilter(null, null, "old");
+    final var favouritedByNew = new ArticleFilter(null, null, "new");
+    final var writtenByOld = new ArticleFilter(null, "old", null);
+    final var favouritedByOther = new ArticleFilter(null, null, "other");
+    given(articleRepository.countByFilter(any())).willReturn(1);
+    articleCounter.countByFilter(favouritedByOld);
+    articleCounter.countByFilter(favouritedByNew);
+    articleCounter.countByFilter(writtenByOld);
+    articleCounter.countByFilter(favouritedByOther);
+
+    articleCounter.onUserUpdated(
+        new UserUpdatedEvent(new User("user@example.com", "new", "hash"), "old"));
+    given(articleRepository.countByFilter(any())).willReturn(2);
+
+    assertThat(articleCounter.countByFilter(favouritedByOld)).isEqualTo(2);
+    assertThat(articleCounter.countByFilter(favouritedByNew)).isEqualTo(2);
+    assertThat(articleCounter.countByFilter(writtenByOld)).isEqualTo(2);
+    assertThat(articleCounter.countByFilter(favouritedByOther)).isEqualTo(1);
+  }
+}
@@ -0,0 +1,104 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.application.dto.Mappers;
+import io.realworld.backend.application.dto.SplicedArticleData;
+import io.realworld.backend.application.service.ArticleFragmentCache;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.Tag;
+import io.realworld.backend.domain.aggregate.user.User;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+public class ArticleFragmentCacheTest {
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ArticleFragmentCache cache =
+      new ArticleFragmentCache(objectMapper, true, true, 1 << 20, meterRegistry);
+
+  @Test
+  public void testSplicedJsonEqualsMappedJson() throws Exception {
+    final var author = user(1, "Zoë \"quoted\"");
+    author.setBio("line\nbreak ☃");
+    author.setImage("https://example.com/a.png");
+    final var plain = article(10, user(2, "plain"), "short");
+    final var large = article(11, author, "x".repeat(20_000) + " é\t</script>");
+    large.setTags(List.of(new Tag("java"), new Tag("jvm")));
+    final var articles = List.of(plain, large);
+    final var favouritedIds = Set.of(11L);
+    final var followingIds = Set.of(2L);
+
+    final var mapped =
+        Mappers.toMultipleArticlesResponseData(articles, favouritedIds, followingIds, 2);
+    final var spliced =
+        Mappers.toMultipleArticlesResponseData(
+            cache.toArticleDataList(articles, favouritedIds, followingIds), 2);
+
+    assertThat(spliced.getArticles()).allMatch(a -> a instanceof SplicedArticleData);
+    final var expected = objectMapper.readTree(objectMapper.writeValueAsBytes(mapped));
+    // Bytes are spliced by the UTF-8 generator, strings are built for the writer-based one.
+    assertThat(objectMapper.readTree(objectMapper.writeValueAsBytes(spliced))).isEqualTo(expected);
+    assertThat(objectMapper.readTree(objectMapper.writeValueAsString(spliced)))
+        .isEqualTo(expected);
+  }
+
+  @Test
+  public void testFragmentsAreReusedUntilTheirVersionChanges() throws Exception {
+    final var article = article(10, user(1, "author"), "body");
+    cache.toArticleDataList(List.of(article), Set.of(), Set.of());
+    cache.toArticleDataList(List.of(article), Set.of(), Set.of());
+    assertThat(gets("articleFragment", "hit")).isEqualTo(1);
+    assertThat(gets("authorFragment", "hit")).isEqualTo(1);
+
+    article.setBody("edited");
+    article.setUpdatedAt(article.getUpdatedAt().plusSeconds(1));
+    final var json =
+        objectMapper.writeValueAsString(
+            cache.toArticleDataList(List.of(article), Set.of(), Set.of()));
+
+    assertThat(objectMapper.readTree(json).get(0).get("body").asText()).isEqualTo("edited");
+  }
+
+  @Test
+  public void testDisabledCacheMapsArticles() {
+    final var disabled =
+        new ArticleFragmentCache(objectMapper, false, true, 1 << 20, meterRegistry);
+
+    final var articles =
+        disabled.toArticleDataList(List.of(article(10, user(1, "a"), "b")), Set.of(), Set.of());
+
+    assertThat(articles).noneMatch(a -> a instanceof SplicedArticleData);
+  }
+
+  private double gets(String cacheName, String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", cacheName)
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  private static User user(long id, String username) {
+    final var user = new User(id + "@example.com", username, "hash");
+    user.setId(id);
+    return user;
+  }
+
+  private static Article article(long id, User author, String body) {
+    final var article = new Article();
+    article.setId(id);
+    article.setTitle("title " + id);
+    article.setDescription("description " + id);
+    article.setBody(body);
+    article.setAuthor(author);
+    article.setFavoritesCount((int) id);
+    return article;
+  }
+}
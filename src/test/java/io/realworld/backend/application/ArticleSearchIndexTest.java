@@ -0,0 +1,46 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.ArticleSearchIndex;
+import io.realworld.backend.domain.aggregate.article.ArticleText;
+import org.junit.jupiter.api.Test;
+
+public class ArticleSearchIndexTest {
+  private static final int ARTICLES = 100;
+  private static final int UPDATES = 50;
+
+  @Test
+  public void testReplacedArticlesFreeTheirSlots() {
+    final var index = new ArticleSearchIndex();
+    for (int id = 1; id <= ARTICLES; id++) {
+      index.put(new ArticleText(id, "Title " + id, "spring", "body"));
+    }
+    for (int round = 0; round < UPDATES; round++) {
+      for (int id = 1; id <= ARTICLES; id++) {
+        index.put(new ArticleText(id, "Title " + id, "spring", "body " + round));
+      }
+    }
+
+    assertThat(index.slotCount()).isLessThanOrEqualTo(2 * 1024 + ARTICLES);
+    final var hits = index.search("title 7 spring", 0, 3);
+    assertThat(hits.getTotal()).isEqualTo(ARTICLES);
+    assertThat(hits.getIds()).first().isEqualTo(7L);
+  }
+
+  @Test
+  public void testRemovedArticlesAreNotFound() {
+    final var index = new ArticleSearchIndex();
+    for (int id = 1; id <= 3 * 1024; id++) {
+      index.put(new ArticleText(id, "Title", "java", "body"));
+    }
+    for (int id = 1; id < 3 * 1024; id++) {
+      index.remove(id);
+    }
+
+    assertThat(index.slotCount()).isLessThan(2 * 1024);
+    final var hits = index.search("java", 0, 10);
+    assertThat(hits.getIds()).containsExactly(3 * 1024L);
+    assertThat(hits.getTotal()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,127 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.ArticleSearchService;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.ArticleUpdatedEvent;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+
+@DataJpaTest
+@Import(ArticleSearchService.class)
+public class ArticleSearchServiceTest {
+  private final ArticleSearchService articleSearchService;
+  private final ArticleRepository articleRepository;
+  private final UserRepository userRepository;
+
+  /** Creates ArticleSearchServiceTest instance. */
+  @Autowired
+  public ArticleSearchServiceTest(
+      ArticleSearchService articleSearchService,
+      ArticleRepository articleRepository,
+      UserRepository userRepository) {
+    this.articleSearchService = articleSearchService;
+    this.articleRepository = articleRepository;
+    this.userRepository = userRepository;
+  }
+
+  @Test
+  public void testRanksByFieldsAndRarityOfWords() {
+    final var inBody =
+        article("Notes", "Weekly notes", "Upgrading Spring took a while, as usual with upgrades.");
+    final var inTitle = article("Spring Boot tips", "Short ones", "Nothing else to see here.");
+    final var inDescription = article("Tips", "On spring, mostly", "Nothing else to see here.");
+    article("Unrelated", "About Go", "Goroutines and channels.");
+    for (int i = 0; i < 5; i++) {
+      article("Java " + i, "Java again", "More java.");
+    }
+    final var rare = article("Kotlin", "Kotlin on the JVM", "Java interop.");
+    articleSearchService.rebuild();
+
+    assertThat(ids(articleSearchService.search("SPRING!", 0, 10)))
+        .containsExactly(inTitle.getId(), inDescription.getId(), inBody.getId());
+    assertThat(articleSearchService.search("spring", 0, 10).getTotalElements()).isEqualTo(3);
+    // The rare word ranks its article above those with the common one alone.
+    final var javaOrKotlin = articleSearchService.search("java kotlin", 0, 10);
+    assertThat(ids(javaOrKotlin).get(0)).isEqualTo(rare.getId());
+    assertThat(javaOrKotlin.getTotalElements()).isEqualTo(6);
+    assertThat(articleSearchService.search("missing", 0, 10)).isEmpty();
+    assertThat(articleSearchService.search(" ,.", 0, 10)).isEmpty();
+  }
+
+  @Test
+  public void testPagesThroughEquallyRankedArticlesNewestFirst() {
+    final var articles =
+        List.of(
+            article("Go", "", ""),
+            article("Go", "", ""),
+            article("Go", "", ""),
+            article("Go", "", ""),
+            article("Go", "", ""));
+    articleSearchService.rebuild();
+
+    final var page = articleSearchService.search("go", 1, 3);
+    assertThat(ids(page))
+        .containsExactly(articles.get(3).getId(), articles.get(2).getId(), articles.get(1).getId());
+    assertThat(page.getTotalElements()).isEqualTo(5);
+    assertThat(articleSearchService.search("go", 5, 3)).isEmpty();
+    assertThat(articleSearchService.search("go", 0, 0).getTotalElements()).isEqualTo(5);
+  }
+
+  @Test
+  public void testClampsNegativeAndHugePaging() {
+    final var articles =
+        List.of(article("Go", "", ""), article("Go", "", ""), article("Go", "", ""));
+    articleSearchService.rebuild();
+
+    assertThat(articleSearchService.search("go", -1, -5)).isEmpty();
+    assertThat(ids(articleSearchService.search("go", -1, Integer.MAX_VALUE)))
+        .containsExactly(articles.get(2).getId(), articles.get(1).getId(), articles.get(0).getId());
+    final var beyond = articleSearchService.search("go", Integer.MAX_VALUE, Integer.MAX_VALUE);
+    assertThat(beyond).isEmpty();
+    assertThat(beyond.getTotalElements()).isEqualTo(3);
+  }
+
+  @Test
+  public void testFollowsCreatesUpdatesAndDeletes() {
+    final var first = article("Java streams", "", "");
+    articleSearchService.rebuild();
+    final var second = article("Java records", "", "");
+    articleSearchService.onArticleCreated(new ArticleCreatedEvent(second));
+    assertThat(ids(articleSearchService.search("java", 0, 10)))
+        .containsExactly(second.getId(), first.getId());
+
+    first.setTitle("Kotlin flows");
+    articleSearchService.onArticleUpdated(new ArticleUpdatedEvent(first, first.getTagNames()));
+    assertThat(ids(articleSearchService.search("java", 0, 10))).containsExactly(second.getId());
+    assertThat(ids(articleSearchService.search("flows", 0, 10))).containsExactly(first.getId());
+
+    articleSearchService.onArticleDeleted(new ArticleDeletedEvent(second));
+    assertThat(articleSearchService.search("java records", 0, 10)).isEmpty();
+  }
+
+  private Article article(String title, String description, String body) {
+    final var article = new Article();
+    article.setTitle(title);
+    article.setDescription(description);
+    article.setBody(body);
+    final var username = "author" + userRepository.count();
+    article.setAuthor(userRepository.save(new User(username + "@example.com", username, "hash")));
+    return articleRepository.save(article);
+  }
+
+  private static List<Long> ids(Page<Article> page) {
+    return page.getContent().stream().map(Article::getId).collect(Collectors.toList());
+  }
+}
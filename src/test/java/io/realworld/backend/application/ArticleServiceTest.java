@@ -2,56 +2,165 @@ package io.realworld.backend.application;
 
 import static io.realworld.backend.application.Util.validateBody;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.MockitoAnnotations.openMocks;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.application.service.ArticleCounter;
+import io.realworld.backend.application.service.ArticleCounter.Mode;
+import io.realworld.backend.application.service.ArticleFragmentCache;
+import io.realworld.backend.application.service.ArticleSearchService;
 import io.realworld.backend.application.service.ArticleService;
+import io.realworld.backend.application.service.FeedEngine;
+import io.realworld.backend.application.service.TagFilterService;
+import io.realworld.backend.application.service.TagIndex;
 import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleFilter;
 import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.ArticleVersion;
+import io.realworld.backend.domain.aggregate.article.Tag;
+import io.realworld.backend.domain.aggregate.article.TagRepository;
 import io.realworld.backend.domain.aggregate.comment.CommentRepository;
 import io.realworld.backend.domain.aggregate.favourite.ArticleFavourite;
 import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteId;
 import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository;
+import io.realworld.backend.domain.aggregate.follow.FollowRelation;
 import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
 import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.service.AuthenticatedUser;
 import io.realworld.backend.domain.service.AuthenticationService;
+import io.realworld.backend.infrastructure.security.SpringAuthenticationService;
+import io.realworld.backend.rest.api.ArticleData;
 import io.realworld.backend.rest.api.NewArticleData;
 import io.realworld.backend.rest.api.NewArticleRequestData;
+import java.time.Duration;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.RequiresNonNull;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 public class ArticleServiceTest {
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final Set<String> storedTags = new HashSet<>();
+  private @MonotonicNonNull ArticleCounter articleCounter;
   private @MonotonicNonNull ArticleService articleService;
   @Mock private @MonotonicNonNull ArticleRepository articleRepository;
+  @Mock private @MonotonicNonNull TagRepository tagRepository;
   @Mock private @MonotonicNonNull FollowRelationRepository followRelationRepository;
   @Mock private @MonotonicNonNull ArticleFavouriteRepository articleFavouriteRepository;
   @Mock private @MonotonicNonNull CommentRepository commentRepository;
   @Mock private @MonotonicNonNull AuthenticationService authenticationService;
+  @Mock private @MonotonicNonNull FeedEngine feedEngine;
+  @Mock private @MonotonicNonNull TagIndex tagIndex;
+  @Mock private @MonotonicNonNull TagFilterService tagFilterService;
+  @Mock private @MonotonicNonNull ArticleSearchService articleSearchService;
+  @Mock private @MonotonicNonNull ApplicationEventPublisher eventPublisher;
+  @Mock private @MonotonicNonNull UserRepository userRepository;
+  @Mock private @MonotonicNonNull PasswordEncoder passwordEncoder;
 
   @BeforeEach
   @RequiresNonNull({
     "articleRepository",
+    "tagRepository",
     "followRelationRepository",
     "articleFavouriteRepository",
     "commentRepository",
-    "authenticationService"
+    "authenticationService",
+    "feedEngine",
+    "tagIndex",
+    "tagFilterService",
+    "articleSearchService",
+    "eventPublisher"
   })
   public void setUp() {
     openMocks(this);
     given(authenticationService.getCurrentUser())
         .willReturn(Optional.of(new User("email@example.com", "example", "hash")));
-    articleService =
-        new ArticleService(
-            articleRepository,
-            followRelationRepository,
-            articleFavouriteRepository,
-            commentRepository,
-            authenticationService);
+    given(authenticationService.getAuthenticatedUser())
+        .willReturn(Optional.of(new AuthenticatedUser(0, "example")));
+    given(tagRepository.insertIfAbsent(any()))
+        .willAnswer(invocation -> storedTags.add(invocation.getArgument(0)));
+    given(tagRepository.findByNameIn(any()))
+        .willAnswer(
+            invocation ->
+                invocation.<Collection<String>>getArgument(0).stream()
+                    .filter(storedTags::contains)
+                    .map(Tag::new)
+                    .collect(Collectors.toList()));
+    given(articleRepository.slugMightExist(any())).willReturn(true);
+    articleService = articleService(authenticationService);
+  }
+
+  @RequiresNonNull({
+    "articleRepository",
+    "tagRepository",
+    "followRelationRepository",
+    "articleFavouriteRepository",
+    "commentRepository",
+    "feedEngine",
+    "tagIndex",
+    "tagFilterService",
+    "articleSearchService",
+    "eventPublisher"
+  })
+  private ArticleService articleService(AuthenticationService authenticationService) {
+    articleCounter =
+        new ArticleCounter(
+            articleRepository, Mode.CACHED, 100, Duration.ofMinutes(1), meterRegistry);
+    return new ArticleService(
+        articleRepository,
+        tagRepository,
+        followRelationRepository,
+        articleFavouriteRepository,
+        commentRepository,
+        authenticationService,
+        articleCounter,
+        feedEngine,
+        tagIndex,
+        tagFilterService,
+        articleSearchService,
+        new ArticleFragmentCache(
+            Jackson2ObjectMapperBuilder.json().build(), true, true, 1 << 20, meterRegistry),
+        eventPublisher,
+        100,
+        meterRegistry);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+    SecurityContextHolder.clearContext();
   }
 
   @Test
@@ -93,19 +202,314 @@ public class ArticleServiceTest {
     assertThat(articleData.getSlug()).contains("title-");
   }
 
+  @Test
+  @RequiresNonNull({"articleService", "articleRepository"})
+  public void testConditionalGetArticleIsAnsweredFromVersion() {
+    final var article = article(10, 1);
+    given(articleRepository.findBySlug(article.getSlug())).willReturn(Optional.of(article));
+    given(articleRepository.findVersionBySlug(article.getSlug()))
+        .willReturn(Optional.of(ArticleVersion.of(article)));
+    final var etag =
+        Objects.requireNonNull(articleService.getArticle(article.getSlug()).getHeaders().getETag());
+
+    conditionalRequest(HttpHeaders.IF_NONE_MATCH, etag);
+    final var resp = articleService.getArticle(article.getSlug());
+
+    assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    assertThat(resp.getBody()).isNull();
+    verify(articleRepository, times(1)).findBySlug(article.getSlug());
+  }
+
+  @Test
+  @RequiresNonNull({"articleService", "articleRepository"})
+  public void testConditionalGetArticleReturnsChangedArticle() {
+    final var article = article(10, 1);
+    given(articleRepository.findBySlug(article.getSlug())).willReturn(Optional.of(article));
+    final var etag =
+        Objects.requireNonNull(articleService.getArticle(article.getSlug()).getHeaders().getETag());
+    article.setModifiedAt(article.getModifiedAt().plusSeconds(1));
+    given(articleRepository.findVersionBySlug(article.getSlug()))
+        .willReturn(Optional.of(ArticleVersion.of(article)));
+
+    conditionalRequest(HttpHeaders.IF_NONE_MATCH, etag);
+    final var resp = articleService.getArticle(article.getSlug());
+
+    assertThat(validateBody(resp).getArticle().getSlug()).isEqualTo(article.getSlug());
+    assertThat(resp.getHeaders().getETag()).isNotEqualTo(etag);
+  }
+
+  @Test
+  @RequiresNonNull({"articleService", "articleRepository", "articleFavouriteRepository"})
+  public void testListEtagFollowsViewerFlags() {
+    given(articleRepository.findByFilter(any(), any()))
+        .willReturn(List.of(article(10, 1), article(11, 2)));
+    final var etag =
+        Objects.requireNonNull(
+            articleService.getArticles(null, "any", null, null, 20, 0, null, true)
+                .getHeaders()
+                .getETag());
+    assertThat(etag).startsWith("W/");
+
+    conditionalRequest(HttpHeaders.IF_NONE_MATCH, etag);
+    assertThat(
+            articleService.getArticles(null, "any", null, null, 20, 0, null, true).getStatusCode())
+        .isEqualTo(HttpStatus.NOT_MODIFIED);
+
+    given(articleFavouriteRepository.findByIdUserIdAndIdArticleIdIn(0, List.of(10L, 11L)))
+        .willReturn(List.of(new ArticleFavourite(0, 10)));
+    assertThat(
+            articleService.getArticles(null, "any", null, null, 20, 0, null, true).getStatusCode())
+        .isEqualTo(HttpStatus.OK);
+  }
+
   @Test
   @RequiresNonNull({"articleService", "articleRepository", "articleFavouriteRepository"})
   public void testCreateArticleFavorite() {
     final var article = new Article();
     article.setTitle("title");
+    article.setFavoritesCount(2);
     given(articleRepository.findBySlug(article.getSlug())).willReturn(Optional.of(article));
-    given(articleFavouriteRepository.findById(new ArticleFavouriteId(0, 0)))
-        .willReturn(Optional.of(new ArticleFavourite(0, 0)));
-    given(articleFavouriteRepository.countByIdArticleId(0)).willReturn(2);
+    given(articleFavouriteRepository.insertIfAbsent(new ArticleFavouriteId(0, 0)))
+        .willReturn(false);
     final var resp = articleService.createArticleFavorite(article.getSlug());
     final var body = validateBody(resp);
     final var articleData = body.getArticle();
     assertThat(articleData.getFavorited()).isTrue();
     assertThat(articleData.getFavoritesCount()).isEqualTo(2);
+    verify(articleRepository, never()).incrementFavoritesCount(anyLong());
+  }
+
+  @Test
+  @RequiresNonNull({"articleService", "articleRepository", "articleFavouriteRepository"})
+  public void testCreateArticleFavoriteIncrementsCount() {
+    final var article = article(10, 1);
+    article.setFavoritesCount(2);
+    given(articleRepository.findBySlug(article.getSlug())).willReturn(Optional.of(article));
+    given(articleFavouriteRepository.insertIfAbsent(new ArticleFavouriteId(0, 10)))
+        .willReturn(true);
+
+    final var body = validateBody(articleService.createArticleFavorite(article.getSlug()));
+
+    assertThat(body.getArticle().getFavorited()).isTrue();
+    assertThat(body.getArticle().getFavoritesCount()).isEqualTo(3);
+    verify(articleRepository).incrementFavoritesCount(10);
+  }
+
+  @Test
+  @RequiresNonNull({
+    "articleService",
+    "articleCounter",
+    "articleRepository",
+    "articleFavouriteRepository",
+    "authenticationService"
+  })
+  public void testFavoriteEvictsCountsOfTheCurrentUsername() {
+    final var article = article(10, 1);
+    final var favouritedByUser = new ArticleFilter(null, null, "example");
+    given(authenticationService.getAuthenticatedUser())
+        .willReturn(Optional.of(new AuthenticatedUser(0, "nameInToken")));
+    given(articleRepository.findBySlug(article.getSlug())).willReturn(Optional.of(article));
+    given(articleFavouriteRepository.insertIfAbsent(new ArticleFavouriteId(0, 10)))
+        .willReturn(true);
+    given(articleRepository.countByFilter(favouritedByUser)).willReturn(1, 2);
+    articleCounter.countByFilter(favouritedByUser);
+
+    articleService.createArticleFavorite(article.getSlug());
+
+    assertThat(articleCounter.countByFilter(favouritedByUser)).isEqualTo(2);
+  }
+
+  @Test
+  @RequiresNonNull({"articleService", "articleRepository", "articleFavouriteRepository"})
+  public void testDeleteArticleFavoriteDecrementsCountOnlyIfDeleted() {
+    final var article = article(10, 1);
+    article.setFavoritesCount(2);
+    given(articleRepository.findBySlug(article.getSlug())).willReturn(Optional.of(article));
+    given(articleFavouriteRepository.deleteIfExists(new ArticleFavouriteId(0, 10)))
+        .willReturn(1, 0);
+
+    final var deleted = validateBody(articleService.deleteArticleFavorite(article.getSlug()));
+    final var again = validateBody(articleService.deleteArticleFavorite(article.getSlug()));
+
+    assertThat(deleted.getArticle().getFavorited()).isFalse();
+    assertThat(deleted.getArticle().getFavoritesCount()).isEqualTo(1);
+    assertThat(again.getArticle().getFavoritesCount()).isEqualTo(2);
+    verify(articleRepository, times(1)).decrementFavoritesCount(10);
+  }
+
+  @Test
+  @RequiresNonNull({
+    "articleService",
+    "articleRepository",
+    "articleFavouriteRepository",
+    "followRelationRepository"
+  })
+  public void testGetArticlesLooksUpViewerStateOfPageOnly() {
+    final var articles = List.of(article(10, 1), article(11, 2));
+    articles.get(0).setFavoritesCount(3);
+    articles.get(1).setFavoritesCount(1);
+    given(articleRepository.findByFilter(any(), any())).willReturn(articles);
+    given(articleRepository.countByFilter(any())).willReturn(2);
+    given(articleFavouriteRepository.findByIdUserIdAndIdArticleIdIn(0, List.of(10L, 11L)))
+        .willReturn(List.of(new ArticleFavourite(0, 10)));
+    given(followRelationRepository.findByIdFollowerIdAndIdFolloweeIdIn(0, Set.of(1L, 2L)))
+        .willReturn(List.of(new FollowRelation(0, 2)));
+
+    final var body =
+        validateBody(
+            articleService.getArticles("tag", "any", "author", "user", 20, 0, null, false));
+
+    assertThat(body.getArticles())
+        .extracting(
+            ArticleData::getFavorited,
+            ArticleData::getFavoritesCount,
+            a -> a.getAuthor().getFollowing())
+        .containsExactly(tuple(true, 3, false), tuple(false, 1, true));
+    verify(followRelationRepository, never()).findByIdFollowerId(anyLong());
+  }
+
+  @Test
+  @RequiresNonNull({"articleService", "feedEngine", "followRelationRepository"})
+  public void testGetArticlesFeedReadsTimelineWithoutFollowList() {
+    given(feedEngine.feed(0, 0, 21)).willReturn(List.of(article(10, 1), article(11, 2)));
+    given(feedEngine.count(0)).willReturn(2);
+
+    final var body = validateBody(articleService.getArticlesFeed(20, 0, null, false));
+
+    assertThat(body.getArticles()).allMatch(a -> a.getAuthor().getFollowing());
+    assertThat(body.getArticlesCount()).isEqualTo(2);
+    verify(followRelationRepository, never()).findByIdFollowerId(anyLong());
+    verify(followRelationRepository, never()).findByIdFollowerIdAndIdFolloweeIdIn(anyLong(), any());
+  }
+
+  @Test
+  @RequiresNonNull({"articleService", "articleRepository", "feedEngine", "tagFilterService"})
+  public void testExtremePagingIsClampedBeforeTheLookAheadRow() {
+    articleService.getArticlesFeed(Integer.MAX_VALUE, -5, null, true);
+    articleService.getArticles(
+        null, "any", null, null, Integer.MAX_VALUE, Integer.MAX_VALUE, null, true);
+    articleService.getArticles(
+        "a,b", "any", null, null, Integer.MIN_VALUE, Integer.MIN_VALUE, null, true);
+
+    verify(feedEngine).feed(0, 0, 101);
+    verify(articleRepository)
+        .findByFilter(
+            any(),
+            argThat(page -> page.getOffset() == Integer.MAX_VALUE && page.getPageSize() == 101));
+    verify(tagFilterService)
+        .find(List.of("a", "b"), false, new ArticleFilter(null, null, null), null, 0, 1);
+  }
+
+  @Test
+  @RequiresNonNull({
+    "articleRepository",
+    "tagRepository",
+    "followRelationRepository",
+    "articleFavouriteRepository",
+    "commentRepository",
+    "feedEngine",
+    "tagIndex",
+    "tagFilterService",
+    "articleSearchService",
+    "eventPublisher",
+    "userRepository"
+  })
+  public void testAuthenticatedRequestLooksUpUserAtMostOnce() {
+    final var user = new User("email@example.com", "example", "hash");
+    given(userRepository.findById(0L)).willReturn(Optional.of(user));
+    given(articleRepository.findByFilter(any(), any()))
+        .willReturn(List.of(article(10, 1), article(11, 2)));
+    given(feedEngine.feed(0, 0, 21)).willReturn(List.of(article(10, 1)));
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(0, "example"), "token", List.of()));
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    final var service =
+        articleService(new SpringAuthenticationService(userRepository, passwordEncoder));
+
+    service.getArticles(null, "any", null, null, 20, 0, null, true);
+    service.getArticlesFeed(20, 0, null, true);
+    verifyNoInteractions(userRepository);
+
+    service.createArticle(newArticleRequest("tag"));
+    service.createArticle(newArticleRequest("tag"));
+    verify(userRepository, times(1)).findById(0L);
+    verify(userRepository, never()).findByEmail(any());
+  }
+
+  @Test
+  @RequiresNonNull({"articleService", "eventPublisher"})
+  public void testCreateArticlePublishesEvent() {
+    articleService.createArticle(newArticleRequest("tag"));
+
+    verify(eventPublisher).publishEvent(any(ArticleCreatedEvent.class));
+  }
+
+  @Test
+  @RequiresNonNull({"articleService", "articleRepository"})
+  public void testCachedCountIsEvictedByMatchingArticle() {
+    given(articleRepository.countByFilter(any())).willReturn(5, 6);
+
+    assertThat(listCount("tag")).isEqualTo(5);
+    assertThat(listCount("tag")).isEqualTo(5);
+    articleService.createArticle(newArticleRequest("other"));
+    assertThat(listCount("tag")).isEqualTo(5);
+    articleService.createArticle(newArticleRequest("tag"));
+    assertThat(listCount("tag")).isEqualTo(6);
+
+    verify(articleRepository, times(2)).countByFilter(new ArticleFilter("tag", null, null));
+    assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count())
+        .isEqualTo(2);
+  }
+
+  @Test
+  @RequiresNonNull({"articleService", "articleRepository"})
+  public void testSkipCountReportsHasMore() {
+    given(articleRepository.findByFilter(any(), any()))
+        .willReturn(List.of(article(10, 1), article(11, 1), article(12, 1)));
+
+    final var body =
+        validateBody(articleService.getArticles(null, "any", null, null, 2, 0, null, true));
+
+    assertThat(body.getArticles()).hasSize(2);
+    assertThat(body.getHasMore()).isTrue();
+    assertThat(body.getArticlesCount()).isNull();
+    assertThat(body.getNextCursor()).isNotNull();
+    verify(articleRepository, never()).countByFilter(any());
+  }
+
+  @RequiresNonNull({"articleService"})
+  private Integer listCount(String tag) {
+    return validateBody(articleService.getArticles(tag, "any", null, null, 20, 0, null, false))
+        .getArticlesCount();
+  }
+
+  private static void conditionalRequest(String header, String value) {
+    final var request = new MockHttpServletRequest("GET", "/api/articles");
+    request.addHeader(header, value);
+    RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+  }
+
+  private static NewArticleRequestData newArticleRequest(String tag) {
+    final var newArticle = new NewArticleData();
+    newArticle.setTitle("title");
+    newArticle.setDescription("description");
+    newArticle.setBody("body");
+    newArticle.setTagList(Collections.singletonList(tag));
+    final var req = new NewArticleRequestData();
+    req.setArticle(newArticle);
+    return req;
+  }
+
+  private static Article article(long id, long authorId) {
+    final var author = new User(authorId + "@example.com", "author" + authorId, "hash");
+    author.setId(authorId);
+    final var article = new Article();
+    article.setId(id);
+    article.setTitle("title " + id);
+    article.setAuthor(author);
+    return article;
   }
 }
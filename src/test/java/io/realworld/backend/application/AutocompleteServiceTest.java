@@ -0,0 +1,113 @@
+package io.realworld.backend.application;
+
+import static io.realworld.backend.application.Util.validateBody;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.AutocompleteService;
+import io.realworld.backend.application.service.TagIndex;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.Tag;
+import io.realworld.backend.domain.aggregate.follow.FollowChangedEvent;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserCreatedEvent;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.aggregate.user.UserUpdatedEvent;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import({AutocompleteService.class, TagIndex.class})
+@TestPropertySource(properties = {"tag.index.limit=3", "autocomplete.maxLimit=2"})
+public class AutocompleteServiceTest {
+  private final AutocompleteService autocompleteService;
+  private final TagIndex tagIndex;
+  private final UserRepository userRepository;
+
+  /** Creates AutocompleteServiceTest instance. */
+  @Autowired
+  public AutocompleteServiceTest(
+      AutocompleteService autocompleteService, TagIndex tagIndex, UserRepository userRepository) {
+    this.autocompleteService = autocompleteService;
+    this.tagIndex = tagIndex;
+    this.userRepository = userRepository;
+  }
+
+  @Test
+  public void testCompletesUsernamesByFollowersCount() {
+    final var alice = user("alice", 5);
+    user("alan", 1);
+    user("albert", 0);
+    user("bob", 9);
+    autocompleteService.rebuild();
+    assertThat(usernames("al", 10)).containsExactly("alice", "alan");
+    assertThat(usernames("alb", 10)).containsExactly("albert");
+
+    final var alfred = user("alfred", 0);
+    autocompleteService.onUserCreated(new UserCreatedEvent(alfred));
+    autocompleteService.onFollowChanged(new FollowChangedEvent(alice.getId(), alfred, true));
+    autocompleteService.onFollowChanged(new FollowChangedEvent(alice.getId(), alfred, true));
+    assertThat(usernames("al", 10)).containsExactly("alice", "alfred");
+
+    alice.setUsername("zed");
+    autocompleteService.onUserUpdated(new UserUpdatedEvent(alice, "alice"));
+    assertThat(usernames("al", 10)).containsExactly("alfred", "alan");
+    assertThat(usernames("", 10)).containsExactly("bob", "zed");
+  }
+
+  @Test
+  public void testRenameKeepsFollowsCommittedDuringTheUpdate() {
+    final var alice = user("alice", 2);
+    final var bob = user("bob", 2);
+    autocompleteService.rebuild();
+
+    // Committed while the update of alice ran, whose user still has the old count.
+    autocompleteService.onFollowChanged(new FollowChangedEvent(bob.getId(), alice, true));
+    alice.setUsername("zed");
+    autocompleteService.onUserUpdated(new UserUpdatedEvent(alice, "alice"));
+
+    assertThat(usernames("", 10)).containsExactly("zed", "bob");
+    assertThat(usernames("al", 10)).isEmpty();
+  }
+
+  @Test
+  public void testCompletesTagsByArticleCount() {
+    tagIndex.rebuild();
+    final var spring = article("java", "spring");
+    tagIndex.onArticleCreated(new ArticleCreatedEvent(spring));
+    tagIndex.onArticleCreated(new ArticleCreatedEvent(article("javascript")));
+    tagIndex.onArticleCreated(new ArticleCreatedEvent(article("javascript", "jakarta")));
+    assertThat(tags("ja", 10)).containsExactly("javascript", "jakarta");
+    assertThat(tags("java", 1)).containsExactly("javascript");
+
+    tagIndex.onArticleDeleted(new ArticleDeletedEvent(spring));
+    assertThat(tags("s", 10)).isEmpty();
+  }
+
+  private List<String> usernames(String prefix, int limit) {
+    return validateBody(autocompleteService.completeUsernames(prefix, limit)).getCompletions();
+  }
+
+  private List<String> tags(String prefix, int limit) {
+    return validateBody(autocompleteService.completeTags(prefix, limit)).getCompletions();
+  }
+
+  private User user(String username, int followersCount) {
+    final var user = new User(username + "@example.com", username, "hash");
+    user.setFollowersCount(followersCount);
+    return userRepository.save(user);
+  }
+
+  private static Article article(String... tags) {
+    final var article = new Article();
+    article.setTitle("title");
+    article.setTags(List.of(tags).stream().map(Tag::new).collect(Collectors.toList()));
+    return article;
+  }
+}
@@ -0,0 +1,95 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.application.exception.InvalidPasswordException;
+import io.realworld.backend.application.exception.ServiceUnavailableException;
+import io.realworld.backend.application.util.BoundedExecutor;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class BoundedExecutorTest {
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final BoundedExecutor executor =
+      new BoundedExecutor("test", 1, 1, Duration.ofSeconds(2), meterRegistry);
+
+  @Test
+  public void testTasksBeyondQueueAreRejected() throws Exception {
+    final var started = new CountDownLatch(1);
+    final var release = new CountDownLatch(1);
+    final var running =
+        CompletableFuture.supplyAsync(
+            () ->
+                executor.call(
+                    () -> {
+                      started.countDown();
+                      await(release);
+                      return "running";
+                    }));
+    assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+    final var queued = CompletableFuture.supplyAsync(() -> executor.call(() -> "queued"));
+    awaitQueued(1);
+
+    assertThatThrownBy(() -> executor.call(() -> "rejected"))
+        .isInstanceOf(ServiceUnavailableException.class)
+        .extracting(e -> ((ServiceUnavailableException) e).getRetryAfter())
+        .isEqualTo(Duration.ofSeconds(2));
+    assertThat(meterRegistry.get("executor.rejected").tag("name", "test").counter().count())
+        .isEqualTo(1);
+
+    release.countDown();
+    assertThat(running.get(10, TimeUnit.SECONDS)).isEqualTo("running");
+    assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("queued");
+  }
+
+  @Test
+  public void testExceptionsOfTasksReachTheCaller() {
+    assertThatThrownBy(
+            () ->
+                executor.call(
+                    () -> {
+                      throw new InvalidPasswordException("wrong");
+                    }))
+        .isInstanceOf(InvalidPasswordException.class);
+  }
+
+  @Test
+  public void testShutdownFinishesQueuedTasksAndRejectsNewOnes() {
+    final var ran = new CountDownLatch(1);
+    assertThat(executor.offer(ran::countDown)).isTrue();
+
+    executor.shutdown(Duration.ofSeconds(10));
+
+    assertThat(ran.getCount()).isZero();
+    assertThat(executor.offer(() -> {})).isFalse();
+    assertThatThrownBy(() -> executor.call(() -> "late"))
+        .isInstanceOf(ServiceUnavailableException.class);
+  }
+
+  private void awaitQueued(int count) throws InterruptedException {
+    final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (queued() < count && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertThat(queued()).isEqualTo(count);
+  }
+
+  private double queued() {
+    return meterRegistry.get("executor.queued").tag("name", "test").gauge().value();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.CompletionIndex;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Random;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures completion latency over a million keys. Run with {@code mvn test -Pbenchmark}; the
+ * median and 99th percentile latencies are logged for prefixes of one to three letters.
+ */
+@Tag("benchmark")
+public class CompletionBenchmarkTest {
+  private static final Logger logger = LoggerFactory.getLogger(CompletionBenchmarkTest.class);
+  private static final int KEYS = 1_000_000;
+  private static final int LIMIT = 10;
+  private static final int WARMUPS = 20_000;
+  private static final int RUNS = 10_000;
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void benchmarkCompletion() {
+    final var scored = new HashMap<String, Integer>();
+    while (scored.size() < KEYS) {
+      // Skewed scores, as few users have many followers.
+      scored.put(
+          randomKey(4 + random.nextInt(8)), (int) (Math.pow(random.nextDouble(), 4) * 10_000));
+    }
+    final var index = new CompletionIndex(0);
+    index.replaceAll(scored);
+    // Updates leave new keys in the buffer and change scores in place.
+    for (int i = 0; i < 1000; i++) {
+      index.put(randomKey(6), random.nextInt(10_000));
+      index.adjust(randomKey(6), 1);
+    }
+
+    for (int length = 1; length <= 3; length++) {
+      final var prefixLength = length;
+      final var nanos = new long[RUNS];
+      for (int i = -WARMUPS; i < RUNS; i++) {
+        final var prefix = randomKey(prefixLength);
+        final var start = System.nanoTime();
+        final var completions = index.complete(prefix, LIMIT);
+        if (i >= 0) {
+          nanos[i] = System.nanoTime() - start;
+          assertThat(completions).hasSize(LIMIT);
+        }
+      }
+      Arrays.sort(nanos);
+      final var p99 = nanos[RUNS * 99 / 100] / 1000;
+      logger.info(
+          "{} keys, prefix of {}: median {} us, p99 {} us",
+          index.size(),
+          prefixLength,
+          nanos[RUNS / 2] / 1000,
+          p99);
+      assertThat(p99).isLessThan(1000);
+    }
+  }
+
+  private String randomKey(int length) {
+    final var key = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      key.append((char) ('a' + random.nextInt(26)));
+    }
+    return key.toString();
+  }
+}
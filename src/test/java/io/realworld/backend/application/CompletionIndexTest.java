@@ -0,0 +1,109 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.CompletionIndex;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class CompletionIndexTest {
+  private static final List<String> PREFIXES = List.of("", "a", "b", "ab", "ba", "abc", "zz");
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void testCompletesLikeSortingAllKeysThroughUpdatesAndMerges() {
+    final var index = new CompletionIndex(1);
+    final var expected = new HashMap<String, Integer>();
+    for (int i = 0; i < 2000; i++) {
+      expected.put(randomKey(), random.nextInt(5));
+    }
+    index.replaceAll(expected);
+    expected.values().removeIf(score -> score < 1);
+    assertCompletions(index, expected);
+
+    // Enough new keys to merge the buffer into the array more than once.
+    for (int i = 0; i < 5000; i++) {
+      final var key = randomKey();
+      final var operation = random.nextInt(4);
+      if (operation == 0) {
+        index.remove(key);
+        expected.remove(key);
+      } else if (operation == 1) {
+        final var score = random.nextInt(5);
+        index.put(key, score);
+        expected.put(key, score);
+      } else {
+        final var delta = operation == 2 ? 1 : -1;
+        index.adjust(key, delta);
+        expected.put(key, Math.max(expected.getOrDefault(key, 0) + delta, 0));
+      }
+      expected.values().removeIf(score -> score < 1);
+      if (i % 500 == 0) {
+        assertCompletions(index, expected);
+      }
+    }
+    assertCompletions(index, expected);
+    assertThat(index.size()).isEqualTo(expected.size());
+  }
+
+  @Test
+  public void testKeepsKeysWithoutScoreWhenMinimumIsZero() {
+    final var index = new CompletionIndex(0);
+    index.replaceAll(Map.of("bob", 0, "bobby", 2));
+    index.put("bobcat", 0);
+    index.adjust("bob", -1);
+
+    assertThat(index.complete("bob", 10)).containsExactly("bobby", "bob", "bobcat");
+    assertThat(index.complete("bob", -1)).isEmpty();
+    index.remove("bob");
+    assertThat(index.complete("bo", 10)).containsExactly("bobby", "bobcat");
+  }
+
+  @Test
+  public void testRenameMovesTheScore() {
+    final var index = new CompletionIndex(0);
+    index.replaceAll(Map.of("alice", 3, "bob", 2));
+    index.put("carol", 1);
+
+    index.rename("alice", "zed");
+    index.rename("carol", "ann");
+    index.rename("missing", "dave");
+
+    assertThat(index.complete("", 10)).containsExactly("zed", "bob", "ann", "dave");
+    assertThat(index.complete("al", 10)).isEmpty();
+    assertThat(index.complete("c", 10)).isEmpty();
+  }
+
+  private void assertCompletions(CompletionIndex index, Map<String, Integer> expected) {
+    for (final var prefix : PREFIXES) {
+      for (final var limit : List.of(1, 5, 50)) {
+        final var best =
+            expected.entrySet().stream()
+                .filter(entry -> entry.getKey().startsWith(prefix))
+                .sorted(
+                    Map.Entry.<String, Integer>comparingByValue()
+                        .reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+        assertThat(index.complete(prefix, limit)).as("%d for '%s'", limit, prefix).isEqualTo(best);
+      }
+    }
+  }
+
+  private String randomKey() {
+    final var key = new StringBuilder();
+    // Few first letters make long ranges of keys with the same prefix.
+    key.append((char) ('a' + random.nextInt(3)));
+    for (int i = random.nextInt(6); i > 0; i--) {
+      key.append((char) ('a' + random.nextInt(i > 3 ? 3 : 26)));
+    }
+    return key.toString();
+  }
+}
@@ -0,0 +1,201 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.TagRepository;
+import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository;
+import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.service.JwtService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.function.Predicate;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * Sends the same registration, favourite, follow and new tag from many threads at once, and checks
+ * that the unique indexes let exactly one of each through, with every other request answered as a
+ * client error or an idempotent success rather than a server error.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(
+    properties = {"passwordHashing.targetTime=1ms", "passwordHashing.minStrength=4"})
+public class ConcurrentWritesTest {
+  private static final int THREADS = 16;
+
+  private final MockMvc mockMvc;
+  private final UserRepository userRepository;
+  private final ArticleRepository articleRepository;
+  private final ArticleFavouriteRepository articleFavouriteRepository;
+  private final FollowRelationRepository followRelationRepository;
+  private final TagRepository tagRepository;
+  private final JwtService jwtService;
+  private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+  /** Creates ConcurrentWritesTest instance. */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  @Autowired
+  public ConcurrentWritesTest(
+      MockMvc mockMvc,
+      UserRepository userRepository,
+      ArticleRepository articleRepository,
+      ArticleFavouriteRepository articleFavouriteRepository,
+      FollowRelationRepository followRelationRepository,
+      TagRepository tagRepository,
+      JwtService jwtService) {
+    this.mockMvc = mockMvc;
+    this.userRepository = userRepository;
+    this.articleRepository = articleRepository;
+    this.articleFavouriteRepository = articleFavouriteRepository;
+    this.followRelationRepository = followRelationRepository;
+    this.tagRepository = tagRepository;
+    this.jwtService = jwtService;
+  }
+
+  @AfterEach
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testConcurrentRegistrationsOfOneUsernameCreateOneUser() throws Exception {
+    final var statuses = concurrently(i -> register("racer", "racer" + i + "@example.com"));
+
+    assertThat(statuses).containsOnly(200, 422);
+    assertThat(statuses.stream().filter(s -> s == 200)).hasSize(1);
+    assertThat(usersMatching(u -> u.getUsername().equals("racer"))).isEqualTo(1);
+  }
+
+  @Test
+  public void testConcurrentRegistrationsOfOneEmailCreateOneUser() throws Exception {
+    final var statuses = concurrently(i -> register("runner" + i, "runner@example.com"));
+
+    assertThat(statuses).containsOnly(200, 422);
+    assertThat(statuses.stream().filter(s -> s == 200)).hasSize(1);
+    assertThat(usersMatching(u -> u.getEmail().equals("runner@example.com"))).isEqualTo(1);
+  }
+
+  @Test
+  public void testConcurrentFavouritesOfOneArticleCountOnce() throws Exception {
+    final var author = userRepository.save(new User("fav-author@example.com", "favAuthor", "h"));
+    final var reader = userRepository.save(new User("fav-reader@example.com", "favReader", "h"));
+    final var article = new Article();
+    article.setTitle("Favourited concurrently");
+    article.setDescription("description");
+    article.setBody("body");
+    article.setAuthor(author);
+    final var saved = articleRepository.save(article);
+    final var token = jwtService.generateToken(reader);
+
+    final var statuses =
+        concurrently(
+            i ->
+                post("/api/articles/" + saved.getSlug() + "/favorite")
+                    .header(HttpHeaders.AUTHORIZATION, "Token " + token));
+
+    assertThat(statuses).containsOnly(200);
+    assertThat(articleRepository.findById(saved.getId()))
+        .hasValueSatisfying(a -> assertThat(a.getFavoritesCount()).isEqualTo(1));
+    assertThat(
+            articleFavouriteRepository.findByIdUserIdAndIdArticleIdIn(
+                reader.getId(), List.of(saved.getId())))
+        .hasSize(1);
+  }
+
+  @Test
+  public void testConcurrentFollowsOfOneUserCountOnce() throws Exception {
+    final var followee = userRepository.save(new User("followee@example.com", "followee", "h"));
+    final var follower = userRepository.save(new User("follower@example.com", "follower", "h"));
+    final var token = jwtService.generateToken(follower);
+
+    final var statuses =
+        concurrently(
+            i ->
+                post("/api/profiles/followee/follow")
+                    .header(HttpHeaders.AUTHORIZATION, "Token " + token));
+
+    assertThat(statuses).containsOnly(200);
+    assertThat(userRepository.findById(followee.getId()))
+        .hasValueSatisfying(u -> assertThat(u.getFollowersCount()).isEqualTo(1));
+    assertThat(followRelationRepository.findFolloweeIds(follower.getId()))
+        .containsExactly(followee.getId());
+  }
+
+  @Test
+  public void testConcurrentArticlesIntroducingOneTagShareIt() throws Exception {
+    final var author = userRepository.save(new User("tagger@example.com", "tagger", "h"));
+    final var token = jwtService.generateToken(author);
+
+    final var statuses =
+        concurrently(
+            i ->
+                post("/api/articles")
+                    .header(HttpHeaders.AUTHORIZATION, "Token " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        String.format(
+                            "{\"article\":{\"title\":\"Tagged %d\",\"description\":\"d\","
+                                + "\"body\":\"b\",\"tagList\":[\"racing\"]}}",
+                            i)));
+
+    assertThat(statuses).containsOnly(200);
+    assertThat(tagRepository.findByNameIn(List.of("racing"))).hasSize(1);
+  }
+
+  /** Performs one request per thread, all released at once, and returns their statuses. */
+  private List<Integer> concurrently(IntFunction<RequestBuilder> request) throws Exception {
+    final var start = new CountDownLatch(1);
+    final var futures = new ArrayList<Future<Integer>>();
+    for (int i = 0; i < THREADS; i++) {
+      final var builder = request.apply(i);
+      futures.add(
+          executor.submit(
+              () -> {
+                start.await();
+                return mockMvc.perform(builder).andReturn().getResponse().getStatus();
+              }));
+    }
+    start.countDown();
+    final var statuses = new ArrayList<Integer>();
+    for (final var future : futures) {
+      statuses.add(future.get(30, TimeUnit.SECONDS));
+    }
+    return statuses;
+  }
+
+  private static RequestBuilder register(String username, String email) {
+    return post("/api/users")
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(
+            String.format(
+                "{\"user\":{\"username\":\"%s\",\"email\":\"%s\",\"password\":\"secret\"}}",
+                username, email));
+  }
+
+  private long usersMatching(Predicate<User> predicate) {
+    return StreamSupport.stream(userRepository.findAll().spliterator(), false)
+        .filter(predicate)
+        .count();
+  }
+}
@@ -0,0 +1,74 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.job.FavoritesCountReconciliationJob;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.favourite.ArticleFavourite;
+import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+public class FavoritesCountReconciliationJobTest {
+  private final ArticleRepository articleRepository;
+  private final ArticleFavouriteRepository articleFavouriteRepository;
+  private final UserRepository userRepository;
+  private final EntityManager entityManager;
+
+  /** Creates FavoritesCountReconciliationJobTest instance. */
+  @Autowired
+  public FavoritesCountReconciliationJobTest(
+      ArticleRepository articleRepository,
+      ArticleFavouriteRepository articleFavouriteRepository,
+      UserRepository userRepository,
+      EntityManager entityManager) {
+    this.articleRepository = articleRepository;
+    this.articleFavouriteRepository = articleFavouriteRepository;
+    this.userRepository = userRepository;
+    this.entityManager = entityManager;
+  }
+
+  @Test
+  public void testReconcileCorrectsDriftedCountsOnly() {
+    final var user = userRepository.save(new User("user@example.com", "user", "hash"));
+    final var articles = new ArrayList<Article>();
+    for (int i = 0; i < 3; i++) {
+      final var article = new Article();
+      article.setTitle("title " + i);
+      article.setAuthor(user);
+      articles.add(articleRepository.save(article));
+    }
+    final var first = articles.get(0).getId();
+    final var second = articles.get(1).getId();
+    final var third = articles.get(2).getId();
+    // The first article is counted correctly, the second missed an increment, the third got two.
+    articleFavouriteRepository.save(new ArticleFavourite(user.getId(), first));
+    articleRepository.incrementFavoritesCount(first);
+    articleFavouriteRepository.save(new ArticleFavourite(user.getId(), second));
+    articleRepository.incrementFavoritesCount(third);
+    articleRepository.incrementFavoritesCount(third);
+
+    final var corrected = new FavoritesCountReconciliationJob(articleRepository).reconcile();
+
+    assertThat(corrected).isEqualTo(2);
+    entityManager.clear();
+    assertThat(favoritesCounts(List.of(first, second, third))).containsExactly(1, 1, 0);
+    assertThat(new FavoritesCountReconciliationJob(articleRepository).reconcile()).isZero();
+  }
+
+  private List<Integer> favoritesCounts(List<Long> articleIds) {
+    final var counts = new ArrayList<Integer>();
+    for (final var id : articleIds) {
+      counts.add(articleRepository.findById(id).orElseThrow().getFavoritesCount());
+    }
+    return counts;
+  }
+}
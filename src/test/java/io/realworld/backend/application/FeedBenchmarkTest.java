@@ -0,0 +1,180 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.FeedEngine;
+import io.realworld.backend.application.service.PullFeedService;
+import io.realworld.backend.application.service.TimelineService;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.OffsetBasedPageRequest;
+import io.realworld.backend.domain.aggregate.follow.FollowRelation;
+import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
+import io.realworld.backend.domain.aggregate.timeline.TimelineEntryRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Compares the feed engines with the IN-list query they replace. Run with {@code mvn test
+ * -Pbenchmark}; median latencies of reading the first page and the count are logged.
+ */
+@Tag("benchmark")
+@DataJpaTest
+public class FeedBenchmarkTest {
+  private static final Logger logger = LoggerFactory.getLogger(FeedBenchmarkTest.class);
+  private static final Instant EPOCH = Instant.parse("2021-01-01T00:00:00Z");
+  private static final int[] FOLLOWEES = {10, 1_000, 10_000};
+  private static final int ARTICLES_PER_AUTHOR = 2;
+  private static final int PAGE_SIZE = 20;
+  private static final int WARMUPS = 20;
+  private static final int RUNS = 31;
+
+  private final ArticleRepository articleRepository;
+  private final FollowRelationRepository followRelationRepository;
+  private final UserRepository userRepository;
+  private final TimelineEntryRepository timelineEntryRepository;
+  private final ApplicationEventPublisher eventPublisher;
+  private final EntityManager entityManager;
+
+  /** Creates FeedBenchmarkTest instance. */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  @Autowired
+  public FeedBenchmarkTest(
+      ArticleRepository articleRepository,
+      FollowRelationRepository followRelationRepository,
+      UserRepository userRepository,
+      TimelineEntryRepository timelineEntryRepository,
+      ApplicationEventPublisher eventPublisher,
+      EntityManager entityManager) {
+    this.articleRepository = articleRepository;
+    this.followRelationRepository = followRelationRepository;
+    this.userRepository = userRepository;
+    this.timelineEntryRepository = timelineEntryRepository;
+    this.eventPublisher = eventPublisher;
+    this.entityManager = entityManager;
+  }
+
+  @Test
+  public void benchmarkFeedEngines() {
+    final var timeline =
+        new TimelineService(
+            timelineEntryRepository,
+            followRelationRepository,
+            userRepository,
+            eventPublisher,
+            Integer.MAX_VALUE,
+            ARTICLES_PER_AUTHOR);
+    final var pull = new PullFeedService(articleRepository, followRelationRepository, 64);
+    final var authors = authors(FOLLOWEES[FOLLOWEES.length - 1]);
+    final var readers = new ArrayList<User>();
+    for (final var followees : FOLLOWEES) {
+      final var reader = user("reader" + followees);
+      for (final var author : authors.subList(0, followees)) {
+        followRelationRepository.save(new FollowRelation(reader.getId(), author.getId()));
+        timeline.onFollowed(reader.getId(), author.getId(), 1);
+      }
+      readers.add(reader);
+      entityManager.flush();
+      entityManager.clear();
+    }
+    pull.rebuild();
+    // The first measured paths would otherwise pay for class loading and compilation.
+    for (final var reader : readers) {
+      median(() -> inListFeed(reader.getId()));
+      median(() -> engineFeed(timeline, reader.getId()));
+      median(() -> engineFeed(pull, reader.getId()));
+    }
+
+    for (int i = 0; i < FOLLOWEES.length; i++) {
+      final var reader = readers.get(i).getId();
+      final var inList = median(() -> inListFeed(reader));
+      final var timelineMicros = median(() -> engineFeed(timeline, reader));
+      final var pullMicros = median(() -> engineFeed(pull, reader));
+      logger.info(
+          "{} followees: IN list {} us, timeline {} us, pull {} us",
+          FOLLOWEES[i],
+          inList,
+          timelineMicros,
+          pullMicros);
+      assertThat(engineFeed(pull, reader)).isEqualTo(inListFeed(reader));
+      assertThat(engineFeed(timeline, reader)).isEqualTo(inListFeed(reader));
+    }
+  }
+
+  /** The feed as built before timelines: one IN-list query for the page and one for the count. */
+  private List<Long> inListFeed(long readerId) {
+    final var followeeIds =
+        followRelationRepository.findByIdFollowerId(readerId).stream()
+            .map(f -> f.getId().getFolloweeId())
+            .collect(Collectors.toSet());
+    final var page =
+        articleRepository.findByAuthorIdIn(
+            followeeIds, OffsetBasedPageRequest.of(0, PAGE_SIZE, ArticleCursor.ORDER));
+    articleRepository.countByAuthorIdIn(followeeIds);
+    return ids(page);
+  }
+
+  private List<Long> engineFeed(FeedEngine engine, long readerId) {
+    final var page = engine.feed(readerId, 0, PAGE_SIZE);
+    engine.count(readerId);
+    return ids(page);
+  }
+
+  private long median(Runnable feed) {
+    for (int i = 0; i < WARMUPS; i++) {
+      feed.run();
+      entityManager.clear();
+    }
+    final var micros = new long[RUNS];
+    for (int i = 0; i < RUNS; i++) {
+      final var start = System.nanoTime();
+      feed.run();
+      micros[i] = (System.nanoTime() - start) / 1000;
+      entityManager.clear();
+    }
+    Arrays.sort(micros);
+    return micros[RUNS / 2];
+  }
+
+  private List<User> authors(int count) {
+    final var authors = new ArrayList<User>(count);
+    for (int i = 0; i < count; i++) {
+      final var author = user("author" + i);
+      for (int j = 0; j < ARTICLES_PER_AUTHOR; j++) {
+        final var article = new Article();
+        article.setTitle("title " + i + " " + j);
+        article.setAuthor(author);
+        article.setCreatedAt(EPOCH.plusSeconds(j * count + i));
+        articleRepository.save(article);
+      }
+      authors.add(author);
+      if (i % 1000 == 999) {
+        entityManager.flush();
+        entityManager.clear();
+      }
+    }
+    return authors;
+  }
+
+  private User user(String username) {
+    return userRepository.save(new User(username + "@example.com", username, "hash"));
+  }
+
+  private static List<Long> ids(List<Article> articles) {
+    return articles.stream().map(Article::getId).collect(Collectors.toList());
+  }
+}
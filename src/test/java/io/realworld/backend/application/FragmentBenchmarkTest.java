@@ -0,0 +1,114 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.application.dto.Mappers;
+import io.realworld.backend.application.service.ArticleFragmentCache;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.Tag;
+import io.realworld.backend.domain.aggregate.user.User;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Compares serialising a page of twenty articles mapped to DTOs with splicing it from cached
+ * fragments. Run with {@code mvn test -Pbenchmark}; the median latency and the bytes allocated per
+ * page are logged for both.
+ */
+@org.junit.jupiter.api.Tag("benchmark")
+public class FragmentBenchmarkTest {
+  private static final Logger logger = LoggerFactory.getLogger(FragmentBenchmarkTest.class);
+  private static final int PAGE = 20;
+  private static final int WARMUPS = 20_000;
+  private static final int RUNS = 10_000;
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+  private final com.sun.management.ThreadMXBean threads =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  @Test
+  public void benchmarkListSerialisation() throws Exception {
+    final var authors = new ArrayList<User>();
+    for (int i = 0; i < 5; i++) {
+      authors.add(author(100 + i));
+    }
+    final var articles = new ArrayList<Article>();
+    for (int i = 0; i < PAGE; i++) {
+      articles.add(article(i, authors.get(i % authors.size())));
+    }
+    final var favouritedIds = Set.of(1L, 2L, 3L);
+    final var followingIds = Set.of(100L, 101L);
+    final var cache =
+        new ArticleFragmentCache(objectMapper, true, true, 1 << 24, new SimpleMeterRegistry());
+
+    final var mapped =
+        measure(
+            "mapped",
+            () ->
+                Mappers.toMultipleArticlesResponseData(
+                    articles, favouritedIds, followingIds, PAGE));
+    final var spliced =
+        measure(
+            "spliced",
+            () ->
+                Mappers.toMultipleArticlesResponseData(
+                    cache.toArticleDataList(articles, favouritedIds, followingIds), PAGE));
+
+    assertThat(spliced).isLessThan(mapped);
+  }
+
+  /** Logs the median latency and the bytes allocated per page, and returns the latter. */
+  private long measure(String name, Callable<Object> page) throws Exception {
+    final var nanos = new long[RUNS];
+    final var thread = Thread.currentThread().getId();
+    var allocated = 0L;
+    for (int i = -WARMUPS; i < RUNS; i++) {
+      final var bytesBefore = threads.getThreadAllocatedBytes(thread);
+      final var start = System.nanoTime();
+      objectMapper.writeValue(OutputStream.nullOutputStream(), page.call());
+      if (i >= 0) {
+        nanos[i] = System.nanoTime() - start;
+        allocated += threads.getThreadAllocatedBytes(thread) - bytesBefore;
+      }
+    }
+    Arrays.sort(nanos);
+    logger.info(
+        "{}: median {} us, p99 {} us, {} bytes allocated per page",
+        name,
+        nanos[RUNS / 2] / 1000,
+        nanos[RUNS * 99 / 100] / 1000,
+        allocated / RUNS);
+    return allocated / RUNS;
+  }
+
+  private static User author(long id) {
+    final var author = new User(id + "@example.com", "author" + id, "hash");
+    author.setId(id);
+    author.setBio("Writes about distributed systems and the JVM.");
+    author.setImage("https://example.com/avatars/" + id + ".png");
+    return author;
+  }
+
+  private static Article article(long id, User author) {
+    final var article = new Article();
+    article.setId(id);
+    article.setTitle("How to tune the garbage collector, part " + id);
+    article.setDescription("Notes on heap sizing, pause goals and allocation rates");
+    article.setBody("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(40));
+    article.setTags(List.of(new Tag("java"), new Tag("jvm"), new Tag("performance")));
+    article.setAuthor(author);
+    article.setFavoritesCount((int) id * 7);
+    return article;
+  }
+}
@@ -0,0 +1,60 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.application.service.PasswordHashing;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.service.AuthenticationService;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class PasswordHashingTest {
+  private final AuthenticationService authenticationService = mock(AuthenticationService.class);
+  private final CountDownLatch rehashesReleased = new CountDownLatch(1);
+  private final PasswordHashing passwordHashing =
+      new PasswordHashing(
+          authenticationService,
+          mock(UserRepository.class),
+          1,
+          1,
+          1,
+          Duration.ofSeconds(1),
+          new SimpleMeterRegistry());
+
+  @AfterEach
+  public void tearDown() {
+    rehashesReleased.countDown();
+    passwordHashing.shutdown();
+  }
+
+  @Test
+  public void testPendingRehashesDoNotTakeTheQueueOfLogins() {
+    final var user = new User("email@example.com", "example", "old-hash");
+    given(authenticationService.authenticate(any(), any())).willReturn(Optional.of(user));
+    given(authenticationService.needsRehash(user)).willReturn(true);
+    given(authenticationService.encodePassword(any()))
+        .willAnswer(
+            invocation -> {
+              rehashesReleased.await();
+              return "new-hash";
+            });
+
+    // Rehashes sharing the thread of logins would block the second login behind the first one.
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(10),
+        () -> {
+          for (int i = 0; i < 3; i++) {
+            assertThat(passwordHashing.authenticate("email@example.com", "123")).contains(user);
+          }
+        });
+  }
+}
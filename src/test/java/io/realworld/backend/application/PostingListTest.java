@@ -0,0 +1,104 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.PostingList;
+import io.realworld.backend.application.service.SlotSet;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+public class PostingListTest {
+  private static final int SLOTS = 200_000;
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void testMatchesTreeSetThroughArrayAndBitmapChunks() {
+    final var list = new PostingList();
+    final var expected = new TreeSet<Integer>();
+    // Dense slots turn the first chunks into bitmaps, removals turn some of them back.
+    for (int i = 0; i < 30_000; i++) {
+      final var slot = random.nextInt(i < 20_000 ? 70_000 : SLOTS);
+      list.add(slot);
+      expected.add(slot);
+    }
+    for (int i = 0; i < 25_000; i++) {
+      final var slot = random.nextInt(70_000);
+      list.remove(slot);
+      expected.remove(slot);
+    }
+
+    assertThat(list.size()).isEqualTo(expected.size());
+    for (int i = 0; i < 10_000; i++) {
+      final var slot = random.nextInt(SLOTS + 100_000);
+      assertThat(list.floor(slot)).isEqualTo(floor(expected, slot));
+      assertThat(list.contains(slot)).isEqualTo(expected.contains(slot));
+    }
+    assertThat(list.floor(-1)).isEqualTo(-1);
+  }
+
+  @Test
+  public void testMoveRenumbersSlotsInOrder() {
+    final var list = new PostingList();
+    final var moved = new int[SLOTS];
+    // Every third slot is kept and moved down next to the one kept before it.
+    for (int slot = 0; slot < SLOTS; slot++) {
+      moved[slot] = slot % 3 == 0 ? slot / 3 : -1;
+      if (slot % 3 == 0) {
+        list.add(slot);
+      }
+    }
+
+    list.move(moved);
+
+    assertThat(list.size()).isEqualTo((SLOTS + 2) / 3);
+    assertThat(list.floor(Integer.MAX_VALUE)).isEqualTo((SLOTS - 1) / 3);
+    assertThat(list.contains(1000)).isTrue();
+    assertThat(list.contains((SLOTS + 2) / 3)).isFalse();
+  }
+
+  @Test
+  public void testIntersectionAndUnionWalkNewestFirst() {
+    final var sets = List.of(randomSet(5), randomSet(2), randomSet(3));
+    final var lists = sets.stream().map(PostingListTest::postingList).toArray(PostingList[]::new);
+    final var all = new TreeSet<>(sets.get(0));
+    final var any = new TreeSet<Integer>();
+    for (final var set : sets) {
+      all.retainAll(set);
+      any.addAll(set);
+    }
+
+    assertThat(walk(SlotSet.intersection(List.of(lists)))).containsExactlyElementsOf(all);
+    assertThat(walk(SlotSet.union(List.of(lists)))).containsExactlyElementsOf(any);
+  }
+
+  private NavigableSet<Integer> randomSet(int everyNth) {
+    final var set = new TreeSet<Integer>();
+    for (int i = 0; i < SLOTS / everyNth; i++) {
+      set.add(random.nextInt(SLOTS));
+    }
+    return set;
+  }
+
+  private static PostingList postingList(NavigableSet<Integer> slots) {
+    final var list = new PostingList();
+    slots.forEach(list::add);
+    return list;
+  }
+
+  private static NavigableSet<Integer> walk(SlotSet set) {
+    final var walked = new TreeSet<Integer>();
+    for (var slot = set.floor(SLOTS); slot >= 0; slot = set.floor(slot - 1)) {
+      walked.add(slot);
+    }
+    return walked;
+  }
+
+  private static int floor(NavigableSet<Integer> set, int slot) {
+    final var floor = set.floor(slot);
+    return floor == null ? -1 : floor;
+  }
+}
@@ -0,0 +1,114 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.PullFeedService;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.follow.FollowRelation;
+import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import(PullFeedService.class)
+@TestPropertySource(properties = {"feed.engine=pull", "feed.pull.articlesPerAuthor=3"})
+public class PullFeedServiceTest {
+  private static final Instant EPOCH = Instant.parse("2021-01-01T00:00:00Z");
+
+  private final PullFeedService pullFeedService;
+  private final ArticleRepository articleRepository;
+  private final FollowRelationRepository followRelationRepository;
+  private final UserRepository userRepository;
+
+  /** Creates PullFeedServiceTest instance. */
+  @Autowired
+  public PullFeedServiceTest(
+      PullFeedService pullFeedService,
+      ArticleRepository articleRepository,
+      FollowRelationRepository followRelationRepository,
+      UserRepository userRepository) {
+    this.pullFeedService = pullFeedService;
+    this.articleRepository = articleRepository;
+    this.followRelationRepository = followRelationRepository;
+    this.userRepository = userRepository;
+  }
+
+  @Test
+  public void testFeedMatchesDatabaseOrderIncludingPagesPastIndex() {
+    final var reader = user("reader");
+    final var authors = List.of(user("a"), user("b"), user("c"));
+    for (final var author : authors.subList(0, 2)) {
+      followRelationRepository.save(new FollowRelation(reader.getId(), author.getId()));
+    }
+    // The first author writes often, so the index holds only part of its articles.
+    for (int i = 0; i < 12; i++) {
+      article(authors.get(i % 4 == 0 ? 1 : i % 2 == 0 ? 2 : 0), i);
+    }
+    pullFeedService.rebuild();
+    final var authorIds = Set.of(authors.get(0).getId(), authors.get(1).getId());
+    final var expected =
+        ids(
+            articleRepository.findByAuthorIdIn(
+                authorIds, PageRequest.of(0, 100, ArticleCursor.ORDER)));
+
+    for (int offset = 0; offset < expected.size(); offset++) {
+      assertThat(ids(pullFeedService.feed(reader.getId(), offset, 2)))
+          .isEqualTo(expected.subList(offset, Math.min(offset + 2, expected.size())));
+    }
+    final var walked = new ArrayList<Article>(pullFeedService.feed(reader.getId(), 0, 2));
+    while (walked.size() < expected.size()) {
+      final var cursor = ArticleCursor.of(walked.get(walked.size() - 1));
+      walked.addAll(pullFeedService.feedBefore(reader.getId(), cursor, 2));
+    }
+    assertThat(ids(walked)).isEqualTo(expected);
+    assertThat(pullFeedService.count(reader.getId())).isEqualTo(expected.size());
+  }
+
+  @Test
+  public void testFeedFollowsCreatedAndDeletedArticles() {
+    final var reader = user("reader");
+    final var author = user("author");
+    followRelationRepository.save(new FollowRelation(reader.getId(), author.getId()));
+    pullFeedService.rebuild();
+    final var first = article(author, 0);
+    final var second = article(author, 1);
+    pullFeedService.onArticleCreated(new ArticleCreatedEvent(first));
+    pullFeedService.onArticleCreated(new ArticleCreatedEvent(second));
+    pullFeedService.onArticleDeleted(new ArticleDeletedEvent(first));
+    articleRepository.delete(first);
+
+    assertThat(ids(pullFeedService.feed(reader.getId(), 0, 10))).containsExactly(second.getId());
+    assertThat(pullFeedService.count(reader.getId())).isEqualTo(1);
+  }
+
+  private User user(String username) {
+    return userRepository.save(new User(username + "@example.com", username, "hash"));
+  }
+
+  private Article article(User author, int second) {
+    final var article = new Article();
+    article.setTitle("title " + second);
+    article.setAuthor(author);
+    article.setCreatedAt(EPOCH.plusSeconds(second));
+    return articleRepository.save(article);
+  }
+
+  private static List<Long> ids(List<Article> articles) {
+    return articles.stream().map(Article::getId).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,76 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.RecentArticlesIndex;
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class RecentArticlesIndexTest {
+  private static final Instant EPOCH = Instant.parse("2021-01-01T00:00:00Z");
+
+  private final RecentArticlesIndex index = new RecentArticlesIndex(3);
+
+  @Test
+  public void testMergesAuthorsNewestFirst() {
+    add(1, 10, 0);
+    add(2, 11, 1);
+    add(1, 12, 2);
+    add(3, 13, 3);
+    add(2, 14, 3);
+
+    assertThat(index.newest(Set.of(1L, 2L), null, 0, 10)).hasValue(List.of(14L, 12L, 11L, 10L));
+    assertThat(index.newest(Set.of(1L, 2L, 3L), null, 1, 2)).hasValue(List.of(13L, 12L));
+    assertThat(index.newest(Set.of(1L, 2L), cursor(12, 2), 0, 10)).hasValue(List.of(11L, 10L));
+    assertThat(index.newest(Set.of(4L), null, 0, 10)).hasValue(List.of());
+    assertThat(index.count(Set.of(1L, 2L, 4L))).isEqualTo(4);
+  }
+
+  @Test
+  public void testRefusesPagesPastTruncatedAuthor() {
+    for (int i = 0; i < 5; i++) {
+      add(1, 10 + i, 2 * i);
+    }
+    add(2, 20, 1);
+    add(2, 21, 9);
+
+    // Author 1 keeps articles 14, 13 and 12 of five; article 11 would come before 20.
+    assertThat(index.newest(Set.of(1L, 2L), null, 0, 4)).hasValue(List.of(21L, 14L, 13L, 12L));
+    assertThat(index.newest(Set.of(1L, 2L), null, 0, 5)).isEmpty();
+    assertThat(index.newest(Set.of(1L, 2L), cursor(12, 4), 0, 1)).isEmpty();
+    assertThat(index.count(Set.of(1L, 2L))).isEqualTo(7);
+  }
+
+  @Test
+  public void testOffsetNearIntegerMaximumGivesEmptyPage() {
+    add(1, 10, 0);
+    add(1, 11, 1);
+
+    assertThat(index.newest(Set.of(1L), null, Integer.MAX_VALUE, 10)).hasValue(List.of());
+  }
+
+  @Test
+  public void testUpdatesOnAddAndRemove() {
+    add(1, 10, 0);
+    add(1, 11, 1);
+    add(1, 11, 1);
+    add(1, 12, 2);
+    add(1, 13, 3);
+    index.remove(1, 12);
+    index.remove(1, 10);
+
+    assertThat(index.count(Set.of(1L))).isEqualTo(2);
+    assertThat(index.newest(Set.of(1L), null, 0, 10)).hasValue(List.of(13L, 11L));
+  }
+
+  private void add(long authorId, long articleId, int second) {
+    index.add(authorId, articleId, EPOCH.plusSeconds(second));
+  }
+
+  private static ArticleCursor cursor(long articleId, int second) {
+    return new ArticleCursor(EPOCH.plusSeconds(second), articleId);
+  }
+}
@@ -0,0 +1,117 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.application.exception.ArticleNotFoundException;
+import io.realworld.backend.application.util.SingleFlight;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class SingleFlightTest {
+  private static final int CALLERS = 8;
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final SingleFlight<String, Object> loads = new SingleFlight<>("test", meterRegistry);
+  private final AtomicInteger loaderCalls = new AtomicInteger();
+
+  @Test
+  public void testConcurrentCallersShareOneLoad() throws Exception {
+    final var release = new CountDownLatch(1);
+    final var loaded = new Object();
+    final var executor = Executors.newFixedThreadPool(CALLERS);
+    try {
+      final var results = new ArrayList<Future<Object>>();
+      for (int i = 0; i < CALLERS; i++) {
+        results.add(
+            executor.submit(
+                () ->
+                    loads.load(
+                        "slug",
+                        () -> {
+                          loaderCalls.incrementAndGet();
+                          await(release);
+                          return loaded;
+                        })));
+      }
+      awaitCoalesced(CALLERS - 1);
+      release.countDown();
+
+      for (final var result : results) {
+        assertThat(result.get(10, TimeUnit.SECONDS)).isSameAs(loaded);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertThat(loaderCalls.get()).isEqualTo(1);
+    assertThat(loads.inFlight()).isZero();
+  }
+
+  @Test
+  public void testWaitingCallersGetTheException() throws Exception {
+    final var release = new CountDownLatch(1);
+    final var executor = Executors.newFixedThreadPool(2);
+    try {
+      final var results = new ArrayList<Future<Object>>();
+      for (int i = 0; i < 2; i++) {
+        results.add(
+            executor.submit(
+                () ->
+                    loads.load(
+                        "slug",
+                        () -> {
+                          await(release);
+                          throw new ArticleNotFoundException("slug");
+                        })));
+      }
+      awaitCoalesced(1);
+      release.countDown();
+
+      for (final var result : results) {
+        assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+            .isInstanceOf(ExecutionException.class)
+            .hasCauseInstanceOf(ArticleNotFoundException.class);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCompletedLoadsAreNotReused() {
+    loads.load("slug", loaderCalls::incrementAndGet);
+    loads.load("slug", loaderCalls::incrementAndGet);
+
+    assertThat(loaderCalls.get()).isEqualTo(2);
+    assertThat(coalesced()).isZero();
+  }
+
+  private void awaitCoalesced(int count) throws InterruptedException {
+    final var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (coalesced() < count && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertThat(coalesced()).isEqualTo(count);
+  }
+
+  private double coalesced() {
+    return meterRegistry.get("singleFlight.coalesced").tag("load", "test").counter().count();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,200 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.TagFilterService;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleFilter;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.ArticleUpdatedEvent;
+import io.realworld.backend.domain.aggregate.article.Tag;
+import io.realworld.backend.domain.aggregate.article.TagRepository;
+import io.realworld.backend.domain.aggregate.favourite.ArticleFavourite;
+import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import(TagFilterService.class)
+public class TagFilterServiceTest {
+  private static final Instant EPOCH = Instant.parse("2021-01-01T00:00:00Z");
+  private static final ArticleFilter NO_FILTER = new ArticleFilter(null, null, null);
+  private static final Comparator<Article> NEWEST_FIRST =
+      Comparator.comparing(Article::getCreatedAt).thenComparing(Article::getId).reversed();
+  private static final List<Set<String>> TAG_SETS =
+      List.of(
+          Set.of("java"),
+          Set.of("java", "spring"),
+          Set.of("spring", "go"),
+          Set.of(),
+          Set.of("java", "spring", "go"),
+          Set.of("go"));
+
+  private final TagFilterService tagFilterService;
+  private final ArticleRepository articleRepository;
+  private final TagRepository tagRepository;
+  private final ArticleFavouriteRepository articleFavouriteRepository;
+  private final UserRepository userRepository;
+  private final Map<String, Tag> tags = new HashMap<>();
+  private final List<Article> articles = new ArrayList<>();
+
+  /** Creates TagFilterServiceTest instance. */
+  @Autowired
+  public TagFilterServiceTest(
+      TagFilterService tagFilterService,
+      ArticleRepository articleRepository,
+      TagRepository tagRepository,
+      ArticleFavouriteRepository articleFavouriteRepository,
+      UserRepository userRepository) {
+    this.tagFilterService = tagFilterService;
+    this.articleRepository = articleRepository;
+    this.tagRepository = tagRepository;
+    this.articleFavouriteRepository = articleFavouriteRepository;
+    this.userRepository = userRepository;
+  }
+
+  @Test
+  public void testMatchesAllOrAnyTagsWithFilters() {
+    final var alice = user("alice");
+    final var bob = user("bob");
+    for (int i = 0; i < 60; i++) {
+      // Every third pair of articles shares a timestamp, so ids break the ties.
+      final var article = article(i % 3 == 0 ? alice : bob, TAG_SETS.get(i % 6), i - i % 3 / 2);
+      if (i % 4 == 0) {
+        articleFavouriteRepository.save(new ArticleFavourite(bob.getId(), article.getId()));
+      }
+    }
+    tagFilterService.rebuild();
+
+    for (final var matchAll : List.of(true, false)) {
+      for (final var filter :
+          List.of(
+              NO_FILTER,
+              new ArticleFilter(null, "alice", null),
+              new ArticleFilter(null, null, "bob"),
+              new ArticleFilter(null, "nobody", null))) {
+        final Predicate<Article> restriction =
+            a ->
+                filter.getAuthor().map(a.getAuthor().getUsername()::equals).orElse(true)
+                    && filter.getFavorited().map(f -> articles.indexOf(a) % 4 == 0).orElse(true);
+        assertMatches(List.of("java", "spring"), matchAll, filter, restriction);
+        assertMatches(List.of("go", "java", "spring"), matchAll, filter, restriction);
+        assertMatches(List.of("java", "missing"), matchAll, filter, restriction);
+      }
+    }
+  }
+
+  @Test
+  public void testArticlesCommittedOutOfOrderKeepListingOrder() {
+    final var author = user("author");
+    for (int i = 0; i < 10; i++) {
+      article(author, Set.of("java", "spring"), 10 * i);
+    }
+    tagFilterService.rebuild();
+    // Transactions committing late publish articles older than the newest indexed ones.
+    for (final var seconds : List.of(95, 5, 45, 200, 44)) {
+      tagFilterService.onArticleCreated(
+          new ArticleCreatedEvent(article(author, Set.of("java"), seconds)));
+    }
+
+    assertMatches(List.of("java", "spring"), false, NO_FILTER, a -> true);
+    assertMatches(List.of("java", "spring"), true, NO_FILTER, a -> true);
+  }
+
+  @Test
+  public void testFollowsTagChangesAndDeletes() {
+    final var author = user("author");
+    final var first = article(author, Set.of("java"), 0);
+    final var second = article(author, Set.of("java", "go"), 1);
+    tagFilterService.rebuild();
+
+    final var previousTags = first.getTagNames();
+    first.setTags(List.of(tag("go"), tag("spring")));
+    tagFilterService.onArticleUpdated(new ArticleUpdatedEvent(first, previousTags));
+    assertThat(ids(tagFilterService.find(List.of("go", "spring"), true, NO_FILTER, null, 0, 10)))
+        .containsExactly(first.getId());
+    assertThat(ids(tagFilterService.find(List.of("go", "java"), false, NO_FILTER, null, 0, 10)))
+        .containsExactly(second.getId(), first.getId());
+
+    tagFilterService.onArticleDeleted(new ArticleDeletedEvent(second));
+    assertThat(ids(tagFilterService.find(List.of("go", "java"), false, NO_FILTER, null, 0, 10)))
+        .containsExactly(first.getId());
+    assertThat(tagFilterService.count(List.of("go", "java"), false, NO_FILTER)).isEqualTo(1);
+  }
+
+  /** Compares offset pages, cursor pages and the count with a filter applied to all articles. */
+  private void assertMatches(
+      List<String> queried,
+      boolean matchAll,
+      ArticleFilter filter,
+      Predicate<Article> restriction) {
+    final var expected =
+        articles.stream()
+            .filter(
+                a ->
+                    matchAll
+                        ? a.getTagNames().containsAll(queried)
+                        : queried.stream().anyMatch(a.getTagNames()::contains))
+            .filter(restriction)
+            .sorted(NEWEST_FIRST)
+            .map(Article::getId)
+            .collect(Collectors.toList());
+    final var description = queried + (matchAll ? " all " : " any ") + filter;
+
+    for (int offset = 0; offset <= expected.size(); offset += 4) {
+      assertThat(ids(tagFilterService.find(queried, matchAll, filter, null, offset, 4)))
+          .as("offset %d of %s", offset, description)
+          .isEqualTo(expected.subList(offset, Math.min(offset + 4, expected.size())));
+    }
+    final var walked =
+        new ArrayList<Article>(tagFilterService.find(queried, matchAll, filter, null, 0, 3));
+    var page = walked;
+    while (!page.isEmpty()) {
+      final var cursor = ArticleCursor.of(page.get(page.size() - 1));
+      page = new ArrayList<>(tagFilterService.find(queried, matchAll, filter, cursor, 0, 3));
+      walked.addAll(page);
+    }
+    assertThat(ids(walked)).as("cursor pages of %s", description).isEqualTo(expected);
+    assertThat(tagFilterService.count(queried, matchAll, filter))
+        .as("count of %s", description)
+        .isEqualTo(expected.size());
+  }
+
+  private User user(String name) {
+    return userRepository.save(new User(name + "@example.com", name, "hash"));
+  }
+
+  private Article article(User author, Set<String> tagNames, int seconds) {
+    final var article = new Article();
+    article.setTitle("title");
+    article.setAuthor(author);
+    article.setTags(tagNames.stream().map(this::tag).collect(Collectors.toList()));
+    article.setCreatedAt(EPOCH.plusSeconds(seconds));
+    articles.add(articleRepository.save(article));
+    return article;
+  }
+
+  private Tag tag(String name) {
+    return tags.computeIfAbsent(name, n -> tagRepository.save(new Tag(n)));
+  }
+
+  private static List<Long> ids(List<Article> articles) {
+    return articles.stream().map(Article::getId).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,94 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.TagIndex;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleDeletedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.article.ArticleUpdatedEvent;
+import io.realworld.backend.domain.aggregate.article.Tag;
+import io.realworld.backend.domain.aggregate.article.TagRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+
+@DataJpaTest
+@Import(TagIndex.class)
+@TestPropertySource(properties = "tag.index.limit=3")
+public class TagIndexTest {
+  private final TagIndex tagIndex;
+  private final ArticleRepository articleRepository;
+  private final TagRepository tagRepository;
+  private final UserRepository userRepository;
+
+  /** Creates TagIndexTest instance. */
+  @Autowired
+  public TagIndexTest(
+      TagIndex tagIndex,
+      ArticleRepository articleRepository,
+      TagRepository tagRepository,
+      UserRepository userRepository) {
+    this.tagIndex = tagIndex;
+    this.articleRepository = articleRepository;
+    this.tagRepository = tagRepository;
+    this.userRepository = userRepository;
+  }
+
+  @Test
+  public void testRebuildCountsDistinctTagsOfAllArticles() {
+    final var author = userRepository.save(new User("author@example.com", "author", "hash"));
+    article(author, Set.of("java", "spring"));
+    article(author, Set.of("java"));
+    article(author, Set.of());
+    article(author, Set.of("kotlin", "spring", "java", "go"));
+
+    tagIndex.rebuild();
+
+    assertThat(tagIndex.popular()).containsExactly("java", "spring", "go");
+  }
+
+  @Test
+  public void testArticleChangesAdjustCounts() {
+    final var author = userRepository.save(new User("author@example.com", "author", "hash"));
+    tagIndex.rebuild();
+    final var first = article(author, Set.of("java", "spring"));
+    final var second = article(author, Set.of("kotlin", "spring"));
+    tagIndex.onArticleCreated(new ArticleCreatedEvent(first));
+    tagIndex.onArticleCreated(new ArticleCreatedEvent(second));
+    assertThat(tagIndex.popular()).containsExactly("spring", "java", "kotlin");
+
+    final var previousTags = first.getTagNames();
+    first.setTags(tags(Set.of("kotlin", "go")));
+    tagIndex.onArticleUpdated(new ArticleUpdatedEvent(first, previousTags));
+    assertThat(tagIndex.popular()).containsExactly("kotlin", "go", "spring");
+
+    tagIndex.onArticleDeleted(new ArticleDeletedEvent(second));
+    assertThat(tagIndex.popular()).containsExactly("go", "kotlin");
+  }
+
+  private Article article(User author, Set<String> tags) {
+    final var article = new Article();
+    article.setTitle("title");
+    article.setAuthor(author);
+    article.setTags(tags(tags));
+    return articleRepository.save(article);
+  }
+
+  private List<Tag> tags(Set<String> names) {
+    final var existing = tagRepository.findByNameIn(names);
+    final var tags = new ArrayList<>(existing);
+    names.stream()
+        .filter(name -> existing.stream().noneMatch(tag -> tag.getName().equals(name)))
+        .forEach(name -> tags.add(tagRepository.save(new Tag(name))));
+    return tags;
+  }
+}
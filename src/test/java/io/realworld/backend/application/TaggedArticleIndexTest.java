@@ -0,0 +1,39 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.TaggedArticleIndex;
+import io.realworld.backend.application.service.TaggedArticleIndex.Query;
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TaggedArticleIndexTest {
+  private static final Instant EPOCH = Instant.parse("2021-01-01T00:00:00Z");
+  private static final int ARTICLES = 3 * 1024;
+
+  @Test
+  public void testRemovedArticlesFreeTheirSlots() {
+    final var index = new TaggedArticleIndex();
+    for (int id = 1; id <= ARTICLES; id++) {
+      index.add(id, id % 2, EPOCH.plusSeconds(id), List.of("java", id % 3 == 0 ? "spring" : "jee"));
+    }
+    // Keeps articles 300, 600, ..., and removes all others.
+    for (int id = 1; id <= ARTICLES; id++) {
+      if (id % 300 != 0) {
+        index.remove(id, id % 2, List.of("java", id % 3 == 0 ? "spring" : "jee"));
+      }
+    }
+
+    assertThat(index.slotCount()).isLessThan(2 * 1024);
+    final var spring = new Query(List.of("java", "spring"), true, 0L);
+    assertThat(index.count(spring)).isEqualTo(10);
+    assertThat(index.newest(spring, null, 0, 3)).containsExactly(3000L, 2700L, 2400L);
+    assertThat(index.newest(spring, cursor(2400), 0, 2)).containsExactly(2100L, 1800L);
+  }
+
+  private static ArticleCursor cursor(long articleId) {
+    return new ArticleCursor(EPOCH.plusSeconds(articleId), articleId);
+  }
+}
@@ -0,0 +1,200 @@
+package io.realworld.backend.application;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.application.service.TimelineService;
+import io.realworld.backend.application.service.TimelineService.FanOutResumedEvent;
+import io.realworld.backend.domain.aggregate.article.Article;
+import io.realworld.backend.domain.aggregate.article.ArticleCreatedEvent;
+import io.realworld.backend.domain.aggregate.article.ArticleCursor;
+import io.realworld.backend.domain.aggregate.article.ArticleRepository;
+import io.realworld.backend.domain.aggregate.follow.FollowRelation;
+import io.realworld.backend.domain.aggregate.follow.FollowRelationRepository;
+import io.realworld.backend.domain.aggregate.timeline.TimelineEntryRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+@DataJpaTest
+@Import(TimelineService.class)
+@TestPropertySource(properties = {"feed.fanOut.maxFollowers=2", "feed.backfillSize=2"})
+@RecordApplicationEvents
+public class TimelineServiceTest {
+  private static final Instant EPOCH = Instant.parse("2021-01-01T00:00:00Z");
+
+  private final TimelineService timelineService;
+  private final TimelineEntryRepository timelineEntryRepository;
+  private final ArticleRepository articleRepository;
+  private final FollowRelationRepository followRelationRepository;
+  private final UserRepository userRepository;
+  private final EntityManager entityManager;
+  private final ApplicationEvents applicationEvents;
+  private int articleCount = 0;
+
+  /** Creates TimelineServiceTest instance. */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  @Autowired
+  public TimelineServiceTest(
+      TimelineService timelineService,
+      TimelineEntryRepository timelineEntryRepository,
+      ArticleRepository articleRepository,
+      FollowRelationRepository followRelationRepository,
+      UserRepository userRepository,
+      EntityManager entityManager,
+      ApplicationEvents applicationEvents) {
+    this.timelineService = timelineService;
+    this.timelineEntryRepository = timelineEntryRepository;
+    this.articleRepository = articleRepository;
+    this.followRelationRepository = followRelationRepository;
+    this.userRepository = userRepository;
+    this.entityManager = entityManager;
+    this.applicationEvents = applicationEvents;
+  }
+
+  @Test
+  public void testNewArticleIsPushedToFollowers() {
+    final var reader = user("reader");
+    final var other = user("other");
+    final var author = user("author");
+    follow(reader, author);
+    final var article = article(author);
+
+    timelineService.onArticleCreated(new ArticleCreatedEvent(article));
+
+    assertThat(titles(timelineService.feed(reader.getId(), 0, 10))).containsExactly(title(article));
+    assertThat(timelineService.feed(other.getId(), 0, 10)).isEmpty();
+    assertThat(timelineService.count(reader.getId())).isEqualTo(1);
+  }
+
+  @Test
+  public void testArticlesOfAuthorsAboveThresholdArePulledAndMerged() {
+    final var reader = user("reader");
+    final var author = user("author");
+    final var celebrity = user("celebrity");
+    follow(reader, author);
+    follow(reader, celebrity);
+    follow(user("fan1"), celebrity);
+    follow(user("fan2"), celebrity);
+    final var expected = new ArrayList<Article>();
+    for (int i = 0; i < 4; i++) {
+      expected.add(0, publish(author));
+      expected.add(0, publish(celebrity));
+    }
+
+    assertThat(timelineEntryRepository.countByIdUserId(reader.getId())).isEqualTo(4);
+    assertThat(titles(timelineService.feed(reader.getId(), 0, 10)))
+        .isEqualTo(titles(expected))
+        .hasSize(8);
+    assertThat(titles(timelineService.feed(reader.getId(), 3, 2)))
+        .isEqualTo(titles(expected.subList(3, 5)));
+    assertThat(timelineService.count(reader.getId())).isEqualTo(8);
+
+    final var walked = new ArrayList<Article>(timelineService.feed(reader.getId(), 0, 3));
+    while (walked.size() < expected.size()) {
+      final var cursor = ArticleCursor.of(walked.get(walked.size() - 1));
+      walked.addAll(timelineService.feedBefore(reader.getId(), cursor, 3));
+    }
+    assertThat(titles(walked)).isEqualTo(titles(expected));
+  }
+
+  @Test
+  public void testFollowBackfillsNewestArticlesAndUnfollowPrunesThem() {
+    final var reader = user("reader");
+    final var author = user("author");
+    final var oldest = article(author);
+    final var older = article(author);
+    final var newest = article(author);
+
+    follow(reader, author);
+    assertThat(titles(timelineService.feed(reader.getId(), 0, 10)))
+        .containsExactly(title(newest), title(older))
+        .doesNotContain(title(oldest));
+
+    followRelationRepository.deleteById(new FollowRelation(reader.getId(), author.getId()).getId());
+    timelineService.onUnfollowed(reader.getId(), author.getId(), 1, 0);
+    assertThat(timelineService.feed(reader.getId(), 0, 10)).isEmpty();
+  }
+
+  @Test
+  public void testResumedFanOutPushesNewestArticlesToAllFollowers() {
+    final var reader = user("reader");
+    final var celebrity = user("celebrity");
+    follow(reader, celebrity);
+    follow(user("fan1"), celebrity);
+    follow(user("fan2"), celebrity);
+    publish(celebrity);
+    final var older = publish(celebrity);
+    final var newest = publish(celebrity);
+    assertThat(timelineEntryRepository.count()).isZero();
+
+    timelineService.onFanOutResumed(new FanOutResumedEvent(celebrity.getId()));
+
+    assertThat(timelineEntryRepository.count()).isEqualTo(6);
+    assertThat(timelineEntryRepository.countByIdUserId(reader.getId())).isEqualTo(2);
+    assertThat(titles(timelineService.feed(reader.getId(), 0, 2)))
+        .containsExactly(title(newest), title(older));
+  }
+
+  @Test
+  public void testFanOutResumesWhenFollowersDropToTheLimit() {
+    final var reader = user("reader");
+    final var celebrity = user("celebrity");
+
+    timelineService.onUnfollowed(reader.getId(), celebrity.getId(), 4, 3);
+    timelineService.onUnfollowed(reader.getId(), celebrity.getId(), 4, 2);
+    timelineService.onUnfollowed(reader.getId(), celebrity.getId(), 2, 1);
+
+    assertThat(applicationEvents.stream(FanOutResumedEvent.class))
+        .extracting(FanOutResumedEvent::getAuthorId)
+        .containsExactly(celebrity.getId());
+  }
+
+  private User user(String username) {
+    return userRepository.save(new User(username + "@example.com", username, "hash"));
+  }
+
+  /** Follows like ProfileService does and clears the session to see the new follower count. */
+  private void follow(User follower, User followee) {
+    followRelationRepository.save(new FollowRelation(follower.getId(), followee.getId()));
+    userRepository.incrementFollowersCount(followee.getId());
+    final var followersCount =
+        userRepository.findFollowersCountById(followee.getId()).orElseThrow();
+    timelineService.onFollowed(follower.getId(), followee.getId(), followersCount);
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  private Article article(User author) {
+    final var article = new Article();
+    article.setTitle("title " + articleCount);
+    article.setAuthor(author);
+    article.setCreatedAt(EPOCH.plusSeconds(articleCount++));
+    return articleRepository.save(article);
+  }
+
+  private Article publish(User author) {
+    final var article = article(author);
+    entityManager.flush();
+    timelineService.onArticleCreated(new ArticleCreatedEvent(article));
+    return article;
+  }
+
+  private static String title(Article article) {
+    return article.getTitle();
+  }
+
+  private static List<String> titles(List<Article> articles) {
+    return articles.stream().map(Article::getTitle).collect(Collectors.toList());
+  }
+}
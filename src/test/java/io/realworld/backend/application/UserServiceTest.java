@@ -6,13 +6,17 @@ import static org.checkerframework.checker.nullness.util.NullnessUtil.castNonNul
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.openMocks;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.realworld.backend.application.exception.EmailAlreadyUsedException;
 import io.realworld.backend.application.exception.InvalidPasswordException;
+import io.realworld.backend.application.exception.UserAlreadyExistsException;
 import io.realworld.backend.application.exception.UsernameAlreadyUsedException;
+import io.realworld.backend.application.service.PasswordHashing;
 import io.realworld.backend.application.service.UserService;
 import io.realworld.backend.domain.aggregate.user.User;
 import io.realworld.backend.domain.aggregate.user.UserRepository;
@@ -24,6 +28,8 @@ import io.realworld.backend.rest.api.NewUserData;
 import io.realworld.backend.rest.api.NewUserRequestData;
 import io.realworld.backend.rest.api.UpdateUserData;
 import io.realworld.backend.rest.api.UpdateUserRequestData;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Optional;
 import org.checkerframework.checker.nullness.qual.MonotonicNonNull;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -31,22 +37,40 @@ import org.checkerframework.checker.nullness.qual.RequiresNonNull;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 
 public class UserServiceTest {
   private @MonotonicNonNull UserService userService;
   @Mock private @MonotonicNonNull UserRepository userRepository;
   @Mock private @MonotonicNonNull JwtService jwtService;
   @Mock private @MonotonicNonNull AuthenticationService authenticationService;
+  @Mock private @MonotonicNonNull ApplicationEventPublisher eventPublisher;
 
   @BeforeEach
-  @RequiresNonNull({"userRepository", "jwtService", "authenticationService"})
+  @RequiresNonNull({"userRepository", "jwtService", "authenticationService", "eventPublisher"})
   public void setUp() {
     openMocks(this);
     given(authenticationService.getCurrentUser())
         .willReturn(Optional.of(new User("email@example.com", "example", "hash")));
     given(authenticationService.getCurrentToken()).willReturn(Optional.of("token"));
     given(jwtService.generateToken(any())).willReturn("token");
-    userService = new UserService(userRepository, jwtService, authenticationService);
+    userService =
+        new UserService(
+            userRepository,
+            jwtService,
+            authenticationService,
+            new PasswordHashing(
+                authenticationService,
+                userRepository,
+                1,
+                4,
+                4,
+                Duration.ofSeconds(1),
+                new SimpleMeterRegistry()),
+            eventPublisher);
   }
 
   @Test
@@ -69,8 +93,8 @@ public class UserServiceTest {
   @Test
   @RequiresNonNull({"userRepository", "userService"})
   public void testCreateUser_email_exists() {
-    final var user = new User("email@example.com", "example", "hash");
-    given(userRepository.findByEmail("email@example.com")).willReturn(Optional.of(user));
+    given(userRepository.save(any()))
+        .willThrow(duplicate("USER_EMAIL_IDX_INDEX_2", "EMAIL", "'email@example.com'"));
     final var userService1 = this.userService;
     assertThrows(
         EmailAlreadyUsedException.class,
@@ -82,14 +106,71 @@ public class UserServiceTest {
   @Test
   @RequiresNonNull({"userRepository", "userService"})
   public void testCreateUser_username_exists() {
-    final var user = new User("email@example.com", "example", "hash");
-    given(userRepository.findByUsername("example")).willReturn(Optional.of(user));
+    given(userRepository.save(any()))
+        .willThrow(duplicate("USER_USERNAME_IDX_INDEX_2", "USERNAME", "'example'"));
+    final var userService = this.userService;
+    assertThrows(
+        UsernameAlreadyUsedException.class,
+        () -> {
+          userService.createUser(newUser("email@example.com", "example", "123"));
+        });
+  }
+
+  @Test
+  @RequiresNonNull({"userRepository", "userService"})
+  public void testCreateUser_index_is_told_by_name_not_by_values() {
+    given(userRepository.save(any()))
+        .willThrow(duplicate("USER_EMAIL_IDX_INDEX_2", "EMAIL", "'user_username_idx@example.com'"));
+    final var userService = this.userService;
+    assertThrows(
+        EmailAlreadyUsedException.class,
+        () -> {
+          userService.createUser(newUser("user_username_idx@example.com", "example", "123"));
+        });
+  }
+
+  @Test
+  @RequiresNonNull({"userRepository", "userService"})
+  public void testCreateUser_racing_uncommitted_user_is_retried() {
+    given(userRepository.save(any()))
+        .willThrow(concurrentUpdate())
+        .willThrow(duplicate("USER_USERNAME_IDX_INDEX_2", "USERNAME", "'example'"));
     final var userService = this.userService;
     assertThrows(
         UsernameAlreadyUsedException.class,
         () -> {
           userService.createUser(newUser("email@example.com", "example", "123"));
         });
+    verify(userRepository, times(2)).save(any());
+  }
+
+  @Test
+  @RequiresNonNull({"userRepository", "userService"})
+  public void testCreateUser_uncommitted_user_outlasting_retries_is_a_duplicate() {
+    given(userRepository.save(any())).willThrow(concurrentUpdate());
+    final var userService = this.userService;
+    assertThrows(
+        UserAlreadyExistsException.class,
+        () -> {
+          userService.createUser(newUser("email@example.com", "example", "123"));
+        });
+    verify(userRepository, times(5)).save(any());
+  }
+
+  @Test
+  @RequiresNonNull({"userRepository", "userService"})
+  public void testCreateUser_other_violation() {
+    given(userRepository.save(any()))
+        .willThrow(
+            new DataIntegrityViolationException(
+                "could not execute statement",
+                new SQLException("NULL not allowed for column \"EMAIL\"", "23502", 23502)));
+    final var userService = this.userService;
+    assertThrows(
+        DataIntegrityViolationException.class,
+        () -> {
+          userService.createUser(newUser("email@example.com", "example", "123"));
+        });
   }
 
   @Test
@@ -108,6 +189,21 @@ public class UserServiceTest {
     assertThat(userWithToken.getToken()).isEqualTo("token");
   }
 
+  @Test
+  @RequiresNonNull({"userRepository", "userService", "authenticationService"})
+  public void testLogin_rehashes_password_of_other_cost() {
+    final var user = new User("email@example.com", "example", "old-hash");
+    user.setId(1);
+    given(authenticationService.authenticate("email@example.com", "123"))
+        .willReturn(Optional.of(user));
+    given(authenticationService.needsRehash(user)).willReturn(true);
+    given(authenticationService.encodePassword("123")).willReturn("new-hash");
+
+    userService.login(loginUser("email@example.com", "123"));
+
+    verify(userRepository, timeout(10_000)).replacePasswordHash(1, "old-hash", "new-hash");
+  }
+
   @Test
   @RequiresNonNull({"userRepository", "userService"})
   public void testLogin_password_doesnt_match() {
@@ -178,6 +274,25 @@ public class UserServiceTest {
         });
   }
 
+  /** Returns the exception a violated unique index raises, with the message of H2. */
+  private static DuplicateKeyException duplicate(
+      String index, String column, String value) {
+    final var message =
+        String.format(
+            "Unique index or primary key violation: \"PUBLIC.%s ON PUBLIC.\"\"USER\"\"(%s) "
+                + "VALUES (%s, 1)\"; SQL statement:",
+            index, column, value);
+    return new DuplicateKeyException(
+        "could not execute statement", new SQLException(message, "23505", 23505));
+  }
+  /** Returns the exception a row of another transaction which has not committed raises. */
+  private static CannotAcquireLockException concurrentUpdate() {
+    return new CannotAcquireLockException(
+        "could not execute statement",
+        new SQLException("Concurrent update in table \"USER\"", "90131", 90131));
+  }
+
+
   private NewUserRequestData newUser(String email, String username, String password) {
     final var newUserData = new NewUserData();
     newUserData.setEmail(email);
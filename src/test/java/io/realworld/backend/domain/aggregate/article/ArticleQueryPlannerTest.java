@@ -0,0 +1,189 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.collect.ImmutableSet;
+import io.realworld.backend.domain.aggregate.favourite.ArticleFavourite;
+import io.realworld.backend.domain.aggregate.favourite.ArticleFavouriteRepository;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+/** Compares the planned queries with the single catch-all query they replaced. */
+@DataJpaTest
+public class ArticleQueryPlannerTest {
+  private static final String LEGACY_FROM_WHERE =
+      "FROM Article a "
+          + "LEFT JOIN a.tags t "
+          + "LEFT JOIN a.author p "
+          + "LEFT JOIN ArticleFavourite f ON a.id = f.id.articleId "
+          + "LEFT JOIN User fu ON fu.id = f.id.userId "
+          + "WHERE "
+          + "(:tag IS NULL OR t.name = :tag) AND "
+          + "(:author IS NULL OR p.username = :author) AND "
+          + "(:favorited IS NULL OR fu.username = :favorited)";
+  private static final String LEGACY_SELECT =
+      "SELECT DISTINCT a " + LEGACY_FROM_WHERE + " ORDER BY a.createdAt DESC, a.id DESC";
+  private static final String LEGACY_COUNT = "SELECT COUNT(DISTINCT a.id) " + LEGACY_FROM_WHERE;
+
+  private static final List<@Nullable String> TAGS = Arrays.asList(null, "red", "blue", "none");
+  private static final List<@Nullable String> USERS =
+      Arrays.asList(null, "alice", "bob", "carol", "nobody");
+  private static final int PAGE = 3;
+
+  private final ArticleRepository articleRepository;
+  private final TagRepository tagRepository;
+  private final UserRepository userRepository;
+  private final ArticleFavouriteRepository articleFavouriteRepository;
+  private final EntityManager entityManager;
+
+  /** Creates ArticleQueryPlannerTest instance. */
+  @Autowired
+  public ArticleQueryPlannerTest(
+      ArticleRepository articleRepository,
+      TagRepository tagRepository,
+      UserRepository userRepository,
+      ArticleFavouriteRepository articleFavouriteRepository,
+      EntityManager entityManager) {
+    this.articleRepository = articleRepository;
+    this.tagRepository = tagRepository;
+    this.userRepository = userRepository;
+    this.articleFavouriteRepository = articleFavouriteRepository;
+    this.entityManager = entityManager;
+  }
+
+  @BeforeEach
+  public void setUp() {
+    final var users = new ArrayList<User>();
+    for (final var name : List.of("alice", "bob", "carol")) {
+      users.add(userRepository.save(new User(name + "@example.com", name, "hash")));
+    }
+    final var red = tagRepository.save(new Tag("red"));
+    final var blue = tagRepository.save(new Tag("blue"));
+    final var green = tagRepository.save(new Tag("green"));
+    final var tagSets =
+        List.of(
+            ImmutableSet.<Tag>of(),
+            ImmutableSet.of(red),
+            ImmutableSet.of(blue),
+            ImmutableSet.of(red, blue),
+            ImmutableSet.of(red, green));
+    final var start = Instant.parse("2021-01-01T00:00:00Z");
+    for (int i = 0; i < 30; i++) {
+      final var article = new Article();
+      article.setTitle("title " + i);
+      article.setAuthor(users.get(i % users.size()));
+      article.setTags(tagSets.get(i % tagSets.size()));
+      article.setCreatedAt(start.plusSeconds(i / 2));
+      final var saved = articleRepository.save(article);
+      // Several users favourite the same article, which multiplied rows of the catch-all query.
+      for (int u = 0; u < users.size(); u++) {
+        if ((i + u) % (u + 2) == 0) {
+          articleFavouriteRepository.save(
+              new ArticleFavourite(users.get(u).getId(), saved.getId()));
+        }
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  public void testEveryCombinationMatchesLegacyQuery() {
+    for (final var tag : TAGS) {
+      for (final var author : USERS) {
+        for (final var favorited : USERS) {
+          final var filter = new ArticleFilter(tag, author, favorited);
+          final var expected = legacyIds(tag, author, favorited);
+
+          assertThat(ids(articleRepository.findByFilter(filter, page(0, 100))))
+              .as("all of %s", filter)
+              .isEqualTo(expected);
+          assertThat(articleRepository.countByFilter(filter))
+              .as("count of %s", filter)
+              .isEqualTo(legacyCount(tag, author, favorited));
+          assertThat(offsetPages(filter)).as("offset pages of %s", filter).isEqualTo(expected);
+          assertThat(cursorPages(filter)).as("cursor pages of %s", filter).isEqualTo(expected);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testPlansJoinOnlyWhatFiltersNeed() {
+    final var planner = new ArticleQueryPlanner();
+
+    assertThat(planner.plan(new ArticleFilter(null, null, null), false).getSelectQuery())
+        .isEqualTo("SELECT a FROM Article a JOIN FETCH a.author");
+    assertThat(planner.plan(new ArticleFilter("red", null, null), false).getSelectQuery())
+        .isEqualTo("SELECT a FROM Article a JOIN FETCH a.author JOIN a.tags t WHERE t.name = :tag");
+    assertThat(planner.plan(new ArticleFilter(null, "alice", null), true).getCountQuery())
+        .startsWith("SELECT COUNT(a) FROM Article a JOIN a.author p WHERE p.username = :author")
+        .doesNotContain("tags", "ArticleFavourite");
+  }
+
+  private List<Long> offsetPages(ArticleFilter filter) {
+    final var result = new ArrayList<Long>();
+    for (int offset = 0; ; offset += PAGE) {
+      final var page = articleRepository.findByFilter(filter, page(offset, PAGE));
+      result.addAll(ids(page));
+      if (page.size() < PAGE) {
+        return result;
+      }
+    }
+  }
+
+  private List<Long> cursorPages(ArticleFilter filter) {
+    final var result = new ArrayList<Long>();
+    var page = articleRepository.findByFilter(filter, page(0, PAGE));
+    while (!page.isEmpty()) {
+      result.addAll(ids(page));
+      final var cursor = ArticleCursor.of(page.get(page.size() - 1));
+      page = articleRepository.findByFilterBefore(filter, cursor, page(0, PAGE));
+    }
+    return result;
+  }
+
+  // The legacy query binds absent filters as null parameters.
+  @SuppressWarnings("nullness")
+  private List<Long> legacyIds(
+      @Nullable String tag, @Nullable String author, @Nullable String favorited) {
+    return ids(
+        entityManager
+            .createQuery(LEGACY_SELECT, Article.class)
+            .setParameter("tag", tag)
+            .setParameter("author", author)
+            .setParameter("favorited", favorited)
+            .getResultList());
+  }
+
+  @SuppressWarnings("nullness")
+  private int legacyCount(
+      @Nullable String tag, @Nullable String author, @Nullable String favorited) {
+    return entityManager
+        .createQuery(LEGACY_COUNT, Long.class)
+        .setParameter("tag", tag)
+        .setParameter("author", author)
+        .setParameter("favorited", favorited)
+        .getSingleResult()
+        .intValue();
+  }
+
+  private static OffsetBasedPageRequest page(int offset, int limit) {
+    return OffsetBasedPageRequest.of(offset, limit, ArticleCursor.ORDER);
+  }
+
+  private static List<Long> ids(List<Article> articles) {
+    return articles.stream().map(Article::getId).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,236 @@
+package io.realworld.backend.domain.aggregate.article;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.infrastructure.StatementRecorder;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import(StatementRecorder.class)
+public class ArticleRepositoryTest {
+  private static final int ARTICLES = 500;
+  private static final int PAGE = 20;
+  private static final int AUTHORS = 60;
+  private static final ArticleFilter NO_FILTER = new ArticleFilter(null, null, null);
+
+  private final ArticleRepository articleRepository;
+  private final TagRepository tagRepository;
+  private final UserRepository userRepository;
+  private final StatementRecorder statementRecorder;
+  private final EntityManager entityManager;
+  private final Set<Long> authorIds = new HashSet<>();
+  private final Map<String, Tag> tags = new HashMap<>();
+
+  /** Creates ArticleRepositoryTest instance. */
+  @Autowired
+  public ArticleRepositoryTest(
+      ArticleRepository articleRepository,
+      TagRepository tagRepository,
+      UserRepository userRepository,
+      StatementRecorder statementRecorder,
+      EntityManager entityManager) {
+    this.articleRepository = articleRepository;
+    this.tagRepository = tagRepository;
+    this.userRepository = userRepository;
+    this.statementRecorder = statementRecorder;
+    this.entityManager = entityManager;
+  }
+
+  @BeforeEach
+  public void setUp() {
+    final var authors = new ArrayList<User>();
+    for (int i = 0; i < AUTHORS; i++) {
+      authors.add(userRepository.save(new User(i + "@example.com", "author" + i, "hash")));
+      authorIds.add(authors.get(i).getId());
+    }
+    final var start = Instant.parse("2021-01-01T00:00:00Z");
+    final var articles = new ArrayList<Article>();
+    for (int i = 0; i < ARTICLES; i++) {
+      final var article = new Article();
+      article.setTitle("title " + i);
+      article.setAuthor(authors.get(i % AUTHORS));
+      article.setTags(List.of(tag("seven" + i % 7), tag("eleven" + i % 11)));
+      // Every pair of articles shares a timestamp, so the id tie-breaker is exercised too.
+      article.setCreatedAt(start.plusSeconds(i / 2));
+      articles.add(article);
+    }
+    articleRepository.saveAll(articles);
+    entityManager.flush();
+    entityManager.clear();
+  }
+
+  @Test
+  public void testCursorPagesMatchOffsetPages() {
+    final var byOffset = new ArrayList<Long>();
+    for (int offset = 0; offset < ARTICLES; offset += PAGE) {
+      byOffset.addAll(
+          ids(
+              articleRepository.findByFilter(
+                  NO_FILTER, OffsetBasedPageRequest.of(offset, PAGE, ArticleCursor.ORDER))));
+    }
+
+    final var byCursor = new ArrayList<Long>();
+    var page = articleRepository.findByFilter(NO_FILTER, firstPage());
+    while (!page.isEmpty()) {
+      byCursor.addAll(ids(page));
+      final var cursor =
+          ArticleCursor.decode(ArticleCursor.of(page.get(page.size() - 1)).encode()).orElseThrow();
+      page = articleRepository.findByFilterBefore(NO_FILTER, cursor, firstPage());
+    }
+
+    assertThat(byCursor).hasSize(ARTICLES).doesNotHaveDuplicates().isEqualTo(byOffset);
+  }
+
+  @Test
+  public void testCursorPageCostDoesNotDependOnPosition() throws Exception {
+    final var shallow = seekScanCount(PAGE);
+    final var deep = seekScanCount(ARTICLES - 2 * PAGE);
+    final var deepOffset = offsetScanCount(ARTICLES - 2 * PAGE);
+
+    // The seek reads the same number of rows wherever the page is, offset reads all skipped ones.
+    assertThat(deep).isEqualTo(shallow);
+    assertThat(deepOffset).isGreaterThan(10 * deep);
+  }
+
+  @Test
+  public void testListStatementCountDoesNotGrowWithPageSize() {
+    final var counts = new ArrayList<Integer>();
+    statementRecorder.clear();
+    for (final int size : List.of(5, 20, 50, 100)) {
+      final var filtered = articleRepository.findByFilter(NO_FILTER, firstPageOf(size));
+      counts.add(statementsToRender(filtered));
+
+      final var feed = articleRepository.findByAuthorIdIn(authorIds, firstPageOf(size));
+      counts.add(statementsToRender(feed));
+
+      final var last = ArticleCursor.of(feed.get(0));
+      counts.add(
+          statementsToRender(
+              articleRepository.findByAuthorIdInBefore(
+                  authorIds, last.getCreatedAt(), last.getId(), firstPageOf(size))));
+    }
+
+    // The page with its authors, then one batch with the tags of all its articles.
+    assertThat(counts).containsOnly(2);
+  }
+
+  @Test
+  public void testTagUpdateWritesOnlyChangedJoinRows() {
+    final var article = articleRepository.findByFilter(NO_FILTER, firstPage()).get(0);
+    final var kept = article.getTags().stream().filter(t -> t.getName().startsWith("seven"));
+    final var newTags = new ArrayList<Tag>();
+    kept.forEach(newTags::add);
+    newTags.add(tag("thirteen"));
+    statementRecorder.clear();
+
+    article.setTags(newTags);
+    entityManager.flush();
+
+    assertThat(statementRecorder.getStatements("article_tag"))
+        .extracting(s -> s.getSql().toLowerCase().substring(0, 6))
+        .containsExactlyInAnyOrder("delete", "insert");
+  }
+
+  @Test
+  public void testRareTagFilterScansOnlyTaggedArticles() throws Exception {
+    final var all = articleRepository.findByFilter(NO_FILTER, firstPageOf(ARTICLES));
+    for (final var article : List.of(all.get(100), all.get(200), all.get(300))) {
+      final var tagged = new ArrayList<>(article.getTags());
+      tagged.add(tag("rare"));
+      article.setTags(tagged);
+    }
+    entityManager.flush();
+    entityManager.clear();
+    statementRecorder.clear();
+
+    final var page =
+        articleRepository.findByFilter(new ArticleFilter("rare", null, null), firstPage());
+    final var scanned =
+        statementRecorder.scanCount(statementRecorder.getStatements("from article").get(0));
+
+    assertThat(page).hasSize(3);
+    // The tag is found by name and its articles through the tag id index of the join table, rather
+    // than by walking all articles newest first.
+    assertThat(scanned).isLessThan(20);
+  }
+
+  @Test
+  public void testFindsBySlugAfterTitleChangeAndDelete() {
+    final var slug = articleRepository.findByFilter(NO_FILTER, firstPage()).get(0).getSlug();
+    final var article = articleRepository.findBySlug(slug).orElseThrow();
+    article.setTitle("Renamed");
+    articleRepository.evictSlug(slug);
+    entityManager.flush();
+    assertThat(articleRepository.findBySlug(slug)).isEmpty();
+    assertThat(articleRepository.findBySlug(article.getSlug())).contains(article);
+
+    articleRepository.delete(article);
+    articleRepository.evictSlug(article.getSlug());
+    entityManager.flush();
+    assertThat(articleRepository.findBySlug(article.getSlug())).isEmpty();
+  }
+
+  @Test
+  public void testDecodeRejectsMalformedCursor() {
+    assertThat(ArticleCursor.decode("not a cursor")).isEmpty();
+    assertThat(ArticleCursor.decode("MTox")).isEmpty();
+  }
+
+  private long seekScanCount(int position) throws Exception {
+    final var all = articleRepository.findByFilter(NO_FILTER, firstPageOf(ARTICLES));
+    final var cursor = ArticleCursor.of(all.get(position - 1));
+    statementRecorder.clear();
+    articleRepository.findByFilterBefore(NO_FILTER, cursor, firstPage());
+    return statementRecorder.scanCount(statementRecorder.getStatements("from article").get(0));
+  }
+
+  private long offsetScanCount(int offset) throws Exception {
+    statementRecorder.clear();
+    articleRepository.findByFilter(
+        NO_FILTER, OffsetBasedPageRequest.of(offset, PAGE, ArticleCursor.ORDER));
+    return statementRecorder.scanCount(statementRecorder.getStatements("from article").get(0));
+  }
+
+  /** Returns how many statements were issued to load given page and everything it renders. */
+  private int statementsToRender(List<Article> page) {
+    for (final var article : page) {
+      assertThat(article.getAuthor().getUsername()).isNotEmpty();
+      assertThat(article.getTags()).hasSize(2);
+    }
+    final var count = statementRecorder.getStatements().size();
+    entityManager.clear();
+    statementRecorder.clear();
+    return count;
+  }
+
+  private Tag tag(String name) {
+    return tags.computeIfAbsent(name, n -> tagRepository.save(new Tag(n)));
+  }
+
+  private static OffsetBasedPageRequest firstPage() {
+    return firstPageOf(PAGE);
+  }
+
+  private static OffsetBasedPageRequest firstPageOf(int size) {
+    return OffsetBasedPageRequest.of(0, size, ArticleCursor.ORDER);
+  }
+
+  private static List<Long> ids(List<Article> articles) {
+    return articles.stream().map(Article::getId).collect(Collectors.toList());
+  }
+}
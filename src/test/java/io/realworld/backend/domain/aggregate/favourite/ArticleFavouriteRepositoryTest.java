@@ -0,0 +1,47 @@
+package io.realworld.backend.domain.aggregate.favourite;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+@DataJpaTest
+public class ArticleFavouriteRepositoryTest {
+  private final ArticleFavouriteRepository articleFavouriteRepository;
+
+  /** Creates ArticleFavouriteRepositoryTest instance. */
+  @Autowired
+  public ArticleFavouriteRepositoryTest(ArticleFavouriteRepository articleFavouriteRepository) {
+    this.articleFavouriteRepository = articleFavouriteRepository;
+  }
+
+  @BeforeEach
+  public void setUp() {
+    articleFavouriteRepository.saveAll(
+        List.of(
+            new ArticleFavourite(1, 10),
+            new ArticleFavourite(2, 10),
+            new ArticleFavourite(2, 11),
+            new ArticleFavourite(1, 12)));
+  }
+
+  @Test
+  public void testFindsViewerFavouritesAmongGivenArticlesOnly() {
+    final var favourites =
+        articleFavouriteRepository.findByIdUserIdAndIdArticleIdIn(1, List.of(10L, 11L, 13L));
+
+    assertThat(favourites).extracting(f -> f.getId().getArticleId()).containsExactly(10L);
+  }
+
+  @Test
+  public void testDeleteIfExistsReportsDeletedRows() {
+    assertThat(articleFavouriteRepository.deleteIfExists(new ArticleFavouriteId(2, 10)))
+        .isEqualTo(1);
+    assertThat(articleFavouriteRepository.deleteIfExists(new ArticleFavouriteId(2, 10)))
+        .isEqualTo(0);
+    assertThat(articleFavouriteRepository.existsById(new ArticleFavouriteId(1, 10))).isTrue();
+  }
+}
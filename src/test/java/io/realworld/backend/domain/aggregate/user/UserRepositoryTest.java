@@ -0,0 +1,116 @@
+package io.realworld.backend.domain.aggregate.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.infrastructure.StatementRecorder;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import({StatementRecorder.class, SimpleMeterRegistry.class})
+public class UserRepositoryTest {
+  private final UserRepository userRepository;
+  private final StatementRecorder statementRecorder;
+  private final EntityManager entityManager;
+  private final MeterRegistry meterRegistry;
+  private long userId = 0;
+
+  /** Creates UserRepositoryTest instance. */
+  @Autowired
+  public UserRepositoryTest(
+      UserRepository userRepository,
+      StatementRecorder statementRecorder,
+      EntityManager entityManager,
+      MeterRegistry meterRegistry) {
+    this.userRepository = userRepository;
+    this.statementRecorder = statementRecorder;
+    this.entityManager = entityManager;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @BeforeEach
+  public void setUp() {
+    userId = userRepository.save(new User("alice@example.com", "alice", "hash")).getId();
+    entityManager.flush();
+    entityManager.clear();
+    statementRecorder.clear();
+  }
+
+  @Test
+  public void testResolvesCachedNaturalIdsByPrimaryKey() {
+    final var misses = gets("miss");
+    final var hits = gets("hit");
+    assertThat(userRepository.findByUsername("alice")).map(User::getId).contains(userId);
+    assertThat(statementRecorder.getStatements("username=?")).hasSize(1);
+
+    entityManager.clear();
+    statementRecorder.clear();
+    assertThat(userRepository.findByUsername("alice")).map(User::getId).contains(userId);
+    assertThat(statementRecorder.getStatements()).hasSize(1);
+    assertThat(statementRecorder.getStatements("username=?")).isEmpty();
+
+    // The user is in the persistence context now, so no statement is needed at all.
+    statementRecorder.clear();
+    assertThat(userRepository.findByUsername("alice")).isPresent();
+    assertThat(statementRecorder.getStatements()).isEmpty();
+    assertThat(gets("miss")).isEqualTo(misses + 1);
+    assertThat(gets("hit")).isEqualTo(hits + 2);
+  }
+
+  @Test
+  public void testEvictsChangedNaturalIds() {
+    final var user = userRepository.findByEmail("alice@example.com").orElseThrow();
+    userRepository.findByUsername("alice");
+    user.setEmail("alicia@example.com");
+    user.setUsername("alicia");
+    userRepository.evictEmail("alice@example.com");
+    userRepository.evictUsername("alice");
+    entityManager.flush();
+
+    assertThat(userRepository.findByEmail("alice@example.com")).isEmpty();
+    assertThat(userRepository.findByUsername("alice")).isEmpty();
+    assertThat(userRepository.findByEmail("alicia@example.com")).contains(user);
+    assertThat(userRepository.findByUsername("alicia")).contains(user);
+  }
+
+  @Test
+  public void testIgnoresStaleNaturalIds() {
+    final var user = userRepository.findByUsername("alice").orElseThrow();
+    user.setUsername("alicia");
+    entityManager.flush();
+    final var other = userRepository.save(new User("other@example.com", "alice", "hash"));
+
+    assertThat(userRepository.findByUsername("alice")).contains(other);
+    assertThat(userRepository.findByUsername("alicia")).contains(user);
+  }
+
+  @Test
+  public void testMissingUsernamesAreAnsweredWithoutQuery() {
+    userRepository.rebuildUsernameFilter();
+    final var user = userRepository.findByUsername("alice").orElseThrow();
+    user.setUsername("alicia");
+    entityManager.flush();
+    final var bob = userRepository.save(new User("bob@example.com", "bob", "hash"));
+    statementRecorder.clear();
+
+    assertThat(userRepository.findByUsername("mallory")).isEmpty();
+    assertThat(statementRecorder.getStatements()).isEmpty();
+    assertThat(userRepository.findByUsername("alicia")).contains(user);
+    assertThat(userRepository.findByUsername("bob")).contains(bob);
+  }
+
+  private double gets(String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", "userUsername")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
@@ -0,0 +1,60 @@
+package io.realworld.backend.domain.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+public class ExistenceFilterTest {
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final ExistenceFilter filter =
+      new ExistenceFilter("test", 1000, 0.001, provider(meterRegistry));
+
+  @Test
+  public void testEverythingMightExistUntilBuilt() {
+    filter.add("added");
+
+    assertThat(filter.mightExist("missing")).isTrue();
+    filter.rebuild(Stream.of("scanned"));
+    assertThat(filter.mightExist("added")).isTrue();
+    assertThat(filter.mightExist("scanned")).isTrue();
+  }
+
+  @Test
+  public void testMissingNaturalIdsAreShortCircuited() {
+    filter.rebuild(Stream.of("alice", "bob"));
+    filter.add("carol");
+
+    assertThat(filter.mightExist("alice")).isTrue();
+    assertThat(filter.mightExist("carol")).isTrue();
+    assertThat(filter.mightExist("mallory")).isFalse();
+    assertThat(shortCircuited()).isEqualTo(1);
+  }
+
+  @Test
+  public void testRebuildDropsRemovedNaturalIdsAndKeepsConcurrentAdditions() {
+    filter.rebuild(Stream.of("alice", "bob"));
+    filter.rebuild(Stream.of("alice").peek(scanned -> filter.add("carol")));
+
+    assertThat(filter.mightExist("bob")).isFalse();
+    assertThat(filter.mightExist("carol")).isTrue();
+  }
+
+  private static ObjectProvider<MeterRegistry> provider(MeterRegistry meterRegistry) {
+    final var beanFactory = new StaticListableBeanFactory();
+    beanFactory.addBean("meterRegistry", meterRegistry);
+    return beanFactory.getBeanProvider(MeterRegistry.class);
+  }
+
+  private double shortCircuited() {
+    return meterRegistry
+        .get("existenceFilter.shortCircuited")
+        .tag("filter", "test")
+        .counter()
+        .count();
+  }
+}
@@ -0,0 +1,170 @@
+package io.realworld.backend.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.domain.aggregate.favourite.FavouriteChangedEvent;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserUpdatedEvent;
+import io.realworld.backend.infrastructure.web.AnonymousResponseCacheFilter;
+import io.realworld.backend.infrastructure.web.ResponseCache;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.FilterChain;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class AnonymousResponseCacheFilterTest {
+  private static final String BODY = "{\"articles\":[],\"articlesCount\":0,\"hasMore\":false}";
+
+  private final ResponseCache responseCache =
+      new ResponseCache(1 << 20, Duration.ofMinutes(1), 16, new SimpleMeterRegistry());
+  private final AnonymousResponseCacheFilter filter =
+      new AnonymousResponseCacheFilter(responseCache);
+  private final AtomicInteger calls = new AtomicInteger();
+  private String body = BODY;
+  private final FilterChain chain =
+      (request, response) -> {
+        calls.incrementAndGet();
+        response.setContentType("application/json");
+        response.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+      };
+
+  @Test
+  public void testAnonymousListingIsServedFromCache() throws Exception {
+    final var first = get(Map.of("tag", "java", "limit", "20"), null);
+    final var second = get(Map.of("limit", "20", "tag", "java"), null);
+
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo(BODY);
+    assertThat(second.getContentType()).isEqualTo("application/json");
+    assertThat(second.getHeader(HttpHeaders.VARY)).contains(HttpHeaders.AUTHORIZATION);
+  }
+
+  @Test
+  public void testDifferentParametersAreCachedApart() throws Exception {
+    get(Map.of("tag", "java"), null);
+    get(Map.of("tag", "kotlin"), null);
+    get(Map.of("tag", "java&author=x"), null);
+
+    assertThat(calls.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void testAuthenticatedRequestsAreNotCached() throws Exception {
+    get(Map.of(), "Token abc");
+    get(Map.of(), "Token abc");
+
+    assertThat(calls.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testFavouriteDropsResponsesShowingTheArticle() throws Exception {
+    body = listing("first", "alice");
+    get(Map.of("tag", "java"), null);
+    body = listing("second", "bob");
+    get(Map.of("tag", "kotlin"), null);
+    body = BODY;
+    get(Map.of("favorited", "carol"), null);
+
+    responseCache.onFavouriteChanged(new FavouriteChangedEvent(1, 2, "first", true));
+    get(Map.of("tag", "java"), null);
+    get(Map.of("tag", "kotlin"), null);
+    get(Map.of("favorited", "carol"), null);
+
+    assertThat(calls.get()).isEqualTo(5);
+  }
+
+  @Test
+  public void testProfileChangeDropsResponsesShowingOrNamingTheUser() throws Exception {
+    body = listing("first", "alice");
+    get(Map.of("tag", "java"), null);
+    body = listing("second", "bob");
+    get(Map.of("tag", "kotlin"), null);
+    body = BODY;
+    get(Map.of("author", "alice"), null);
+    get(Map.of("author", "bob"), null);
+
+    responseCache.onUserUpdated(
+        new UserUpdatedEvent(new User("alice@example.com", "alicia", "hash"), "alice"));
+    get(Map.of("tag", "java"), null);
+    get(Map.of("tag", "kotlin"), null);
+    get(Map.of("author", "alice"), null);
+    get(Map.of("author", "bob"), null);
+
+    assertThat(calls.get()).isEqualTo(6);
+  }
+
+  @Test
+  public void testResponseRacingAWriteIsNotCached() throws Exception {
+    final FilterChain racingChain =
+        (request, response) -> {
+          chain.doFilter(request, response);
+          responseCache.invalidateAll();
+        };
+    final var request = new MockHttpServletRequest("GET", "/api/articles");
+    filter.doFilter(request, new MockHttpServletResponse(), racingChain);
+    get(Map.of(), null);
+
+    assertThat(calls.get()).isEqualTo(2);
+  }
+
+  @Test
+  public void testGzippedBodyIsServedToClientsAcceptingIt() throws Exception {
+    get(Map.of(), null);
+    final var request = new MockHttpServletRequest("GET", "/api/articles");
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+    final var response = new MockHttpServletResponse();
+    filter.doFilter(request, response, chain);
+
+    assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+    try (var in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+      assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+    }
+  }
+
+  @Test
+  public void testGzipIsServedOnlyWithPositiveQuality() throws Exception {
+    get(Map.of(), null);
+
+    assertThat(contentEncoding("gzip;q=0")).isNull();
+    assertThat(contentEncoding("x-gzip-not")).isNull();
+    assertThat(contentEncoding("*;q=0.5, gzip; q=0")).isNull();
+    assertThat(contentEncoding("*;q=0.5")).isEqualTo("gzip");
+    assertThat(contentEncoding("deflate, GZIP;q=0.1")).isEqualTo("gzip");
+  }
+
+  private @Nullable String contentEncoding(String acceptEncoding) throws Exception {
+    final var request = new MockHttpServletRequest("GET", "/api/articles");
+    request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+    final var response = new MockHttpServletResponse();
+    filter.doFilter(request, response, chain);
+    return response.getHeader(HttpHeaders.CONTENT_ENCODING);
+  }
+
+  private static String listing(String slug, String username) {
+    return String.format(
+        "{\"articles\":[{\"slug\":\"%s\",\"author\":{\"username\":\"%s\"}}],"
+            + "\"articlesCount\":1,\"hasMore\":false}",
+        slug, username);
+  }
+
+  private MockHttpServletResponse get(
+      Map<String, String> parameters, @Nullable String authorization) throws Exception {
+    final var request = new MockHttpServletRequest("GET", "/api/articles");
+    request.addParameters(parameters);
+    if (authorization != null) {
+      request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+    }
+    final var response = new MockHttpServletResponse();
+    filter.doFilter(request, response, chain);
+    return response;
+  }
+}
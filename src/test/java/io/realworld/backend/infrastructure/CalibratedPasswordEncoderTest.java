@@ -0,0 +1,33 @@
+package io.realworld.backend.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.realworld.backend.infrastructure.security.CalibratedPasswordEncoder;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+public class CalibratedPasswordEncoderTest {
+  @Test
+  public void testStrengthFollowsTargetTime() {
+    final var fast = CalibratedPasswordEncoder.calibrate(Duration.ofNanos(1), 4);
+    final var slow = CalibratedPasswordEncoder.calibrate(Duration.ofMillis(50), 4);
+
+    assertThat(fast.getStrength()).isEqualTo(4);
+    assertThat(slow.getStrength()).isGreaterThan(fast.getStrength());
+    assertThat(CalibratedPasswordEncoder.calibrate(Duration.ofNanos(1), 6).getStrength())
+        .isEqualTo(6);
+  }
+
+  @Test
+  public void testWeakerHashesAreUpgraded() {
+    final var encoder = new CalibratedPasswordEncoder(5);
+
+    assertThat(encoder.upgradeEncoding(encoder.encode("password"))).isFalse();
+    assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+    assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password"))).isFalse();
+    assertThat(encoder.upgradeEncoding("plain")).isFalse();
+    assertThat(encoder.matches("password", new BCryptPasswordEncoder(6).encode("password")))
+        .isTrue();
+  }
+}
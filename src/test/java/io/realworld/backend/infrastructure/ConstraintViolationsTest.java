@@ -0,0 +1,98 @@
+package io.realworld.backend.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.realworld.backend.infrastructure.persistence.ConstraintViolations;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+
+public class ConstraintViolationsTest {
+  @Test
+  public void testIndexIsTakenFromTheNameNotTheValues() {
+    final var e =
+        duplicate(
+            "Unique index or primary key violation: \"PUBLIC.USER_EMAIL_IDX_INDEX_2 ON "
+                + "PUBLIC.\"\"USER\"\"(EMAIL) VALUES ('user_username_idx@example.com', 1)\"");
+
+    assertThat(ConstraintViolations.violatedIndex(e)).contains("USER_EMAIL_IDX");
+    assertThat(ConstraintViolations.violates(e, "user_email_idx")).isTrue();
+    assertThat(ConstraintViolations.violates(e, "user_username_idx")).isFalse();
+  }
+
+  @Test
+  public void testOtherViolationsNameNoIndex() {
+    final var e =
+        new DataIntegrityViolationException(
+            "could not execute statement",
+            new SQLException("NULL not allowed for column \"USER_EMAIL_IDX ON \"", "23502", 23502));
+
+    assertThat(ConstraintViolations.violatedIndex(e)).isEmpty();
+  }
+
+  @Test
+  public void testInsertIsRetriedUntilTheOtherTransactionEnds() {
+    final var attempts = new AtomicInteger();
+
+    final var result =
+        ConstraintViolations.retryConcurrentUpdates(
+            () -> {
+              if (attempts.incrementAndGet() < 3) {
+                throw concurrentUpdate();
+              }
+              return "inserted";
+            });
+
+    assertThat(result).isEqualTo("inserted");
+    assertThat(attempts).hasValue(3);
+  }
+
+  @Test
+  public void testDuplicateAfterRetryIsThrown() {
+    final var attempts = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                ConstraintViolations.retryConcurrentUpdates(
+                    () -> {
+                      if (attempts.incrementAndGet() == 1) {
+                        throw concurrentUpdate();
+                      }
+                      throw new DuplicateKeyException("duplicate");
+                    }))
+        .isInstanceOf(DuplicateKeyException.class);
+    assertThat(attempts).hasValue(2);
+  }
+
+  @Test
+  public void testConflictOutlastingTheAttemptsIsADuplicateNamingNoIndex() {
+    final var attempts = new AtomicInteger();
+
+    assertThatThrownBy(
+            () ->
+                ConstraintViolations.retryConcurrentUpdates(
+                    () -> {
+                      attempts.incrementAndGet();
+                      throw concurrentUpdate();
+                    }))
+        .isInstanceOfSatisfying(
+            DuplicateKeyException.class,
+            e -> assertThat(ConstraintViolations.violatedIndex(e)).isEmpty());
+    assertThat(attempts).hasValue(5);
+  }
+
+  private static DuplicateKeyException duplicate(String message) {
+    return new DuplicateKeyException(
+        "could not execute statement", new SQLException(message, "23505", 23505));
+  }
+
+  private static CannotAcquireLockException concurrentUpdate() {
+    return new CannotAcquireLockException(
+        "could not execute statement",
+        new SQLException("Concurrent update in table \"USER\"", "90131", 90131));
+  }
+}
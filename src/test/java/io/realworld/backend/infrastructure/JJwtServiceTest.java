@@ -0,0 +1,104 @@
+package io.realworld.backend.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.domain.service.AuthenticatedUser;
+import io.realworld.backend.infrastructure.security.JJwtService;
+import java.util.Date;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+
+public class JJwtServiceTest {
+  private static final String SECRET = "secret";
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final UserRepository userRepository = mock(UserRepository.class);
+  private final JJwtService jwtService =
+      new JJwtService(SECRET, 60, 100, userRepository, meterRegistry);
+
+  @Test
+  public void testTokenIsVerifiedWithoutLoadingTheUser() {
+    final var token = jwtService.generateToken(user(7, "alice"));
+
+    assertThat(jwtService.getAuthenticatedUser(token)).contains(new AuthenticatedUser(7, "alice"));
+    verifyNoInteractions(userRepository);
+  }
+
+  @Test
+  public void testTokenWithoutUsernameIsResolvedThroughTheDatabaseOnce() {
+    given(userRepository.findById(7L)).willReturn(Optional.of(user(7, "alice")));
+    final var token = token("7", System.currentTimeMillis() + 60_000);
+
+    assertThat(jwtService.getAuthenticatedUser(token)).contains(new AuthenticatedUser(7, "alice"));
+    assertThat(jwtService.getAuthenticatedUser(token)).contains(new AuthenticatedUser(7, "alice"));
+    verify(userRepository, times(1)).findById(7L);
+    assertThat(gets("hit")).isEqualTo(1);
+  }
+
+  @Test
+  public void testCachedTokenIsRejectedOnceExpired() throws Exception {
+    given(userRepository.findById(7L)).willReturn(Optional.of(user(7, "alice")));
+    // Expirations are whole seconds, so this token expires in more than one second but two at most.
+    final var token = token("7", System.currentTimeMillis() + 2000);
+    assertThat(jwtService.getAuthenticatedUser(token)).isPresent();
+
+    Thread.sleep(3000);
+    assertThat(jwtService.getAuthenticatedUser(token)).isEmpty();
+    assertThat(jwtService.getAuthenticatedUser(token)).isEmpty();
+    assertThat(gets("hit")).isEqualTo(1);
+  }
+
+  @Test
+  public void testMalformedTokensAreRejectedBeforeParsing() {
+    final var token = jwtService.generateToken(user(7, "alice"));
+
+    assertThat(jwtService.getAuthenticatedUser("")).isEmpty();
+    assertThat(jwtService.getAuthenticatedUser("garbage")).isEmpty();
+    assertThat(jwtService.getAuthenticatedUser("a..c")).isEmpty();
+    assertThat(jwtService.getAuthenticatedUser(token + ".x")).isEmpty();
+    assertThat(jwtService.getAuthenticatedUser(token.replace('.', ' '))).isEmpty();
+    assertThat(gets("hit") + gets("miss")).isZero();
+  }
+
+  @Test
+  public void testTokenSignedWithAnotherSecretIsRejected() {
+    final var other = new JJwtService("other", 60, 100, userRepository, new SimpleMeterRegistry());
+    final var token = other.generateToken(user(7, "alice"));
+
+    assertThat(jwtService.getAuthenticatedUser(token)).isEmpty();
+  }
+
+  private double gets(String result) {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", "verifiedJwt")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  private static String token(String subject, long expiresAt) {
+    return Jwts.builder()
+        .setSubject(subject)
+        .setExpiration(new Date(expiresAt))
+        .signWith(SignatureAlgorithm.HS512, SECRET)
+        .compact();
+  }
+
+  private static User user(long id, String username) {
+    final var user = new User(username + "@example.com", username, "hash");
+    user.setId(id);
+    return user;
+  }
+}
@@ -0,0 +1,80 @@
+package io.realworld.backend.infrastructure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.realworld.backend.domain.aggregate.user.User;
+import io.realworld.backend.domain.aggregate.user.UserRepository;
+import io.realworld.backend.infrastructure.security.JJwtService;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares authenticating a request by a token whose signature is checked, one found in the cache
+ * of verified tokens, an expired one and malformed ones. Run with {@code mvn test -Pbenchmark}; the
+ * median and 99th percentile latencies are logged for each.
+ */
+@Tag("benchmark")
+public class JwtBenchmarkTest {
+  private static final Logger logger = LoggerFactory.getLogger(JwtBenchmarkTest.class);
+  private static final String SECRET = "jwt.secret";
+  private static final int WARMUPS = 50_000;
+  private static final int RUNS = 50_000;
+
+  private final UserRepository userRepository = mock(UserRepository.class);
+
+  @Test
+  public void benchmarkTokenVerification() {
+    final var uncached = service(0);
+    final var cached = service(1000);
+    final var user = new User("alice@example.com", "alice", "hash");
+    user.setId(7);
+    final var token = cached.generateToken(user);
+    final var expired =
+        Jwts.builder()
+            .setSubject("7")
+            .claim("username", "alice")
+            .setExpiration(new Date(System.currentTimeMillis() - 60_000))
+            .signWith(SignatureAlgorithm.HS512, SECRET)
+            .compact();
+
+    final var verified =
+        measure("verified", () -> uncached.getAuthenticatedUser(token).isPresent());
+    final var hit = measure("cached", () -> cached.getAuthenticatedUser(token).isPresent());
+    measure("expired", () -> cached.getAuthenticatedUser(expired).isEmpty());
+    measure("forged", () -> cached.getAuthenticatedUser("eyJh.eyJz.c2ln").isEmpty());
+    final var garbage =
+        measure("malformed", () -> cached.getAuthenticatedUser("not a token").isEmpty());
+
+    assertThat(hit).isLessThan(verified);
+    assertThat(garbage).isLessThan(verified);
+  }
+
+  private JJwtService service(long cacheSize) {
+    return new JJwtService(SECRET, 86400, cacheSize, userRepository, new SimpleMeterRegistry());
+  }
+
+  /** Logs the median and 99th percentile latency, and returns the median in nanoseconds. */
+  private static long measure(String name, Supplier<Boolean> authentication) {
+    final var nanos = new long[RUNS];
+    for (int i = -WARMUPS; i < RUNS; i++) {
+      final var start = System.nanoTime();
+      final var asExpected = authentication.get();
+      if (i >= 0) {
+        nanos[i] = System.nanoTime() - start;
+      }
+      assertThat(asExpected).isTrue();
+    }
+    Arrays.sort(nanos);
+    logger.info("{}: median {} ns, p99 {} ns", name, nanos[RUNS / 2], nanos[RUNS * 99 / 100]);
+    return nanos[RUNS / 2];
+  }
+}
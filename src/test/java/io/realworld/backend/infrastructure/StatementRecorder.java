@@ -0,0 +1,167 @@
+package io.realworld.backend.infrastructure;
+
+import static org.checkerframework.checker.nullness.util.NullnessUtil.castNonNull;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Records every prepared statement executed through the application data source. Lets tests assert
+ * how many statements a use case issues and how many rows H2 scans to answer them.
+ */
+public class StatementRecorder implements BeanPostProcessor {
+  private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+
+  private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+
+  /** Wraps the data source so that statements issued through it are recorded. */
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (bean instanceof DataSource) {
+      return proxy(DataSource.class, bean, this::onDataSourceCall);
+    }
+    return bean;
+  }
+
+  public void clear() {
+    statements.clear();
+  }
+
+  public List<RecordedStatement> getStatements() {
+    return List.copyOf(statements);
+  }
+
+  /** Returns recorded statements whose SQL contains given fragment (case insensitive). */
+  public List<RecordedStatement> getStatements(String sqlFragment) {
+    final var fragment = sqlFragment.toLowerCase();
+    return statements.stream()
+        .filter(s -> s.getSql().toLowerCase().contains(fragment))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Re-runs the statement under {@code EXPLAIN ANALYZE} and returns the number of rows H2 visited
+   * in all tables to produce the result. The statement is re-run on its original connection, so it
+   * sees the same uncommitted test data.
+   */
+  public long scanCount(RecordedStatement statement) throws SQLException {
+    try (var explain =
+        statement.connection.prepareStatement("EXPLAIN ANALYZE " + statement.getSql())) {
+      for (Map.Entry<Integer, @Nullable Object> parameter : statement.getParameters().entrySet()) {
+        explain.setObject(parameter.getKey(), parameter.getValue());
+      }
+      try (var resultSet = explain.executeQuery()) {
+        resultSet.next();
+        final var plan = resultSet.getString(1);
+        final var matcher = SCAN_COUNT.matcher(plan == null ? "" : plan);
+        long total = 0;
+        while (matcher.find()) {
+          total += Long.parseLong(castNonNull(matcher.group(1)));
+        }
+        return total;
+      }
+    }
+  }
+
+  private @Nullable Object onDataSourceCall(Object dataSource, Method method, Object[] args)
+      throws Throwable {
+    final var result = invoke(dataSource, method, args);
+    if (result instanceof Connection) {
+      return proxy(Connection.class, result, this::onConnectionCall);
+    }
+    return result;
+  }
+
+  private @Nullable Object onConnectionCall(Object connection, Method method, Object[] args)
+      throws Throwable {
+    final var result = invoke(connection, method, args);
+    if (result instanceof PreparedStatement && "prepareStatement".equals(method.getName())) {
+      final var sql = (String) args[0];
+      final Map<Integer, @Nullable Object> parameters = new TreeMap<>();
+      return proxy(
+          PreparedStatement.class,
+          result,
+          (statement, statementMethod, statementArgs) -> {
+            final var name = statementMethod.getName();
+            if ("setNull".equals(name)) {
+              parameters.put((Integer) statementArgs[0], null);
+            } else if (name.startsWith("set") && statementArgs.length >= 2) {
+              parameters.put((Integer) statementArgs[0], statementArgs[1]);
+            } else if (name.startsWith("execute")) {
+              statements.add(
+                  new RecordedStatement((Connection) connection, sql, new TreeMap<>(parameters)));
+            } else if ("clearParameters".equals(name)) {
+              parameters.clear();
+            }
+            return invoke(statement, statementMethod, statementArgs);
+          });
+    }
+    return result;
+  }
+
+  private static @Nullable Object invoke(Object target, Method method, Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      final var cause = e.getCause();
+      throw cause == null ? e : cause;
+    }
+  }
+
+  // InvocationHandler returns null for void methods, which its annotated signature does not allow.
+  @SuppressWarnings("nullness")
+  private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+    final InvocationHandler invocationHandler =
+        (proxy, method, args) ->
+            handler.handle(target, method, args == null ? new Object[0] : args);
+    return type.cast(
+        Proxy.newProxyInstance(
+            StatementRecorder.class.getClassLoader(), new Class<?>[] {type}, invocationHandler));
+  }
+
+  private interface Handler {
+    @Nullable Object handle(Object target, Method method, Object[] args) throws Throwable;
+  }
+
+  /** A statement together with the parameters it was executed with. */
+  public static class RecordedStatement {
+    private final Connection connection;
+    private final String sql;
+    private final Map<Integer, @Nullable Object> parameters;
+
+    RecordedStatement(
+        Connection connection, String sql, Map<Integer, @Nullable Object> parameters) {
+      this.connection = connection;
+      this.sql = sql;
+      this.parameters = parameters;
+    }
+
+    public String getSql() {
+      return sql;
+    }
+
+    public Map<Integer, @Nullable Object> getParameters() {
+      return parameters;
+    }
+
+    @Override
+    public String toString() {
+      return sql + " " + parameters;
+    }
+  }
+}